@@ -0,0 +1,56 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크들이 함께 쓰는 테스트 데이터
+final class BenchmarkFixtures {
+
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final InquiryCategory[] CATEGORIES = InquiryCategory.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    static Customer customer(long userId) {
+        Customer customer = new Customer();
+        customer.setUserId(userId);
+        customer.setLoginId("customer" + userId);
+        customer.setPassword("1234");
+        customer.setName("고객" + userId);
+        return customer;
+    }
+
+    static CSAdmin admin() {
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(0L);
+        admin.setLoginId("admin");
+        admin.setPassword("1234");
+        admin.setName("관리자");
+        return admin;
+    }
+
+    // i번째 문의: 카테고리는 순환, 3건 중 1건은 답변 완료, 5건 중 1건은 첨부 2개
+    static Inquiry inquiry(long inquiryId, Customer customer, CSAdmin admin) {
+        int i = (int) inquiryId;
+        List<Inquiry.FileInfo> files = new ArrayList<>();
+        if (i % 5 == 0) {
+            String hash = String.format("%064x", inquiryId);
+            files.add(new Inquiry.FileInfo("photo1.jpg", hash + ".jpg", "./upload/" + hash + ".jpg", hash, 2_400_000L));
+            files.add(new Inquiry.FileInfo("photo2.png", hash + ".png", "./upload/" + hash + ".png", hash, 900_000L));
+        }
+        Answer answer = null;
+        if (i % 3 == 0) {
+            answer = new Answer("답변드립니다. 확인 후 조치하겠습니다.", admin);
+        }
+        return new Inquiry(inquiryId, "문의 제목 " + inquiryId, "문의 내용입니다. ".repeat(20),
+                CATEGORIES[i % CATEGORIES.length], BASE_TIME.plusSeconds(inquiryId), customer, answer, files);
+    }
+}
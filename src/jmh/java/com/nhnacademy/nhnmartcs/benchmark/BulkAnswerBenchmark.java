@@ -0,0 +1,100 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nhnacademy.nhnmartcs.global.journal.Journal;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.JournalingInquiryRepository;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 같은 답변을 batchSize건에 다는 비용. 저널(fsync 포함)을 켠 상태에서 서비스가 쓰는 저장소 경로 그대로
+// 한 건씩 addAnswer로 달 때와 addAnswers로 한 번에 달 때를 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkAnswerBenchmark {
+
+    @Param({"500"})
+    private int batchSize;
+
+    private Path journalDir;
+    private Journal journal;
+    private JournalingInquiryRepository inquiryRepository;
+    private CSAdmin admin;
+    private List<Long> inquiryIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        journalDir = Files.createTempDirectory("bulk-answer-bench");
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        journal = new Journal(objectMapper, inquiryStore, new UserRepositoryImpl());
+        ReflectionTestUtils.setField(journal, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(journal, "maxBatch", 256);
+        ReflectionTestUtils.setField(journal, "snapshotEveryRecords", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(journal, "snapshotIntervalMillis", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(journal, "commitTimeoutMillis", 10_000L);
+        journal.open();
+        inquiryRepository = new JournalingInquiryRepository(inquiryStore, journal);
+
+        admin = BenchmarkFixtures.admin();
+        Customer customer = BenchmarkFixtures.customer(1L);
+        inquiryIds = new ArrayList<>(batchSize);
+        for (long id = 1; id <= batchSize; id++) {
+            inquiryIds.add(inquiryRepository.save(BenchmarkFixtures.inquiry(id, customer, admin)).getInquiryId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        journal.close();
+        FileSystemUtils.deleteRecursively(journalDir);
+    }
+
+    @Benchmark
+    public int answerOneByOne() {
+        int answered = 0;
+        for (Long inquiryId : inquiryIds) {
+            if (inquiryRepository.addAnswer(inquiryId, answer()).isPresent()) {
+                answered++;
+            }
+        }
+        return answered;
+    }
+
+    @Benchmark
+    public int answerInBatch() {
+        return inquiryRepository.addAnswers(inquiryIds, this::answer).size();
+    }
+
+    private Answer answer() {
+        return new Answer("배송이 지연되어 죄송합니다.", admin);
+    }
+}
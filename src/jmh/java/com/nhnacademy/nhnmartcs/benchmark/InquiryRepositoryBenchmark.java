@@ -0,0 +1,112 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 문의 저장소 조회 경로. 고객 한 명당 평균 20건이 되도록 고객 수를 문의 수에 비례시킨다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class InquiryRepositoryBenchmark {
+
+    private static final int INQUIRIES_PER_CUSTOMER = 20;
+    private static final int PAGE_SIZE = 20;
+    private static final int DASHBOARD_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    private int inquiryCount;
+
+    private InquiryRepositoryImpl inquiryRepository;
+    private Customer[] customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inquiryRepository = new InquiryRepositoryImpl();
+        customers = new Customer[Math.max(1, inquiryCount / INQUIRIES_PER_CUSTOMER)];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = BenchmarkFixtures.customer(i + 1L);
+        }
+        CSAdmin admin = BenchmarkFixtures.admin();
+        for (long id = 1; id <= inquiryCount; id++) {
+            inquiryRepository.save(BenchmarkFixtures.inquiry(id, customers[(int) (id % customers.length)], admin));
+        }
+    }
+
+    @Benchmark
+    public Optional<Inquiry> findById() {
+        return inquiryRepository.findById(ThreadLocalRandom.current().nextLong(1, inquiryCount + 1L));
+    }
+
+    @Benchmark
+    public List<Inquiry> findByCustomer_all() {
+        return inquiryRepository.findByCustomerOrderByCreatedAtDesc(randomCustomer());
+    }
+
+    @Benchmark
+    public List<Inquiry> findByCustomer_firstPage() {
+        return inquiryRepository.findByCustomerOrderByCreatedAtDesc(randomCustomer(), null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Inquiry> findByCustomerAndCategory_firstPage() {
+        return inquiryRepository.findByCustomerAndCategoryOrderByCreatedAtDesc(
+                randomCustomer(), InquiryCategory.COMPLAINT, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Inquiry> findUnanswered_firstPage() {
+        return inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(null, DASHBOARD_SIZE + 1);
+    }
+
+    @Benchmark
+    public long countUnanswered() {
+        return inquiryRepository.countUnansweredInquiries();
+    }
+
+    // 선택도가 높은 질의: 특정 문의의 제목 번호
+    @Benchmark
+    public List<Inquiry> search_selective() {
+        long id = ThreadLocalRandom.current().nextLong(1, inquiryCount + 1L);
+        return inquiryRepository.search(InquirySearchCondition.keyword("제목 " + id), DASHBOARD_SIZE);
+    }
+
+    // 선택도가 낮은 질의: 답변된 문의 전체(1/3)가 후보가 되는 최악에 가까운 경우
+    @Benchmark
+    public List<Inquiry> search_broad() {
+        return inquiryRepository.search(InquirySearchCondition.keyword("조치"), DASHBOARD_SIZE);
+    }
+
+    @Benchmark
+    public List<Inquiry> search_broadFiltered() {
+        return inquiryRepository.search(new InquirySearchCondition("조치", InquiryCategory.COMPLAINT,
+                null, null, true, randomCustomer().getUserId()), PAGE_SIZE);
+    }
+
+    private Customer randomCustomer() {
+        return customers[ThreadLocalRandom.current().nextInt(customers.length)];
+    }
+}
@@ -0,0 +1,63 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 여러 고객이 동시에 문의를 등록할 때의 처리량. 조각 1개(예전의 단일 잠금과 같음)와 여러 개를 비교한다.
+// 스레드 수는 -t로 바꿀 수 있다. 의미 있는 비교를 하려면 코어가 스레드 수 이상인 머신에서 돌린다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class InquiryWriteBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+
+    @Param({"1", "8"})
+    private int shards;
+
+    private InquiryRepositoryImpl inquiryRepository;
+    private Customer[] customers;
+
+    @Setup(Level.Trial)
+    public void setUpCustomers() {
+        customers = new Customer[CUSTOMERS];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = BenchmarkFixtures.customer(i + 1L);
+        }
+    }
+
+    // 반복마다 빈 저장소로 시작해 힙이 계속 불어나지 않게 한다.
+    @Setup(Level.Iteration)
+    public void setUpRepository() {
+        inquiryRepository = new InquiryRepositoryImpl(shards);
+    }
+
+    @Benchmark
+    public Inquiry create() {
+        Customer customer = customers[ThreadLocalRandom.current().nextInt(customers.length)];
+        return inquiryRepository.save(new Inquiry(null, "배송 문의", "주문한 상품이 아직 도착하지 않았습니다.",
+                InquiryCategory.COMPLAINT, BenchmarkFixtures.BASE_TIME, customer, null, null));
+    }
+}
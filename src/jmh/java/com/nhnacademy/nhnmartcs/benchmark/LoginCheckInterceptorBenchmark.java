@@ -0,0 +1,63 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.global.interceptor.LoginCheckInterceptor;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// 로그인 검사 인터셉터의 요청당 비용. 로그는 logback 기본 설정(콘솔)으로 나간다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginCheckInterceptorBenchmark {
+
+    private final LoginCheckInterceptor interceptor = new LoginCheckInterceptor();
+    private MockHttpServletRequest fileRequest;
+    private MockHttpServletRequest adminRequest;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        MockHttpSession customerSession = new MockHttpSession();
+        customerSession.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(BenchmarkFixtures.customer(1L)));
+        fileRequest = request("/files/" + "ab".repeat(32) + ".png", "/files/{filename:.+}", customerSession);
+
+        MockHttpSession adminSession = new MockHttpSession();
+        adminSession.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(BenchmarkFixtures.admin()));
+        adminRequest = request("/cs/admin/inquiry/42", "/cs/admin/inquiry/{inquiryId}", adminSession);
+    }
+
+    @Benchmark
+    public boolean fileRoute() throws Exception {
+        return interceptor.preHandle(fileRequest, response, null);
+    }
+
+    @Benchmark
+    public boolean adminRoute() throws Exception {
+        return interceptor.preHandle(adminRequest, response, null);
+    }
+
+    private static MockHttpServletRequest request(String uri, String pattern, MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.setSession(session);
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryProjectionCache;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 목록/상세 화면에서 엔티티를 응답 DTO로 바꾸는 비용. -prof gc로 요청당 할당량을 함께 본다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Inquiry answeredWithFiles;
+    private Inquiry unanswered;
+    private List<Inquiry> page;
+    private final InquiryProjectionCache projections = new InquiryProjectionCache(1_000);
+
+    @Setup
+    public void setUp() {
+        Customer customer = BenchmarkFixtures.customer(1L);
+        CSAdmin admin = BenchmarkFixtures.admin();
+        // 15는 3과 5의 배수라 답변과 첨부를 모두 가진다.
+        answeredWithFiles = BenchmarkFixtures.inquiry(15L, customer, admin);
+        unanswered = BenchmarkFixtures.inquiry(1L, customer, admin);
+        page = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            page.add(BenchmarkFixtures.inquiry(id, customer, admin));
+        }
+    }
+
+    @Benchmark
+    public InquirySummaryResponse summary() {
+        return InquirySummaryResponse.fromEntity(unanswered);
+    }
+
+    @Benchmark
+    public AdminInquirySummaryResponse adminSummary() {
+        return AdminInquirySummaryResponse.fromEntity(unanswered);
+    }
+
+    @Benchmark
+    public InquiryDetailResponse detail() {
+        return InquiryDetailResponse.fromEntity(answeredWithFiles);
+    }
+
+    // 같은 버전을 반복 조회하면 캐시된 응답을 그대로 돌려준다.
+    @Benchmark
+    public InquiryDetailResponse cachedDetail() {
+        return projections.detail(answeredWithFiles);
+    }
+
+    @Benchmark
+    public List<InquirySummaryResponse> summaryPage() {
+        return page.stream()
+                .map(InquirySummaryResponse::fromEntity)
+                .toList();
+    }
+}
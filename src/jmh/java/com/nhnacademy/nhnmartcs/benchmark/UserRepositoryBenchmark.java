@@ -0,0 +1,60 @@
+package com.nhnacademy.nhnmartcs.benchmark;
+
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 조회(findByLoginId)가 사용자 수에 따라 어떻게 변하는지 본다. 해시 조회라 선형으로 늘지는 않지만,
+// 표가 CPU 캐시보다 커지면 캐시 미스만큼 느려진다.
+// 1천만 명은 -Xmx1g에 들어가지 않고 채우는 데만 수십 초가 걸려 100만 명까지만 잰다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class UserRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int userCount;
+
+    private UserRepositoryImpl userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userRepository = new UserRepositoryImpl();
+        for (int i = 0; i < userCount; i++) {
+            Customer customer = new Customer();
+            customer.setLoginId("user" + i);
+            customer.setPassword("1234");
+            customer.setName("고객" + i);
+            userRepository.save(customer);
+        }
+    }
+
+    @Benchmark
+    public Optional<User> findByLoginId_existing() {
+        return userRepository.findByLoginId("user" + ThreadLocalRandom.current().nextInt(userCount));
+    }
+
+    @Benchmark
+    public Optional<User> findByLoginId_missing() {
+        return userRepository.findByLoginId("missing" + ThreadLocalRandom.current().nextInt(userCount));
+    }
+}
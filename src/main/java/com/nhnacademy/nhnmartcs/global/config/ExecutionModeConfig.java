@@ -0,0 +1,41 @@
+package com.nhnacademy.nhnmartcs.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 실행 모드: spring.threads.virtual.enabled=true이고 Java 21 이상이면 Tomcat 요청 처리(Spring Boot가 설정)와
+// 첨부파일 쓰기, 썸네일 작업을 모두 가상 스레드에서 돌린다. 그 외에는 플랫폼 스레드를 쓴다.
+// 어느 모드든 동시 실행 수 제한은 그대로 두어 디스크와 디코딩 메모리를 보호한다.
+@Configuration
+public class ExecutionModeConfig {
+
+    @Bean
+    public SimpleAsyncTaskExecutor uploadExecutor(Environment environment,
+                                                  @Value("${file.upload-concurrency:16}") int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upload-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setConcurrencyLimit(concurrency);
+        return executor;
+    }
+
+    @Bean
+    public ThreadFactory thumbnailThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("thumbnail-").getVirtualThreadFactory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
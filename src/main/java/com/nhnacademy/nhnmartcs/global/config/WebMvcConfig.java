@@ -1,12 +1,21 @@
 package com.nhnacademy.nhnmartcs.global.config;
 
 import com.nhnacademy.nhnmartcs.global.interceptor.LoginCheckInterceptor;
+import com.nhnacademy.nhnmartcs.global.resolver.LoginUserArgumentResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final LoginUserArgumentResolver loginUserArgumentResolver;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(new LoginCheckInterceptor())
@@ -15,7 +24,13 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         "/cs/login",
                         "/error",
                         "/css/**",
-                        "/js/**"
+                        "/js/**",
+                        "/favicon.ico"
                 );
     }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(loginUserArgumentResolver);
+    }
 }
\ No newline at end of file
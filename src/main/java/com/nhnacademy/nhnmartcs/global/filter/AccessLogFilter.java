@@ -0,0 +1,81 @@
+package com.nhnacademy.nhnmartcs.global.filter;
+
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 구조화된(key=value) 접근 로그. 오류 응답과 느린 요청은 모두, 나머지는 sample-rate 비율만 남긴다.
+// "access" 로거는 logback-spring.xml에서 비동기 appender로 연결되어 요청 스레드가 디스크 I/O를 기다리지 않는다.
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(@Value("${access-log.sample-rate:0.01}") double sampleRate,
+                           @Value("${access-log.slow-threshold-ms:500}") long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            String reason = reasonToLog(response.getStatus(), elapsed);
+            if (reason != null) {
+                log(request, response.getStatus(), elapsed, reason);
+            }
+        }
+    }
+
+    private String reasonToLog(int status, long elapsedNanos) {
+        if (status >= 400) {
+            return "error";
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? "sampled" : null;
+    }
+
+    private void log(HttpServletRequest request, int status, long elapsedNanos, String reason) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        HttpSession session = request.getSession(false);
+        Object loginUser = session != null ? session.getAttribute(LoginUser.SESSION_KEY) : null;
+
+        accessLog.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("route", route != null ? route : "-")
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .addKeyValue("user", loginUser instanceof LoginUser user ? user.userId() : "-")
+                .addKeyValue("reason", reason)
+                .log("access");
+    }
+}
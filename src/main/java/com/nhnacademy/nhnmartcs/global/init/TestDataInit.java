@@ -34,6 +34,10 @@ public class TestDataInit {
 
     @PostConstruct
     public void init() {
+        if (userRepository.findByLoginId("c1234").isPresent()) {
+            log.info("저널에서 복구된 데이터가 있어 테스트 데이터 주입을 건너뜁니다.");
+            return;
+        }
         log.info("테스트 데이터 주입 시작");
         Customer customer = new Customer();
         customer.setLoginId("c1234");
@@ -1,42 +1,53 @@
 package com.nhnacademy.nhnmartcs.global.interceptor;
 
-import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
-import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 요청마다 로그를 남기지 않는다. 접근 기록은 AccessLogFilter가 표본 추출해 비동기로 남긴다.
 @Slf4j
 public class LoginCheckInterceptor implements HandlerInterceptor {
 
+    // 매핑 패턴(/cs/admin/inquiry/{inquiryId} 등)은 개수가 정해져 있으므로 분류 결과를 한 번만 계산해 둔다.
+    private final Map<String, RouteClass> routeClasses = new ConcurrentHashMap<>();
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String requestURI = request.getRequestURI();
-        log.info("LoginCheckInterceptor executing for URI: {}", requestURI);
+        RouteClass routeClass = routeClassOf(request);
+        if (routeClass == RouteClass.PUBLIC) {
+            return true;
+        }
 
         HttpSession session = request.getSession(false);
-
-        if (session == null || session.getAttribute("loginUser") == null) {
-            log.warn("No active session found for URI: {}. Redirecting to /cs/login", requestURI);
+        Object loginUser = session != null ? session.getAttribute(LoginUser.SESSION_KEY) : null;
+        if (!(loginUser instanceof LoginUser user)) {
+            log.debug("No active session for URI: {}. Redirecting to /cs/login", request.getRequestURI());
             response.sendRedirect("/cs/login");
             return false;
         }
 
-        if (requestURI.startsWith("/cs/admin")) {
-            User loginUser = (User) session.getAttribute("loginUser");
-            if (!(loginUser instanceof CSAdmin)) {
-                log.warn("Non-admin user ({}) attempted to access admin URI: {}. Redirecting to /cs/login",
-                        loginUser.getClass().getSimpleName(), requestURI);
-                response.sendRedirect("/cs/login");
-                return false;
-            }
-            log.info("Admin user accessed admin URI: {}. Allowing access.", requestURI);
-        } else {
-            log.info("Session found for non-admin URI: {}. Allowing access.", requestURI);
+        if (routeClass == RouteClass.ADMIN && !user.isAdmin()) {
+            log.warn("Non-admin user ({}) attempted to access admin URI: {}. Redirecting to /cs/login",
+                    user.userId(), request.getRequestURI());
+            response.sendRedirect("/cs/login");
+            return false;
         }
-
         return true;
     }
-}
\ No newline at end of file
+
+    private RouteClass routeClassOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // 정적 리소스 등 "/**"로 잡힌 요청은 실제 경로로 분류하고 캐시하지 않는다.
+        if (pattern instanceof String mapped && !mapped.endsWith("/**")) {
+            return routeClasses.computeIfAbsent(mapped, RouteClass::classify);
+        }
+        return RouteClass.classify(request.getRequestURI());
+    }
+}
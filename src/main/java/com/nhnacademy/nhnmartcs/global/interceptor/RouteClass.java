@@ -0,0 +1,22 @@
+package com.nhnacademy.nhnmartcs.global.interceptor;
+
+// 인증 검사 관점의 경로 분류
+public enum RouteClass {
+    // 로그인 없이 접근 가능
+    PUBLIC,
+    // 로그인한 사용자(고객, 관리자) 누구나 접근 가능. /files/** 포함
+    CUSTOMER,
+    // 관리자만 접근 가능
+    ADMIN;
+
+    static RouteClass classify(String path) {
+        // 관리 엔드포인트는 기본적으로 루프백의 관리 포트에서만 열린다. 애플리케이션 포트로 옮겨 열면 관리자만 본다.
+        if (path.startsWith("/cs/admin") || path.startsWith("/actuator")) {
+            return ADMIN;
+        }
+        if (path.equals("/cs/login") || path.equals("/error")) {
+            return PUBLIC;
+        }
+        return CUSTOMER;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// 고객/관리자는 ID만 기록하고 복구 시 사용자 저장소에서 다시 연결한다.
+public record InquirySnapshot(Long inquiryId,
+                              String title,
+                              String content,
+                              InquiryCategory category,
+                              LocalDateTime createdAt,
+                              Long customerId,
+                              AnswerSnapshot answer,
+                              List<Inquiry.FileInfo> attachedFiles) {
+
+    public record AnswerSnapshot(Long id, String content, LocalDateTime createdAt, Long adminId) {
+    }
+
+    public static InquirySnapshot from(Inquiry inquiry) {
+        Answer answer = inquiry.getAnswer();
+        AnswerSnapshot answerSnapshot = answer == null ? null : new AnswerSnapshot(
+                answer.getId(),
+                answer.getContent(),
+                answer.getCreatedAt(),
+                answer.getAdmin() != null ? answer.getAdmin().getUserId() : null
+        );
+        List<Inquiry.FileInfo> files = List.copyOf(copyFiles(inquiry.getAttachedFiles()));
+
+        return new InquirySnapshot(
+                inquiry.getInquiryId(),
+                inquiry.getTitle(),
+                inquiry.getContent(),
+                inquiry.getCategory(),
+                inquiry.getCreatedAt(),
+                inquiry.getCustomer().getUserId(),
+                answerSnapshot,
+                files
+        );
+    }
+
+    public Inquiry toEntity(Function<Long, User> userResolver) {
+        Answer restoredAnswer = null;
+        if (answer != null) {
+            User admin = answer.adminId() != null ? userResolver.apply(answer.adminId()) : null;
+            restoredAnswer = new Answer(answer.content(), admin instanceof CSAdmin csAdmin ? csAdmin : null);
+            restoredAnswer.setId(answer.id());
+            restoredAnswer.setCreatedAt(answer.createdAt());
+        }
+
+        User customer = userResolver.apply(customerId);
+        return new Inquiry(
+                inquiryId,
+                title,
+                content,
+                category,
+                createdAt,
+                customer instanceof Customer restoredCustomer ? restoredCustomer : null,
+                restoredAnswer,
+                copyFiles(attachedFiles)
+        );
+    }
+
+    // FileInfo는 setter가 있는 가변 객체이므로 스냅샷과 복구된 문의가 서로의 값을 공유하지 않도록 하나씩 복사한다.
+    private static List<Inquiry.FileInfo> copyFiles(List<Inquiry.FileInfo> files) {
+        List<Inquiry.FileInfo> copies = new ArrayList<>();
+        if (files == null) {
+            return copies;
+        }
+        for (Inquiry.FileInfo file : files) {
+            copies.add(new Inquiry.FileInfo(file.getOriginalFilename(), file.getSavedFilename(), file.getFilePath(),
+                    file.getContentHash(), file.getSize()));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,483 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 저장소 변경을 한 줄씩 기록하는 write-ahead 로그.
+// 여러 요청 스레드의 기록을 전용 스레드가 모아 한 번의 fsync로 커밋하고,
+// 일정 건수/시간마다 전체 상태를 바이너리 스냅샷으로 압축한 뒤 로그를 비운다.
+// 기동 시에는 스냅샷을 메모리 매핑해 사용자만 즉시 적재하고, 문의는 백그라운드에서 힙 인덱스로 옮긴다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class Journal {
+
+    private static final String LOG_FILE = "journal.log";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final ObjectMapper objectMapper;
+    private final InquiryRepositoryImpl inquiryStore;
+    private final UserRepositoryImpl userStore;
+
+    @Value("${journal.dir:./data}")
+    private String journalDir;
+
+    @Value("${journal.group-commit.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${journal.snapshot.every-records:10000}")
+    private long snapshotEveryRecords;
+
+    @Value("${journal.snapshot.interval-ms:300000}")
+    private long snapshotIntervalMillis;
+
+    @Value("${journal.commit-timeout-ms:10000}")
+    private long commitTimeoutMillis;
+
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    // running 확인과 queue.add를 close와 원자적으로 묶는다. 닫힌 뒤 들어온 기록이 큐에 남아 영영 완료되지 않는 일을 막는다.
+    private final Lock stateLock = new ReentrantLock();
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+
+    private long lsn;
+    // 마지막으로 커밋에 성공한 로그 끝 위치. 실패한 배치가 남긴 조각은 여기까지 잘라 낸다.
+    private long committedSize;
+    private long recordsSinceSnapshot;
+    private long lastSnapshotAt;
+    private long snapshotRetryAt;
+
+    private volatile MappedSnapshot warmingSnapshot;
+    private final CompletableFuture<Void> warmUp = new CompletableFuture<>();
+
+    public Journal(ObjectMapper objectMapper, InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore) {
+        this.objectMapper = objectMapper;
+        this.inquiryStore = inquiryStore;
+        this.userStore = userStore;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path dir = Paths.get(journalDir);
+        Files.createDirectories(dir);
+
+        MappedSnapshot snapshot = Files.exists(dir.resolve(SNAPSHOT_FILE))
+                ? MappedSnapshot.open(dir.resolve(SNAPSHOT_FILE))
+                : null;
+        if (snapshot != null) {
+            snapshot.forEachUser(userStore::save);
+            inquiryStore.advanceSequence(snapshot.maxInquiryId());
+            lsn = snapshot.lsn();
+        }
+
+        // 로그는 스냅샷보다 최신이므로 먼저 반영하고, 스냅샷 문의는 비어 있는 ID에만 채운다.
+        long replayed = replay(dir.resolve(LOG_FILE));
+        log.info("Journal replayed {} records from {}", replayed, dir.toAbsolutePath());
+        startWarmUp(snapshot);
+
+        channel = FileChannel.open(dir.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        committedSize = channel.size();
+        lastSnapshotAt = System.currentTimeMillis();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void startWarmUp(MappedSnapshot snapshot) {
+        if (snapshot == null) {
+            warmUp.complete(null);
+            return;
+        }
+        warmingSnapshot = snapshot;
+        Thread warmer = new Thread(() -> {
+            long startedAt = System.currentTimeMillis();
+            try {
+                snapshot.forEachInquiry(this::resolveUser, this::loadSnapshotInquiry);
+                log.info("Journal snapshot warm-up loaded {} inquiries in {} ms",
+                        snapshot.inquiryCount(), System.currentTimeMillis() - startedAt);
+                warmingSnapshot = null;
+                warmUp.complete(null);
+            } catch (RuntimeException e) {
+                // 힙에는 일부만 올라와 있으므로 매핑된 스냅샷을 계속 읽게 두고, 스냅샷 압축(로그 비우기)도 하지 않는다.
+                log.error("Journal snapshot warm-up failed; serving unloaded inquiries from the mapped snapshot "
+                        + "and skipping compaction until restart", e);
+                warmUp.completeExceptionally(e);
+            }
+        }, "journal-warm-up");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    // 워밍업 중 힙에 아직 없는 문의는 매핑된 스냅샷에서 바로 읽어 힙에 올린다.
+    public Optional<Inquiry> findWarmingInquiry(Long inquiryId) {
+        MappedSnapshot snapshot = warmingSnapshot;
+        if (snapshot == null || inquiryId == null) {
+            return Optional.empty();
+        }
+        return snapshot.findInquiry(inquiryId, this::resolveUser)
+                .flatMap(this::loadSnapshotInquiry);
+    }
+
+    // 워밍업이 실패로 끝난 경우는 힙이 일부만 채워져 있으므로 끝난 것으로 보지 않는다.
+    public boolean isWarmedUp() {
+        return warmUp.isDone() && !warmUp.isCompletedExceptionally();
+    }
+
+    public void awaitWarmUp() {
+        warmUp.join();
+    }
+
+    // 고객을 찾을 수 없는 문의(고객이 아닌 사용자가 주인인 경우 등)는 로그 재생과 같이 건너뛴다.
+    private Optional<Inquiry> loadSnapshotInquiry(Inquiry inquiry) {
+        if (inquiry.getCustomer() == null) {
+            log.warn("Skipping snapshot inquiry {} with unknown customer", inquiry.getInquiryId());
+            return Optional.empty();
+        }
+        return Optional.of(inquiryStore.saveIfAbsent(inquiry));
+    }
+
+    private User resolveUser(Long userId) {
+        return userStore.findById(userId).orElse(null);
+    }
+
+    public CompletableFuture<Long> enqueue(JournalRecord record) {
+        PendingAppend pending = new PendingAppend(record);
+        stateLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            queue.add(pending);
+        } finally {
+            stateLock.unlock();
+        }
+        return pending;
+    }
+
+    // 작성 스레드가 멈추거나 디스크가 응답하지 않아도 요청 스레드가 무한정 붙잡히지 않도록 journal.commit-timeout-ms까지만 기다린다.
+    // 제한 시간이 지나면 아직 큐에 있는 기록은 빼내어 확실히 실패시킨다. 작성 스레드가 이미 쓰고 있는 기록은 결과가 나올 때까지 기다린다.
+    // 그래서 예외가 나면 그 기록은 로그에 남지 않으며, 호출자는 메모리에 반영하지 않고 버리면 된다.
+    public long await(CompletableFuture<Long> committed) {
+        try {
+            return committed.get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (TimeoutException e) {
+            UncheckedIOException timedOut = new UncheckedIOException("저장소 변경을 기록하지 못했습니다.",
+                    new IOException("Journal commit timed out after " + commitTimeoutMillis + " ms", e));
+            if (committed instanceof PendingAppend pending && !pending.withdraw(queue, timedOut)) {
+                return awaitWritten(pending);
+            }
+            throw timedOut;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            UncheckedIOException interrupted = new UncheckedIOException("저장소 변경을 기록하지 못했습니다.",
+                    new InterruptedIOException("Journal commit wait interrupted"));
+            if (committed instanceof PendingAppend pending && !pending.withdraw(queue, interrupted)) {
+                return awaitWritten(pending);
+            }
+            throw interrupted;
+        }
+    }
+
+    private static long awaitWritten(PendingAppend pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    private static UncheckedIOException failure(Throwable cause) {
+        if (cause instanceof UncheckedIOException io) {
+            return io;
+        }
+        return new UncheckedIOException("저장소 변경을 기록하지 못했습니다.", new IOException(cause));
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        stateLock.lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.unlock();
+        }
+        // FileChannel 작업 중 interrupt 되면 채널이 닫히므로 폴링 종료를 기다린다.
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // running이 내려간 뒤로는 enqueue가 큐에 넣지 못하므로 여기서 비운 것이 마지막 기록이다.
+        List<PendingAppend> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (writer.isAlive()) {
+            // 작성 스레드가 아직 채널을 쓰고 있으면 같이 쓰지 않고 남은 기록을 실패시킨다.
+            log.error("Journal writer did not stop in time; failing {} pending records", remaining.size());
+            fail(remaining, new IOException("Journal closed before the record was written"));
+            channel.close();
+            return;
+        }
+        if (!remaining.isEmpty()) {
+            commit(remaining);
+        }
+        if (isWarmedUp()) {
+            snapshot();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingAppend first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    commit(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new InterruptedIOException("Journal writer interrupted"));
+                return;
+            } catch (RuntimeException e) {
+                // commit은 자기 실패를 스스로 처리하므로 여기에 오는 것은 큐에서 꺼내는 도중의 실패다.
+                log.error("Journal writer failed while collecting a batch ({} records)", batch.size(), e);
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+            snapshotIfDue();
+        }
+    }
+
+    // 스냅샷이 실패해도 작성 스레드는 계속 돌아야 이후 기록이 멈추지 않는다. 재시도는 한 주기 뒤로 미룬다.
+    private void snapshotIfDue() {
+        if (!snapshotDue()) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Journal snapshot failed at lsn {}", lsn, e);
+            snapshotRetryAt = System.currentTimeMillis() + snapshotIntervalMillis;
+        }
+    }
+
+    // 한 배치의 모든 레코드를 쓰고 fsync는 한 번만 수행한다.
+    // 중간에 실패하면 배치 시작 위치까지 잘라 내고 LSN도 되돌려, 뒤 배치가 깨진 조각 뒤에 붙지 않게 한다.
+    private void commit(List<PendingAppend> batch) {
+        // 제한 시간이 지나 호출자가 이미 빼낸 기록은 쓰지 않는다.
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        long firstLsn = lsn;
+        try {
+            if (channel.size() != committedSize) {
+                // 이전 배치의 잘라 내기가 실패했다면 쓰기 전에 다시 시도한다.
+                rollback();
+            }
+            List<Long> assigned = new ArrayList<>(batch.size());
+            for (PendingAppend pending : batch) {
+                JournalRecord record = pending.record().withLsn(++lsn);
+                writeLine(channel, record);
+                assigned.add(record.lsn());
+            }
+            channel.force(false);
+            committedSize = channel.size();
+            recordsSinceSnapshot += batch.size();
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(assigned.get(i));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Journal group commit failed ({} records)", batch.size(), e);
+            lsn = firstLsn;
+            try {
+                rollback();
+            } catch (IOException rollbackFailure) {
+                log.error("Journal could not discard the failed batch; retrying before the next commit", rollbackFailure);
+            }
+            fail(batch, e);
+        }
+    }
+
+    private void rollback() throws IOException {
+        channel.truncate(committedSize);
+        channel.force(false);
+    }
+
+    private static void fail(List<PendingAppend> batch, Exception cause) {
+        UncheckedIOException failure = new UncheckedIOException("저장소 변경을 기록하지 못했습니다.",
+                cause instanceof IOException io ? io : new IOException(cause));
+        batch.forEach(pending -> pending.completeExceptionally(failure));
+    }
+
+    private boolean snapshotDue() {
+        // 워밍업이 끝나기 전의 힙은 일부만 채워져 있으므로 스냅샷을 만들지 않는다.
+        if (recordsSinceSnapshot == 0 || !isWarmedUp() || System.currentTimeMillis() < snapshotRetryAt) {
+            return false;
+        }
+        return recordsSinceSnapshot >= snapshotEveryRecords
+                || System.currentTimeMillis() - lastSnapshotAt >= snapshotIntervalMillis;
+    }
+
+    // 현재 메모리 상태를 스냅샷으로 원자적으로 교체한 뒤 로그를 비운다.
+    // 스냅샷 이후 커밋된 레코드가 다시 재생되더라도 save는 같은 결과를 내므로 안전하다.
+    // 저장소는 커밋된 뒤에 반영하므로(write-ahead), 커밋됐지만 아직 반영되지 않은 상태까지 복사본에 담는다.
+    // 살아 있는 엔티티를 직접 쓰면 크기 계산과 쓰기 사이에 답변이 바뀔 수 있으므로, 조각 잠금 안에서 뜬 복사본으로 쓴다.
+    private void snapshot() throws IOException {
+        List<UserSnapshot> users = userStore.copyAll(UserSnapshot::from);
+        List<InquirySnapshot> inquiries = inquiryStore.copyAll(InquirySnapshot::from);
+        SnapshotWriter.write(Paths.get(journalDir).resolve(SNAPSHOT_FILE), lsn, users, inquiries);
+        channel.truncate(0);
+        channel.force(true);
+        committedSize = 0;
+
+        log.info("Journal compacted into snapshot at lsn {} ({} records folded)", lsn, recordsSinceSnapshot);
+        recordsSinceSnapshot = 0;
+        lastSnapshotAt = System.currentTimeMillis();
+    }
+
+    private void writeLine(FileChannel out, JournalRecord record) throws IOException {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            throw new IOException("Journal record serialization failed", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1);
+        buffer.put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private long replay(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        // 쓰다 만 레코드는 마지막 줄에만 생긴다. 그 줄만 잘라 내고, 가운데 깨진 줄은 건너뛰어 뒤의 커밋된 기록을 살린다.
+        long count = 0;
+        long offset = 0;
+        long tornAt = -1;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (tornAt >= 0) {
+                    log.error("Journal {} has a corrupt record at byte {}; skipping it", file, tornAt);
+                    tornAt = -1;
+                }
+                long lineStart = offset;
+                offset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                JournalRecord record;
+                try {
+                    record = objectMapper.readValue(line, JournalRecord.class);
+                } catch (JsonProcessingException e) {
+                    tornAt = lineStart;
+                    continue;
+                }
+                apply(record);
+                lsn = Math.max(lsn, record.lsn());
+                count++;
+            }
+        }
+
+        long size = Files.size(file);
+        if (tornAt >= 0) {
+            log.warn("Journal {} has a torn record after {} bytes; discarding the tail", file, tornAt);
+            try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                truncate.truncate(tornAt);
+            }
+        } else if (offset > size) {
+            // 마지막 레코드가 줄바꿈 직전에 끊겼다면 다음 기록이 같은 줄에 붙지 않도록 줄바꿈을 채운다.
+            Files.write(file, new byte[]{'\n'}, StandardOpenOption.APPEND);
+        }
+        return count;
+    }
+
+    private void apply(JournalRecord record) {
+        switch (record.type()) {
+            case USER -> userStore.save(record.user().toEntity());
+            case INQUIRY -> {
+                Inquiry inquiry = record.inquiry().toEntity(this::resolveUser);
+                if (inquiry.getCustomer() == null) {
+                    log.warn("Skipping journaled inquiry {} with unknown customer {}",
+                            record.inquiry().inquiryId(), record.inquiry().customerId());
+                    return;
+                }
+                inquiryStore.save(inquiry);
+            }
+        }
+    }
+
+    // 큐에서 기다리는 기록. 완료되면 부여된 LSN을, 실패하면 UncheckedIOException을 결과로 갖는다.
+    // 작성 스레드(쓰기)와 제한 시간이 지난 호출자(빼내기) 중 먼저 차지한 쪽만 이 기록을 다룬다.
+    private static final class PendingAppend extends CompletableFuture<Long> {
+
+        private final JournalRecord record;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        PendingAppend(JournalRecord record) {
+            this.record = record;
+        }
+
+        JournalRecord record() {
+            return record;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        boolean withdraw(Collection<PendingAppend> queue, UncheckedIOException cause) {
+            if (!claim()) {
+                return false;
+            }
+            queue.remove(this);
+            completeExceptionally(cause);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JournalRecord(long lsn, Type type, UserSnapshot user, InquirySnapshot inquiry) {
+
+    public enum Type {
+        USER, INQUIRY
+    }
+
+    public static JournalRecord of(UserSnapshot user) {
+        return new JournalRecord(0L, Type.USER, user, null);
+    }
+
+    public static JournalRecord of(InquirySnapshot inquiry) {
+        return new JournalRecord(0L, Type.INQUIRY, null, inquiry);
+    }
+
+    public JournalRecord withLsn(long lsn) {
+        return new JournalRecord(lsn, type, user, inquiry);
+    }
+}
@@ -0,0 +1,114 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// SnapshotWriter가 만든 파일을 읽기 전용으로 매핑한다.
+// 힙으로 객체를 옮기지 않고도 인덱스 이진 탐색으로 단건 조회가 가능하다.
+final class MappedSnapshot {
+
+    private final MappedByteBuffer[] regions;
+    private final int version;
+    private final long lsn;
+    private final int userCount;
+    private final int inquiryCount;
+    private final long userIndexOffset;
+    private final long inquiryIndexOffset;
+    private final long maxInquiryId;
+
+    private MappedSnapshot(MappedByteBuffer[] regions) throws IOException {
+        this.regions = regions;
+        ByteBuffer header = at(0L);
+        if (header.getInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        this.version = header.getInt();
+        if (version < SnapshotFormat.MIN_READABLE_VERSION || version > SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        this.lsn = header.getLong();
+        this.userCount = header.getInt();
+        this.inquiryCount = header.getInt();
+        this.userIndexOffset = header.getLong();
+        this.inquiryIndexOffset = header.getLong();
+        this.maxInquiryId = header.getLong();
+    }
+
+    static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int regionCount = (int) ((size + SnapshotFormat.REGION_SIZE - 1) / SnapshotFormat.REGION_SIZE);
+            MappedByteBuffer[] regions = new MappedByteBuffer[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                long start = i * SnapshotFormat.REGION_SIZE;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SnapshotFormat.REGION_SIZE, size - start));
+            }
+            return new MappedSnapshot(regions);
+        }
+    }
+
+    long lsn() {
+        return lsn;
+    }
+
+    long maxInquiryId() {
+        return maxInquiryId;
+    }
+
+    int inquiryCount() {
+        return inquiryCount;
+    }
+
+    void forEachUser(Consumer<User> consumer) {
+        for (int i = 0; i < userCount; i++) {
+            consumer.accept(SnapshotFormat.readUser(at(indexOffsetAt(userIndexOffset, i))));
+        }
+    }
+
+    void forEachInquiry(Function<Long, User> userResolver, Consumer<Inquiry> consumer) {
+        for (int i = 0; i < inquiryCount; i++) {
+            consumer.accept(SnapshotFormat.readInquiry(at(indexOffsetAt(inquiryIndexOffset, i)), version, userResolver));
+        }
+    }
+
+    Optional<Inquiry> findInquiry(long inquiryId, Function<Long, User> userResolver) {
+        int low = 0;
+        int high = inquiryCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            ByteBuffer entry = at(inquiryIndexOffset + (long) mid * SnapshotFormat.INDEX_ENTRY_SIZE);
+            long id = entry.getLong();
+            if (id < inquiryId) {
+                low = mid + 1;
+            } else if (id > inquiryId) {
+                high = mid - 1;
+            } else {
+                return Optional.of(SnapshotFormat.readInquiry(at(entry.getLong()), version, userResolver));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private long indexOffsetAt(long indexOffset, int i) {
+        ByteBuffer entry = at(indexOffset + (long) i * SnapshotFormat.INDEX_ENTRY_SIZE);
+        entry.getLong();
+        return entry.getLong();
+    }
+
+    // 스레드마다 독립된 position을 갖도록 duplicate로 읽는다.
+    private ByteBuffer at(long offset) {
+        int region = (int) (offset / SnapshotFormat.REGION_SIZE);
+        int local = (int) (offset % SnapshotFormat.REGION_SIZE);
+        return regions[region].duplicate().position(local);
+    }
+}
@@ -0,0 +1,189 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// 바이너리 스냅샷 레이아웃
+//   header(64B) | user records | inquiry records | user index | inquiry index
+//   index entry = (id long, offset long), id 오름차순
+// 레코드와 인덱스 항목은 REGION 경계를 넘지 않도록 배치되어 구간별 MappedByteBuffer로 바로 읽을 수 있다.
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x4E4D4353; // "NMCS"
+    // 2: 첨부파일에 contentHash, size 추가. 1도 읽을 수 있다.
+    static final int VERSION = 2;
+    static final int MIN_READABLE_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int INDEX_ENTRY_SIZE = 16;
+    static final long REGION_SIZE = 1L << 30;
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final byte ROLE_CUSTOMER = 0;
+    private static final byte ROLE_ADMIN = 1;
+    private static final InquiryCategory[] CATEGORIES = InquiryCategory.values();
+
+    private SnapshotFormat() {
+    }
+
+    // 크기 계산과 쓰기가 같은 값을 보도록 바뀌지 않는 복사본(UserSnapshot, InquirySnapshot)만 받는다.
+    static int userSize(UserSnapshot user) {
+        return Long.BYTES + 1 + stringSize(user.loginId()) + stringSize(user.password()) + stringSize(user.name());
+    }
+
+    static void writeUser(ByteBuffer buffer, UserSnapshot user) {
+        buffer.putLong(user.userId());
+        buffer.put(user.role() == UserSnapshot.Role.ADMIN ? ROLE_ADMIN : ROLE_CUSTOMER);
+        putString(buffer, user.loginId());
+        putString(buffer, user.password());
+        putString(buffer, user.name());
+    }
+
+    static User readUser(ByteBuffer buffer) {
+        long userId = buffer.getLong();
+        User user = buffer.get() == ROLE_ADMIN ? new CSAdmin() : new Customer();
+        user.setUserId(userId);
+        user.setLoginId(getString(buffer));
+        user.setPassword(getString(buffer));
+        user.setName(getString(buffer));
+        return user;
+    }
+
+    static int inquirySize(InquirySnapshot inquiry) {
+        int size = Long.BYTES
+                + stringSize(inquiry.title())
+                + stringSize(inquiry.content())
+                + 1
+                + timeSize()
+                + Long.BYTES
+                + 1;
+        InquirySnapshot.AnswerSnapshot answer = inquiry.answer();
+        if (answer != null) {
+            size += Long.BYTES + stringSize(answer.content()) + timeSize() + Long.BYTES;
+        }
+        size += Integer.BYTES;
+        for (Inquiry.FileInfo file : inquiry.attachedFiles()) {
+            size += stringSize(file.getOriginalFilename()) + stringSize(file.getSavedFilename()) + stringSize(file.getFilePath())
+                    + stringSize(file.getContentHash()) + Long.BYTES;
+        }
+        return size;
+    }
+
+    static void writeInquiry(ByteBuffer buffer, InquirySnapshot inquiry) {
+        buffer.putLong(inquiry.inquiryId());
+        putString(buffer, inquiry.title());
+        putString(buffer, inquiry.content());
+        buffer.put((byte) inquiry.category().ordinal());
+        putTime(buffer, inquiry.createdAt());
+        buffer.putLong(inquiry.customerId());
+
+        InquirySnapshot.AnswerSnapshot answer = inquiry.answer();
+        buffer.put((byte) (answer != null ? 1 : 0));
+        if (answer != null) {
+            buffer.putLong(answer.id() != null ? answer.id() : 0L);
+            putString(buffer, answer.content());
+            putTime(buffer, answer.createdAt());
+            buffer.putLong(answer.adminId() != null ? answer.adminId() : 0L);
+        }
+
+        List<Inquiry.FileInfo> files = inquiry.attachedFiles();
+        buffer.putInt(files.size());
+        for (Inquiry.FileInfo file : files) {
+            putString(buffer, file.getOriginalFilename());
+            putString(buffer, file.getSavedFilename());
+            putString(buffer, file.getFilePath());
+            putString(buffer, file.getContentHash());
+            buffer.putLong(file.getSize());
+        }
+    }
+
+    static Inquiry readInquiry(ByteBuffer buffer, int version, Function<Long, User> userResolver) {
+        long inquiryId = buffer.getLong();
+        String title = getString(buffer);
+        String content = getString(buffer);
+        InquiryCategory category = CATEGORIES[buffer.get()];
+        LocalDateTime createdAt = getTime(buffer);
+        User customer = userResolver.apply(buffer.getLong());
+
+        Answer answer = null;
+        if (buffer.get() == 1) {
+            long answerId = buffer.getLong();
+            String answerContent = getString(buffer);
+            LocalDateTime answeredAt = getTime(buffer);
+            User admin = userResolver.apply(buffer.getLong());
+            answer = new Answer(answerContent, admin instanceof CSAdmin csAdmin ? csAdmin : null);
+            answer.setId(answerId == 0L ? null : answerId);
+            answer.setCreatedAt(answeredAt);
+        }
+
+        int fileCount = buffer.getInt();
+        List<Inquiry.FileInfo> files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            Inquiry.FileInfo file = new Inquiry.FileInfo(getString(buffer), getString(buffer), getString(buffer));
+            if (version >= 2) {
+                file.setContentHash(getString(buffer));
+                file.setSize(buffer.getLong());
+            }
+            files.add(file);
+        }
+
+        return new Inquiry(inquiryId, title, content, category, createdAt,
+                customer instanceof Customer restoredCustomer ? restoredCustomer : null, answer, files);
+    }
+
+    private static int stringSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static int timeSize() {
+        return Long.BYTES + Integer.BYTES;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        if (time == null) {
+            buffer.putLong(NULL_TIME);
+            buffer.putInt(0);
+            return;
+        }
+        buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,135 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+final class SnapshotWriter {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private long bufferStart = SnapshotFormat.HEADER_SIZE;
+
+    private SnapshotWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    // 임시 파일에 쓴 뒤 원자적으로 교체한다.
+    static void write(Path target, long lsn, List<UserSnapshot> users, List<InquirySnapshot> inquiries) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            new SnapshotWriter(channel).writeAll(lsn, users, inquiries);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeAll(long lsn, List<UserSnapshot> users, List<InquirySnapshot> inquiries) throws IOException {
+        List<UserSnapshot> sortedUsers = new ArrayList<>(users);
+        sortedUsers.sort(Comparator.comparing(UserSnapshot::userId));
+        List<InquirySnapshot> sortedInquiries = new ArrayList<>(inquiries);
+        sortedInquiries.sort(Comparator.comparing(InquirySnapshot::inquiryId));
+
+        long[] userOffsets = new long[sortedUsers.size()];
+        for (int i = 0; i < userOffsets.length; i++) {
+            UserSnapshot user = sortedUsers.get(i);
+            userOffsets[i] = reserve(SnapshotFormat.userSize(user));
+            SnapshotFormat.writeUser(buffer, user);
+        }
+
+        long[] inquiryOffsets = new long[sortedInquiries.size()];
+        long maxInquiryId = 0L;
+        for (int i = 0; i < inquiryOffsets.length; i++) {
+            InquirySnapshot inquiry = sortedInquiries.get(i);
+            inquiryOffsets[i] = reserve(SnapshotFormat.inquirySize(inquiry));
+            SnapshotFormat.writeInquiry(buffer, inquiry);
+            maxInquiryId = Math.max(maxInquiryId, inquiry.inquiryId());
+        }
+
+        long userIndexOffset = writeIndex(sortedUsers.stream().map(UserSnapshot::userId).toList(), userOffsets);
+        long inquiryIndexOffset = writeIndex(sortedInquiries.stream().map(InquirySnapshot::inquiryId).toList(), inquiryOffsets);
+        flush();
+
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+        header.putInt(SnapshotFormat.MAGIC)
+                .putInt(SnapshotFormat.VERSION)
+                .putLong(lsn)
+                .putInt(userOffsets.length)
+                .putInt(inquiryOffsets.length)
+                .putLong(userIndexOffset)
+                .putLong(inquiryIndexOffset)
+                .putLong(maxInquiryId)
+                .position(SnapshotFormat.HEADER_SIZE)
+                .flip();
+        writeFully(header, 0L);
+    }
+
+    private long writeIndex(List<Long> ids, long[] offsets) throws IOException {
+        alignTo(SnapshotFormat.INDEX_ENTRY_SIZE);
+        long start = position();
+        for (int i = 0; i < offsets.length; i++) {
+            reserve(SnapshotFormat.INDEX_ENTRY_SIZE);
+            buffer.putLong(ids.get(i)).putLong(offsets[i]);
+        }
+        return start;
+    }
+
+    // size 바이트를 담을 위치를 확보한다. REGION 경계를 넘으면 다음 REGION 시작으로 건너뛴다.
+    private long reserve(int size) throws IOException {
+        long position = position();
+        long regionEnd = (position / SnapshotFormat.REGION_SIZE + 1) * SnapshotFormat.REGION_SIZE;
+        if (position + size > regionEnd) {
+            skipTo(regionEnd);
+            position = regionEnd;
+        }
+        if (buffer.remaining() < size) {
+            flush();
+        }
+        if (buffer.remaining() < size) {
+            throw new IOException("Snapshot record too large: " + size + " bytes");
+        }
+        return position;
+    }
+
+    private void alignTo(int alignment) throws IOException {
+        long position = position();
+        long aligned = (position + alignment - 1) / alignment * alignment;
+        if (aligned != position) {
+            skipTo(aligned);
+        }
+    }
+
+    private void skipTo(long position) throws IOException {
+        flush();
+        bufferStart = position;
+    }
+
+    private long position() {
+        return bufferStart + buffer.position();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        long written = buffer.remaining();
+        writeFully(buffer, bufferStart);
+        bufferStart += written;
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source, long position) throws IOException {
+        long offset = position;
+        while (source.hasRemaining()) {
+            offset += channel.write(source, offset);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nhnacademy.nhnmartcs.global.journal;
+
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+
+public record UserSnapshot(Long userId, Role role, String loginId, String password, String name) {
+
+    public enum Role {
+        CUSTOMER, ADMIN
+    }
+
+    public static UserSnapshot from(User user) {
+        Role role = user instanceof CSAdmin ? Role.ADMIN : Role.CUSTOMER;
+        return new UserSnapshot(user.getUserId(), role, user.getLoginId(), user.getPassword(), user.getName());
+    }
+
+    public User toEntity() {
+        User user = role == Role.ADMIN ? new CSAdmin() : new Customer();
+        user.setUserId(userId);
+        user.setLoginId(loginId);
+        user.setPassword(password);
+        user.setName(name);
+        return user;
+    }
+}
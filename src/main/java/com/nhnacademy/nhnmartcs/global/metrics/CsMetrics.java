@@ -0,0 +1,98 @@
+package com.nhnacademy.nhnmartcs.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// 서비스/컨트롤러에서 직접 기록하는 카운터와 분포 지표.
+// 메서드 지연 시간은 @Timed, 엔드포인트별 지연 시간은 http.server.requests로 수집한다.
+@Component
+public class CsMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter loginSuccess;
+    private final Counter loginUnknownId;
+    private final Counter loginBadPassword;
+    private final DistributionSummary uploadBytes;
+    private final DistributionSummary uploadFiles;
+
+    public CsMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.loginSuccess = loginCounter("success", "none");
+        this.loginUnknownId = loginCounter("failure", "unknown_id");
+        this.loginBadPassword = loginCounter("failure", "bad_password");
+        this.uploadBytes = DistributionSummary.builder("cs.upload.bytes")
+                .description("문의 한 건에 첨부된 파일 크기 합계")
+                .baseUnit("bytes")
+                .register(registry);
+        this.uploadFiles = DistributionSummary.builder("cs.upload.files")
+                .description("문의 한 건의 첨부파일 수")
+                .register(registry);
+    }
+
+    public void loginSucceeded() {
+        loginSuccess.increment();
+    }
+
+    public void loginFailedUnknownId() {
+        loginUnknownId.increment();
+    }
+
+    public void loginFailedBadPassword() {
+        loginBadPassword.increment();
+    }
+
+    public void uploaded(int fileCount, long bytes) {
+        uploadFiles.record(fileCount);
+        uploadBytes.record(bytes);
+    }
+
+    // variant: original, thumb
+    public void served(String variant, long bytes) {
+        DistributionSummary.builder("cs.files.served.bytes")
+                .description("첨부파일 응답 본문 크기")
+                .baseUnit("bytes")
+                .tag("variant", variant)
+                .register(registry)
+                .record(bytes);
+    }
+
+    // 저장소 조회 한 번이 돌려준 행 수. 페이지 조회는 size + 1, 전체 조회는 결과 전체다.
+    public void scanned(String finder, int rows) {
+        DistributionSummary.builder("cs.repository.scan.rows")
+                .description("저장소 조회 결과 행 수")
+                .tag("finder", finder)
+                .register(registry)
+                .record(rows);
+    }
+
+    // 싱크에 한 번 넘긴 묶음의 고객 수와 (합치기 전) 답변 알림 수
+    public void notificationsSent(int digests, int notifications) {
+        DistributionSummary.builder("cs.notification.batch")
+                .description("답변 알림 발송 한 번에 담긴 알림 수")
+                .register(registry)
+                .record(notifications);
+        Counter.builder("cs.notification.digests")
+                .description("발송한 고객별 답변 알림 묶음 수")
+                .register(registry)
+                .increment(digests);
+    }
+
+    // reason: queue_full, delivery_failed
+    public void notificationDropped(String reason) {
+        Counter.builder("cs.notification.dropped")
+                .description("보내지 못하고 버린 답변 알림")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private Counter loginCounter(String outcome, String reason) {
+        return Counter.builder("cs.login")
+                .description("로그인 시도")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
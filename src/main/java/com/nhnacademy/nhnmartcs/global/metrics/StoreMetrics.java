@@ -0,0 +1,31 @@
+package com.nhnacademy.nhnmartcs.global.metrics;
+
+import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
+import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 저장소 크기와 미답변 적체량. 스크랩할 때마다 O(1) 카운터를 읽는다.
+@Component
+@RequiredArgsConstructor
+public class StoreMetrics implements MeterBinder {
+
+    private final InquiryRepository inquiryRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cs.inquiry.store.size", inquiryRepository, InquiryRepository::count)
+                .description("저장된 문의 수")
+                .register(registry);
+        Gauge.builder("cs.inquiry.unanswered", inquiryRepository, InquiryRepository::countUnansweredInquiries)
+                .description("미답변 문의 수")
+                .register(registry);
+        Gauge.builder("cs.user.store.size", userRepository, UserRepository::count)
+                .description("등록된 사용자 수")
+                .register(registry);
+    }
+}
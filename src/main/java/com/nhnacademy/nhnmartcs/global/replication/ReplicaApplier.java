@@ -0,0 +1,109 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryChange;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryAnsweredEvent;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryCreatedEvent;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.JournalingInquiryRepository;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryProjectionCache;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
+import com.nhnacademy.nhnmartcs.user.repository.impl.JournalingUserRepository;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+// 다른 노드에서 받은 변경을 이 노드의 저장소에 반영한다.
+// 복제 로그를 거치지 않고 저장소에 바로 넣으므로 받은 변경이 다시 다른 노드로 퍼지지 않는다.
+// 저널이 켜져 있으면 저널을 거쳐 넣으므로 받은 변경도 재시작 뒤에 남는다.
+// 반영한 문의는 응답 캐시를 비우고, 이 노드에서 일어난 것처럼 통계를 갱신하고 관리자 화면 이벤트를 낸다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "replication.enabled", havingValue = "true")
+public class ReplicaApplier {
+
+    private final UserRepositoryImpl userStore;
+    private final UserRepository users;
+    private final Function<Inquiry, Optional<InquiryChange>> inquiries;
+    private final InquiryProjectionCache projections;
+    private final InquiryStatistics statistics;
+    private final ApplicationEventPublisher events;
+
+    @Autowired
+    public ReplicaApplier(InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore,
+                          ObjectProvider<JournalingInquiryRepository> journaledInquiries,
+                          ObjectProvider<JournalingUserRepository> journaledUsers,
+                          InquiryProjectionCache projections, InquiryStatistics statistics,
+                          ApplicationEventPublisher events) {
+        JournalingInquiryRepository journaledInquiryStore = journaledInquiries.getIfAvailable();
+        JournalingUserRepository journaledUserStore = journaledUsers.getIfAvailable();
+        this.userStore = userStore;
+        this.users = journaledUserStore != null ? journaledUserStore : userStore;
+        this.inquiries = journaledInquiryStore != null ? journaledInquiryStore::saveIfNewer : inquiryStore::saveIfNewer;
+        this.projections = projections;
+        this.statistics = statistics;
+        this.events = events;
+    }
+
+    public ReplicaApplier(InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore,
+                          InquiryProjectionCache projections, InquiryStatistics statistics,
+                          ApplicationEventPublisher events) {
+        this.userStore = userStore;
+        this.users = userStore;
+        this.inquiries = inquiryStore::saveIfNewer;
+        this.projections = projections;
+        this.statistics = statistics;
+        this.events = events;
+    }
+
+    public void apply(JournalRecord record) {
+        switch (record.type()) {
+            case USER -> users.save(record.user().toEntity());
+            case INQUIRY -> apply(record.inquiry());
+        }
+    }
+
+    // 답변은 한번 달리면 없어지지 않으므로, 늦게 도착한 답변 전 상태가 이미 답변된 문의를 되돌리지 않게 한다.
+    // 답변끼리는 last-writer-wins(Answer.supersedes)로, 비교와 저장은 저장소가 조각 잠금 안에서 한 번에 한다.
+    // 이 노드에서 단 답변도 같은 규칙을 따르므로, 두 노드에서 동시에 다시 답변해도 모든 노드가 같은 답변으로 수렴한다.
+    private void apply(InquirySnapshot snapshot) {
+        Inquiry incoming = snapshot.toEntity(this::resolveUser);
+        if (incoming.getCustomer() == null) {
+            log.warn("Skipping replicated inquiry {} with unknown customer {}", snapshot.inquiryId(), snapshot.customerId());
+            return;
+        }
+        Optional<InquiryChange> applied = inquiries.apply(incoming);
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        InquiryChange change = applied.get();
+        projections.invalidate(incoming.getInquiryId());
+        if (change.created()) {
+            statistics.recordCreated(incoming);
+        }
+        if (change.firstAnswer()) {
+            statistics.recordAnswered(incoming);
+        }
+        if (change.created()) {
+            events.publishEvent(new InquiryCreatedEvent(projections.adminSummary(incoming)));
+        } else if (incoming.getAnswer() != null) {
+            events.publishEvent(new InquiryAnsweredEvent(incoming.getInquiryId(), change.firstAnswer()));
+        }
+    }
+
+    private User resolveUser(Long userId) {
+        return userStore.findById(userId).orElse(null);
+    }
+}
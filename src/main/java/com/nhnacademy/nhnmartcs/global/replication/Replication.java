@@ -0,0 +1,99 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+// 여러 노드가 같은 문의 데이터를 갖도록 노드마다 복제 서버를 열고, replication.peers의 모든 노드에 팔로워로 붙는다.
+// 노드는 자기에게 들어온 변경만 내보내고 받은 변경은 다시 내보내지 않으므로, 모든 노드가 서로 붙어 있어야(full mesh) 한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "replication.enabled", havingValue = "true")
+public class Replication {
+
+    private final ReplicationLog changes;
+    private final ReplicaApplier applier;
+    private final InquiryRepositoryImpl inquiryStore;
+    private final UserRepositoryImpl userStore;
+    private final AttachmentStorage attachmentStorage;
+    private final ObjectMapper objectMapper;
+
+    @Value("${replication.node-id:0}")
+    private int nodeId;
+
+    @Value("${replication.bind-address:127.0.0.1}")
+    private String bindAddress;
+
+    @Value("${replication.port:7070}")
+    private int port;
+
+    @Value("${replication.secret:}")
+    private String secret;
+
+    // host:port 목록(쉼표로 구분). 자기 자신은 넣지 않는다.
+    @Value("${replication.peers:}")
+    private String peers;
+
+    @Value("${replication.window:4096}")
+    private int window;
+
+    @Value("${replication.ack-batch:256}")
+    private int ackBatch;
+
+    @Value("${replication.heartbeat-ms:1000}")
+    private long heartbeatMillis;
+
+    @Value("${replication.retry-ms:1000}")
+    private long retryMillis;
+
+    private ReplicationServer server;
+    private final List<ReplicationClient> clients = new ArrayList<>();
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("replication.secret must be set when replication.enabled=true");
+        }
+        server = new ReplicationServer(bindAddress, port, secret, changes, inquiryStore, userStore, attachmentStorage,
+                objectMapper, window, heartbeatMillis);
+        server.start();
+        for (String peer : StringUtils.commaDelimitedListToStringArray(peers)) {
+            ReplicationClient client = new ReplicationClient(nodeId, parse(peer.trim()), secret, applier, attachmentStorage,
+                    objectMapper, ackBatch, heartbeatMillis, retryMillis);
+            client.start();
+            clients.add(client);
+        }
+        log.info("Replication node {} listening on {}:{} and following {}", nodeId, bindAddress, server.port(), peers);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (ReplicationClient client : clients) {
+            client.close();
+        }
+        server.close();
+    }
+
+    private static InetSocketAddress parse(String peer) {
+        int colon = peer.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("replication.peers entry must be host:port: " + peer);
+        }
+        return InetSocketAddress.createUnresolved(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+    }
+}
@@ -0,0 +1,171 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.SecureRandom;
+
+// 다른 노드 하나에 붙어 그 노드의 변경을 받아 이 노드에 반영한다.
+// 반영한 위치는 ack로 묶어(ackBatch건마다, 또는 받아 둔 프레임을 다 처리했을 때) 돌려주고,
+// 연결이 끊기면 잠시 뒤 다시 붙어 마지막으로 반영한 offset부터 이어 받는다.
+@Slf4j
+public class ReplicationClient implements Closeable {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final int nodeId;
+    private final InetSocketAddress peer;
+    private final String secret;
+    private final ReplicaApplier applier;
+    private final AttachmentStorage attachmentStorage;
+    private final ObjectMapper objectMapper;
+    private final int ackBatch;
+    private final long heartbeatMillis;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread follower;
+    // 마지막으로 반영한 상대 노드의 epoch/offset. 팔로워 스레드만 쓴다.
+    private long epoch;
+    private volatile long offset;
+
+    public ReplicationClient(int nodeId, InetSocketAddress peer, String secret, ReplicaApplier applier,
+                             AttachmentStorage attachmentStorage, ObjectMapper objectMapper,
+                             int ackBatch, long heartbeatMillis, long retryMillis) {
+        this.nodeId = nodeId;
+        this.peer = peer;
+        this.secret = secret;
+        this.applier = applier;
+        this.attachmentStorage = attachmentStorage;
+        this.objectMapper = objectMapper;
+        this.ackBatch = ackBatch;
+        this.heartbeatMillis = heartbeatMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    public void start() {
+        running = true;
+        follower = new Thread(this::followLoop, "replication-follower-" + peer);
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        if (follower != null) {
+            follower.interrupt();
+        }
+    }
+
+    private void followLoop() {
+        while (running) {
+            try {
+                follow();
+            } catch (IOException e) {
+                if (running) {
+                    log.info("Replication from {} interrupted at offset {}: {}", peer, offset, e.getMessage());
+                }
+            }
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow() throws IOException {
+        try (Socket connection = new Socket()) {
+            // 상대 노드가 다른 주소로 다시 떠도 따라가도록 접속할 때마다 이름을 새로 푼다.
+            connection.connect(new InetSocketAddress(peer.getHostString(), peer.getPort()), CONNECT_TIMEOUT_MILLIS);
+            connection.setTcpNoDelay(true);
+            // 상대는 쉬는 동안 heartbeat를 보내므로, 그보다 오래 조용하면 끊긴 연결로 본다.
+            connection.setSoTimeout((int) (heartbeatMillis * 3));
+            socket = connection;
+            if (!running) {
+                return;
+            }
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            byte[] nonce = ReplicationProtocol.readChallenge(in);
+            byte[] followerNonce = new byte[ReplicationProtocol.NONCE_BYTES];
+            random.nextBytes(followerNonce);
+            ReplicationProtocol.writeHello(out, new ReplicationProtocol.Hello(nodeId, epoch, offset,
+                    ReplicationProtocol.proof(secret, nonce), followerNonce));
+            ReplicationProtocol.Welcome welcome = ReplicationProtocol.readWelcome(in);
+            // 비밀을 모르는 상대(가짜 리더)의 프레임은 하나도 반영하지 않는다.
+            if (!ReplicationProtocol.verify(secret, followerNonce, welcome.proof())) {
+                throw new IOException("Replication peer " + peer + " failed authentication");
+            }
+            if (!welcome.fullState()) {
+                epoch = welcome.epoch();
+            }
+
+            int unacked = 0;
+            while (running) {
+                byte type = in.readByte();
+                switch (type) {
+                    case ReplicationProtocol.RECORD -> {
+                        long recordOffset = in.readLong();
+                        byte[] json = new byte[in.readInt()];
+                        in.readFully(json);
+                        apply(json);
+                        if (recordOffset > 0) {
+                            offset = recordOffset;
+                            unacked++;
+                        }
+                    }
+                    case ReplicationProtocol.BLOB -> attachmentStorage.importBlob(in.readUTF(), in, in.readLong());
+                    case ReplicationProtocol.MARK -> {
+                        // 전체 상태를 끝까지 받은 뒤에야 새 epoch로 넘어간다. 도중에 끊기면 다시 전체 상태부터 받는다.
+                        offset = in.readLong();
+                        epoch = welcome.epoch();
+                        unacked++;
+                    }
+                    case ReplicationProtocol.HEARTBEAT -> {
+                    }
+                    default -> throw new IOException("Unknown replication frame " + type);
+                }
+                if (unacked > 0 && (unacked >= ackBatch || in.available() == 0)) {
+                    out.writeByte(ReplicationProtocol.ACK);
+                    out.writeLong(offset);
+                    out.flush();
+                    unacked = 0;
+                }
+            }
+        }
+    }
+
+    // 반영할 수 없는 레코드 하나 때문에 복제 전체가 멈추지 않도록 건너뛴다.
+    private void apply(byte[] json) throws IOException {
+        JournalRecord record = objectMapper.readValue(json, JournalRecord.class);
+        try {
+            applier.apply(record);
+        } catch (RuntimeException e) {
+            log.error("Skipping replicated record {} from {}", record.lsn(), peer, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// 이 노드에서 일어난 저장소 변경을 순서대로 번호(offset) 붙여 담아 두는 메모리 링.
+// 다른 노드는 마지막으로 받은 offset부터 이어 받고, 링에서 이미 밀려난 구간이면 전체 상태부터 다시 받는다.
+// epoch는 기동마다 새로 정해지므로, 재기동한 노드의 offset을 이전 기동의 offset과 헷갈리지 않는다.
+@Component
+@ConditionalOnProperty(name = "replication.enabled", havingValue = "true")
+public class ReplicationLog {
+
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final Lock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    // offset o의 레코드는 ring[o % ring.length]에 있다.
+    private final JournalRecord[] ring;
+    private long lastOffset;
+
+    public ReplicationLog(@Value("${replication.log.retained-records:100000}") int retainedRecords) {
+        this.ring = new JournalRecord[retainedRecords];
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long lastOffset() {
+        lock.lock();
+        try {
+            return lastOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> void append(T changed, Function<? super T, JournalRecord> toRecord) {
+        appendAll(List.of(changed), toRecord);
+    }
+
+    // 스냅샷을 잠금 안에서 떠서, 같은 문의를 동시에 고쳐도 로그의 마지막 레코드가 가장 최신 상태가 되게 한다.
+    public <T> void appendAll(List<T> changed, Function<? super T, JournalRecord> toRecord) {
+        lock.lock();
+        try {
+            for (T item : changed) {
+                long offset = ++lastOffset;
+                ring[(int) (offset % ring.length)] = toRecord.apply(item).withLsn(offset);
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // offset이 링 안에 있어 그 다음부터 빠짐없이 이어 줄 수 있는지
+    public boolean covers(long offset) {
+        lock.lock();
+        try {
+            return offset >= 0 && offset <= lastOffset && lastOffset - offset <= ring.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // offset 다음 레코드를 최대 max건 돌려준다. 이어 줄 수 없는 위치면 null
+    public List<JournalRecord> readAfter(long offset, int max) {
+        lock.lock();
+        try {
+            if (offset < 0 || offset > lastOffset || lastOffset - offset > ring.length) {
+                return null;
+            }
+            int count = (int) Math.min(max, lastOffset - offset);
+            List<JournalRecord> records = new ArrayList<>(count);
+            for (long next = offset + 1; next <= offset + count; next++) {
+                records.add(ring[(int) (next % ring.length)]);
+            }
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // offset 뒤에 레코드가 생길 때까지 기다린다. 시간 안에 생기지 않으면 false
+    public boolean awaitAfter(long offset, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (lastOffset <= offset) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
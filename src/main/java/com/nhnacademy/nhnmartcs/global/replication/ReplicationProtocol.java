@@ -0,0 +1,129 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+// 노드 사이 복제 연결의 프레임 형식.
+// 접속: 리더 -> CHALLENGE(MAGIC, VERSION, nonce),
+//       팔로워 -> HELLO(MAGIC, VERSION, nodeId, epoch, offset, proof, followerNonce),
+//       리더 -> WELCOME(MAGIC, epoch, fullState, leaderProof)
+// proof는 replication.secret을 키로 한 리더 nonce의 HMAC-SHA256, leaderProof는 팔로워 nonce의 HMAC-SHA256이다.
+// 양쪽이 서로 비밀을 아는지 확인한 뒤에야 리더는 상태를 보내고 팔로워는 프레임을 반영한다. 비밀 값 자체는 연결로 보내지 않는다.
+// 리더 -> 팔로워: RECORD(offset, 길이, JSON), BLOB(저장 파일명, 크기, 바이트), MARK(offset), HEARTBEAT
+// 팔로워 -> 리더: ACK(반영한 마지막 offset)
+// 전체 상태로 보낸 레코드는 offset이 0이고, 끝에 오는 MARK가 그 뒤로 이어 받을 offset을 알려 준다.
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x4E4D5250;
+    // 3: 팔로워도 리더를 인증한다(HELLO에 followerNonce, WELCOME에 leaderProof).
+    static final int VERSION = 3;
+    static final int NONCE_BYTES = 16;
+    private static final int MAX_PROOF_BYTES = 64;
+    private static final String PROOF_ALGORITHM = "HmacSHA256";
+
+    static final byte RECORD = 'R';
+    static final byte BLOB = 'B';
+    static final byte MARK = 'M';
+    static final byte HEARTBEAT = 'H';
+    static final byte ACK = 'A';
+
+    private ReplicationProtocol() {
+    }
+
+    record Hello(int nodeId, long epoch, long offset, byte[] proof, byte[] nonce) {
+    }
+
+    record Welcome(long epoch, boolean fullState, byte[] proof) {
+    }
+
+    static void writeChallenge(DataOutputStream out, byte[] nonce) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(nonce);
+        out.flush();
+    }
+
+    static byte[] readChallenge(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a replication peer or unsupported protocol version");
+        }
+        byte[] nonce = new byte[NONCE_BYTES];
+        in.readFully(nonce);
+        return nonce;
+    }
+
+    static void writeHello(DataOutputStream out, Hello hello) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(hello.nodeId());
+        out.writeLong(hello.epoch());
+        out.writeLong(hello.offset());
+        writeProof(out, hello.proof());
+        out.write(hello.nonce());
+        out.flush();
+    }
+
+    static Hello readHello(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a replication peer or unsupported protocol version");
+        }
+        int nodeId = in.readInt();
+        long epoch = in.readLong();
+        long offset = in.readLong();
+        byte[] proof = readProof(in);
+        byte[] nonce = new byte[NONCE_BYTES];
+        in.readFully(nonce);
+        return new Hello(nodeId, epoch, offset, proof, nonce);
+    }
+
+    static byte[] proof(String secret, byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance(PROOF_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), PROOF_ALGORITHM));
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    // 비교 시간으로 proof를 한 바이트씩 맞혀 가지 못하게 상수 시간으로 비교한다.
+    static boolean verify(String secret, byte[] nonce, byte[] proof) {
+        return MessageDigest.isEqual(proof(secret, nonce), proof);
+    }
+
+    static void writeWelcome(DataOutputStream out, Welcome welcome) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(welcome.epoch());
+        out.writeBoolean(welcome.fullState());
+        writeProof(out, welcome.proof());
+        out.flush();
+    }
+
+    static Welcome readWelcome(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replication peer");
+        }
+        return new Welcome(in.readLong(), in.readBoolean(), readProof(in));
+    }
+
+    private static void writeProof(DataOutputStream out, byte[] proof) throws IOException {
+        out.writeShort(proof.length);
+        out.write(proof);
+    }
+
+    private static byte[] readProof(DataInputStream in) throws IOException {
+        int proofLength = in.readUnsignedShort();
+        if (proofLength > MAX_PROOF_BYTES) {
+            throw new IOException("Replication proof too long: " + proofLength);
+        }
+        byte[] proof = new byte[proofLength];
+        in.readFully(proof);
+        return proof;
+    }
+}
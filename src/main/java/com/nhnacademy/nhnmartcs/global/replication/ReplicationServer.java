@@ -0,0 +1,285 @@
+package com.nhnacademy.nhnmartcs.global.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.global.journal.UserSnapshot;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 이 노드의 변경(ReplicationLog)을 접속한 다른 노드들에게 흘려보낸다.
+// 팔로워가 알려 준 offset부터 이어 보내고, 이 노드가 재기동해 epoch가 바뀌었거나 그 구간이 링에서 밀려났으면
+// 현재 저장소 전체를 먼저 보낸 뒤 그 시점의 offset부터 이어 보낸다.
+// 레코드는 ack를 기다리지 않고 연달아 보내되(pipelining), 확인되지 않은 레코드가 window를 넘으면 ack를 기다린다.
+// 첨부가 달린 문의는 그 블롭을 레코드보다 먼저 보내 받는 쪽에서 바로 내려받을 수 있게 한다.
+@Slf4j
+public class ReplicationServer implements Closeable {
+
+    private final SecureRandom random = new SecureRandom();
+    private final String secret;
+    private final ReplicationLog changes;
+    private final InquiryRepositoryImpl inquiryStore;
+    private final UserRepositoryImpl userStore;
+    private final AttachmentStorage attachmentStorage;
+    private final ObjectMapper objectMapper;
+    private final int window;
+    private final long heartbeatMillis;
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    // 전체 상태에는 사용자 비밀번호까지 들어 있으므로, 정해진 주소에서만 받고 replication.secret을 아는 노드에만 보낸다.
+    public ReplicationServer(String bindAddress, int port, String secret, ReplicationLog changes,
+                             InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore,
+                             AttachmentStorage attachmentStorage, ObjectMapper objectMapper,
+                             int window, long heartbeatMillis) throws IOException {
+        this.secret = secret;
+        this.changes = changes;
+        this.inquiryStore = inquiryStore;
+        this.userStore = userStore;
+        this.attachmentStorage = attachmentStorage;
+        this.objectMapper = objectMapper;
+        this.window = window;
+        this.heartbeatMillis = heartbeatMillis;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void start() {
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread sender = new Thread(() -> serve(socket), "replication-sender-" + socket.getRemoteSocketAddress());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            // 인증 전에는 상대가 말없이 연결만 붙잡고 있지 못하게 읽기 제한 시간을 둔다.
+            socket.setSoTimeout((int) (heartbeatMillis * 3));
+            byte[] nonce = new byte[ReplicationProtocol.NONCE_BYTES];
+            random.nextBytes(nonce);
+            ReplicationProtocol.writeChallenge(out, nonce);
+            ReplicationProtocol.Hello hello = ReplicationProtocol.readHello(in);
+            if (!ReplicationProtocol.verify(secret, nonce, hello.proof())) {
+                log.warn("Replication peer {} failed authentication; closing", socket.getRemoteSocketAddress());
+                return;
+            }
+            socket.setSoTimeout(0);
+            boolean resume = hello.epoch() == changes.epoch() && changes.covers(hello.offset());
+            ReplicationProtocol.writeWelcome(out, new ReplicationProtocol.Welcome(changes.epoch(), !resume,
+                    ReplicationProtocol.proof(secret, hello.nonce())));
+            log.info("Replication follower node {} connected from {} ({})", hello.nodeId(),
+                    socket.getRemoteSocketAddress(), resume ? "resuming at offset " + hello.offset() : "sending full state");
+
+            Follower follower = new Follower(resume ? hello.offset() : 0L);
+            Thread ackReader = new Thread(() -> readAcks(socket, in, follower), "replication-acks-" + hello.nodeId());
+            ackReader.setDaemon(true);
+            ackReader.start();
+
+            Set<String> sentBlobs = new HashSet<>();
+            long position = resume ? hello.offset() : sendFullState(out, sentBlobs);
+            while (running) {
+                if (!follower.awaitWindow(position, window, heartbeatMillis)) {
+                    heartbeat(out);
+                    continue;
+                }
+                List<JournalRecord> batch = changes.readAfter(position, window - (int) (position - follower.acked()));
+                if (batch == null) {
+                    // 팔로워가 링이 감당하지 못할 만큼 뒤처졌다.
+                    position = sendFullState(out, sentBlobs);
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    if (!changes.awaitAfter(position, heartbeatMillis)) {
+                        heartbeat(out);
+                    }
+                    continue;
+                }
+                for (JournalRecord record : batch) {
+                    write(out, record, sentBlobs);
+                }
+                out.flush();
+                position = batch.get(batch.size() - 1).lsn();
+            }
+        } catch (IOException e) {
+            if (running) {
+                log.info("Replication follower {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // ack는 누적 offset이다. 연결이 끊기면 소켓을 닫아 송신 쪽도 멈추게 한다.
+    private void readAcks(Socket socket, DataInputStream in, Follower follower) {
+        try {
+            while (true) {
+                if (in.readByte() != ReplicationProtocol.ACK) {
+                    throw new IOException("Unexpected frame from follower");
+                }
+                follower.ack(in.readLong());
+            }
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫혔다.
+            }
+        }
+    }
+
+    // 기준 offset을 먼저 잡고 저장소를 읽으므로, 그 사이 들어온 변경은 이어 보낼 때 한 번 더 간다(다시 적용해도 같은 결과).
+    private long sendFullState(DataOutputStream out, Set<String> sentBlobs) throws IOException {
+        long base = changes.lastOffset();
+        for (User user : userStore.findAll()) {
+            write(out, JournalRecord.of(UserSnapshot.from(user)), sentBlobs);
+        }
+        for (Inquiry inquiry : inquiryStore.findAll()) {
+            write(out, JournalRecord.of(InquirySnapshot.from(inquiry)), sentBlobs);
+        }
+        out.writeByte(ReplicationProtocol.MARK);
+        out.writeLong(base);
+        out.flush();
+        return base;
+    }
+
+    private void write(DataOutputStream out, JournalRecord record, Set<String> sentBlobs) throws IOException {
+        if (record.inquiry() != null && record.inquiry().attachedFiles() != null) {
+            for (Inquiry.FileInfo file : record.inquiry().attachedFiles()) {
+                if (sentBlobs.add(file.getSavedFilename())) {
+                    writeBlob(out, file.getSavedFilename());
+                }
+            }
+        }
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        out.writeByte(ReplicationProtocol.RECORD);
+        out.writeLong(record.lsn());
+        out.writeInt(json.length);
+        out.write(json);
+    }
+
+    private void writeBlob(DataOutputStream out, String savedFilename) throws IOException {
+        Optional<Path> blob = attachmentStorage.findBlob(savedFilename);
+        if (blob.isEmpty()) {
+            return;
+        }
+        out.writeByte(ReplicationProtocol.BLOB);
+        out.writeUTF(savedFilename);
+        out.writeLong(Files.size(blob.get()));
+        Files.copy(blob.get(), out);
+    }
+
+    private static void heartbeat(DataOutputStream out) throws IOException {
+        out.writeByte(ReplicationProtocol.HEARTBEAT);
+        out.flush();
+    }
+
+    // 팔로워가 확인해 준 offset. 송신 스레드는 보낸 위치와의 차이가 window를 넘지 않게 기다린다.
+    private static final class Follower {
+
+        private final Lock lock = new ReentrantLock();
+        private final Condition acknowledged = lock.newCondition();
+        private long acked;
+
+        Follower(long acked) {
+            this.acked = acked;
+        }
+
+        void ack(long offset) {
+            lock.lock();
+            try {
+                acked = Math.max(acked, offset);
+                acknowledged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long acked() {
+            lock.lock();
+            try {
+                return acked;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean awaitWindow(long position, int window, long timeoutMillis) throws InterruptedException {
+            lock.lock();
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+                while (position - acked >= window) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = acknowledged.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nhnacademy.nhnmartcs.global.resolver;
+
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// 컨트롤러 인자로 세션의 로그인 사용자를 넘긴다.
+// LoginUser 타입이면 세션 값을 그대로, Customer/CSAdmin 등 User 타입이면 userId로 찾은 엔티티를 넘긴다.
+// 로그인하지 않았거나 역할이 인자 타입과 맞지 않으면 null이다.
+@Component
+@RequiredArgsConstructor
+public class LoginUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return type == LoginUser.class || User.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        LoginUser loginUser = loginUserOf(webRequest);
+        Class<?> type = parameter.getParameterType();
+        if (loginUser == null || type == LoginUser.class) {
+            return loginUser;
+        }
+        return userService.findById(loginUser.userId())
+                .filter(type::isInstance)
+                .orElse(null);
+    }
+
+    private LoginUser loginUserOf(NativeWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpSession session = request != null ? request.getSession(false) : null;
+        return session != null && session.getAttribute(LoginUser.SESSION_KEY) instanceof LoginUser loginUser
+                ? loginUser : null;
+    }
+}
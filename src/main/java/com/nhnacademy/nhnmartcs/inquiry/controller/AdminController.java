@@ -1,16 +1,20 @@
 package com.nhnacademy.nhnmartcs.inquiry.controller;
 
 
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.AnswerCreateRequest;
+import com.nhnacademy.nhnmartcs.inquiry.dto.request.BulkAnswerCreateRequest;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.event.AdminInquiryStream;
 import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
-import com.nhnacademy.nhnmartcs.user.domain.User;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,8 +23,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -29,35 +36,77 @@ import java.util.List;
 @RequestMapping("/cs/admin")
 public class AdminController {
 
+    private static final int DASHBOARD_SIZE = 50;
+
     private final InquiryService inquiryService;
+    private final AdminInquiryStream adminInquiryStream;
 
     @GetMapping
-    public String viewAdminDashboard(HttpSession session, Model model) {
+    public String viewAdminDashboard(@RequestParam(required = false) String cursor,
+                                     CSAdmin admin,
+                                     Model model) {
         log.info("GET /cs/admin request received.");
-        User loginUser = (User) session.getAttribute("loginUser");
 
-        if (loginUser == null || !(loginUser instanceof CSAdmin)) {
+        if (admin == null) {
             log.warn("Non-admin user attempted to access /cs/admin. Redirecting to login.");
             return "redirect:/cs/login";
         }
 
-        List<AdminInquirySummaryResponse> inquiries = inquiryService.getUnansweredInquiries();
+        CursorPage<AdminInquirySummaryResponse> page = inquiryService.getUnansweredInquiries(cursor, DASHBOARD_SIZE);
+        long unansweredCount = inquiryService.countUnansweredInquiries();
 
-        model.addAttribute("inquiries", inquiries);
-        log.info("Showing {} unanswered inquiries for admin.", inquiries.size());
+        model.addAttribute("inquiries", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("unansweredCount", unansweredCount);
+        model.addAttribute("pageSize", DASHBOARD_SIZE);
+        log.info("Showing {} of {} unanswered inquiries for admin.", page.getContent().size(), unansweredCount);
 
         return "admin";
     }
 
+    // 제목/내용/답변 본문 검색. 관련도 순으로 최대 한 페이지를 보여준다.
+    @GetMapping("/search")
+    public String search(@RequestParam(name = "q", required = false) String keyword,
+                         @RequestParam(required = false) String category,
+                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                         @RequestParam(required = false) Boolean answered,
+                         Model model) {
+        List<AdminInquirySummaryResponse> results = inquiryService.searchInquiries(keyword, category, from, to, answered, DASHBOARD_SIZE);
+
+        model.addAttribute("inquiries", results);
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("categories", InquiryCategory.values());
+        model.addAttribute("selectedCategory", category);
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
+        model.addAttribute("answered", answered);
+        return "admin-search";
+    }
+
+    // 분류별/일별/관리자별 등록·답변 건수와 첫 답변까지 걸린 시간. 미리 집계해 둔 값을 그대로 보여준다.
+    @GetMapping("/stats")
+    public String stats(Model model) {
+        model.addAttribute("stats", inquiryService.getStatistics());
+        return "admin-stats";
+    }
+
+    // 대시보드가 새로고침 없이 새 문의와 답변 완료를 받는 SSE 연결. 관리자 여부는 LoginCheckInterceptor가 확인한다.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream() {
+        return adminInquiryStream.subscribe();
+    }
+
     @GetMapping("/answer")
     public String answerForm(@RequestParam("inquiryId") Long inquiryId,
-                             HttpSession session,
+                             CSAdmin admin,
                              Model model) {
 
         log.info("GET /cs/admin/answer form for inquiryId: {}", inquiryId);
-        User loginUser = (User) session.getAttribute("loginUser");
 
-        if (loginUser == null || !(loginUser instanceof CSAdmin)) {
+        if (admin == null) {
             return "redirect:/cs/login";
         }
 
@@ -75,12 +124,11 @@ public class AdminController {
     public String addAnswer(@RequestParam("inquiryId") Long inquiryId,
                             @Valid @ModelAttribute("answerRequest") AnswerCreateRequest answerRequest,
                             BindingResult bindingResult,
-                            HttpSession session,
+                            CSAdmin admin,
                             Model model,
                             RedirectAttributes redirectAttributes) {
 
         log.info("POST /cs/admin/answer for inquiryId: {}", inquiryId);
-        CSAdmin admin = (CSAdmin) session.getAttribute("loginUser");
 
         if (admin == null) {
             return "redirect:/cs/login";
@@ -104,4 +152,34 @@ public class AdminController {
 
         return "redirect:/cs/admin";
     }
-}
\ No newline at end of file
+
+    // 선택한 여러 문의에 같은 답변을 한 번에 등록한다. 없는 문의는 건너뛴다.
+    @PostMapping("/answers")
+    public String addAnswers(@Valid @ModelAttribute("bulkAnswerRequest") BulkAnswerCreateRequest bulkAnswerRequest,
+                             BindingResult bindingResult,
+                             CSAdmin admin,
+                             RedirectAttributes redirectAttributes) {
+
+        if (admin == null) {
+            return "redirect:/cs/login";
+        }
+
+        if (bindingResult.hasErrors()) {
+            log.warn("Validation errors while submitting bulk answer: {}", bindingResult.getAllErrors());
+            redirectAttributes.addFlashAttribute("errorMessage", bindingResult.getAllErrors().get(0).getDefaultMessage());
+            return "redirect:/cs/admin";
+        }
+
+        List<Long> inquiryIds = bulkAnswerRequest.getInquiryIds();
+        try {
+            int answered = inquiryService.addAnswers(inquiryIds, bulkAnswerRequest.getContent(), admin);
+            log.info("Bulk answer added to {} of {} selected inquiries", answered, inquiryIds.size());
+            redirectAttributes.addFlashAttribute("successMessage", answered + "건의 문의에 답변을 등록했습니다.");
+        } catch (Exception e) {
+            log.error("Error adding bulk answer: {}", e.getMessage(), e);
+            redirectAttributes.addFlashAttribute("errorMessage", "답변 등록 중 오류가 발생했습니다.");
+        }
+
+        return "redirect:/cs/admin";
+    }
+}
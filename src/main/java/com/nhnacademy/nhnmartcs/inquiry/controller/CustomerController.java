@@ -5,15 +5,16 @@ import com.nhnacademy.nhnmartcs.global.exception.InquiryNotFoundException;
 import com.nhnacademy.nhnmartcs.global.exception.InvalidFileTypeException;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
 import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -32,23 +33,37 @@ import java.util.List;
 @RequestMapping("/cs")
 public class CustomerController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final InquiryService inquiryService;
 
     @GetMapping
     public String viewMyInquiries(@RequestParam(required = false) String category,
-                                  HttpSession session,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(name = "q", required = false) String keyword,
+                                  Customer customer,
                                   Model model) {
-        Customer customer = (Customer) session.getAttribute("loginUser");
-
         if (customer == null) {
             return "redirect:/cs/login";
         }
 
-        List<InquirySummaryResponse> inquiries = inquiryService.getMyInquiries(customer, category);
-
-        model.addAttribute("inquiries", inquiries);
         model.addAttribute("categories", InquiryCategory.values());
         model.addAttribute("selectedCategory", category);
+        // 목록을 보여 주므로 새 답변은 확인한 것으로 본다. 머리글에는 확인 직전의 새 답변 수를 보여 준다.
+        model.addAttribute("counts", inquiryService.getMyInquiryCounts(customer, true));
+
+        // 검색어가 있으면 관련도 순 검색 결과(최대 한 페이지)를 보여준다.
+        if (StringUtils.hasText(keyword)) {
+            model.addAttribute("inquiries", inquiryService.searchMyInquiries(customer, keyword, category, PAGE_SIZE));
+            model.addAttribute("keyword", keyword);
+            return "inquiry-list";
+        }
+
+        CursorPage<InquirySummaryResponse> page = inquiryService.getMyInquiries(customer, category, cursor, PAGE_SIZE);
+
+        model.addAttribute("inquiries", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("cursor", cursor);
 
         return "inquiry-list";
     }
@@ -68,11 +83,10 @@ public class CustomerController {
     public String createInquiry(@Valid @ModelAttribute InquiryCreateRequest inquiryCreateRequest,
                                 BindingResult bindingResult,
                                 @RequestParam(name = "files", required = false) List<MultipartFile> files,
-                                HttpSession session,
+                                Customer customer,
                                 RedirectAttributes redirectAttributes,
                                 Model model) {
 
-        Customer customer = (Customer) session.getAttribute("loginUser");
         if (customer == null) {
             return "redirect:/cs/login";
         }
@@ -111,9 +125,8 @@ public class CustomerController {
 
     @GetMapping("/inquiry/{id}")
     public String viewInquiryDetail(@PathVariable Long id,
-                                    HttpSession session,
+                                    Customer customer,
                                     Model model) {
-        Customer customer = (Customer) session.getAttribute("loginUser");
         if (customer == null) {
             return "redirect:/cs/login";
         }
@@ -1,50 +1,201 @@
 package com.nhnacademy.nhnmartcs.inquiry.controller; // 적절한 패키지로 변경 가능
 
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class FileController {
 
+    // Tomcat 커넥터가 sendfile을 지원하면 요청 속성으로 파일 구간을 넘겨 커널이 직접 전송하게 한다.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 저장 파일명은 내용 해시(이전 파일은 UUID) 기반이라 내용이 바뀌지 않는다. 로그인 사용자만 받을 수 있으므로 private 캐시로 제한한다.
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+    // 내용 주소 저장소의 블롭 이름(SHA-256 hex + 확장자)
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z]+");
+
+    private static final String THUMBNAIL = "thumb";
+
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final InquiryService inquiryService;
+    private final CsMetrics metrics;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
     @GetMapping("/files/{filename:.+}")
-    @ResponseBody
-    public ResponseEntity<Resource> serveFile(@PathVariable String filename) {
-        try {
-            Path fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Path filePath = fileStorageLocation.resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+    public void serveFile(@PathVariable String filename,
+                          @RequestParam(required = false) String size,
+                          LoginUser loginUser,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = fileStorageLocation.resolve(filename).normalize();
+        // 블롭 이름은 내용 해시라 내용을 아는 사람은 계산할 수 있다. 그래서 이름만으로 내주지 않고,
+        // 요청한 사용자가 볼 수 있는 문의에 첨부된 파일인지 확인한다. 썸네일(.thumb)과 쓰는 중인 파일(.incoming)은
+        // 업로드 디렉터리 바로 아래가 아니므로 여기서 걸러지고, 썸네일은 원본 이름의 size=thumb으로만 받는다.
+        // 남의 파일이 있는지 알 수 없도록 권한이 없어도 404로 답한다.
+        if (!fileStorageLocation.equals(filePath.getParent())
+                || !inquiryService.canReadAttachment(loginUser, filePath.getFileName().toString())
+                || !Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            log.warn("File not found, not readable or not permitted: {}", filename);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-            if (resource.exists() || resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .body(resource);
+        CacheControl cacheControl = IMMUTABLE;
+        String variant = "";
+        if (THUMBNAIL.equals(size)) {
+            Optional<Path> thumbnail = thumbnailGenerator.find(filename);
+            if (thumbnail.isPresent()) {
+                filePath = thumbnail.get();
+                variant = "-" + THUMBNAIL;
             } else {
-                log.warn("File not found or not readable: {}", filename);
-                return ResponseEntity.notFound().build();
+                // 썸네일이 준비되기 전에는 원본으로 대신하되, 이 URL에 원본이 오래 캐시되지 않게 한다.
+                cacheControl = CacheControl.noCache().cachePrivate();
+            }
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = etag(filename, variant, length, lastModified);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // If-None-Match / If-Modified-Since가 일치하면 304와 ETag, Last-Modified 헤더만 설정된다.
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = singleRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start > end || start >= length) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+        metrics.served(variant.isEmpty() ? "original" : THUMBNAIL, count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, filePath.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(filePath, start, count, response);
+    }
+
+    // 블롭은 이름이 곧 내용 해시이므로 그대로 강한 ETag로 쓴다. 이전 방식으로 저장된 파일은 크기와 수정 시각으로 만든다.
+    private String etag(String filename, String variant, long length, long lastModified) {
+        Matcher blob = BLOB_NAME.matcher(filename);
+        if (blob.matches()) {
+            return "\"" + blob.group(1) + variant + "\"";
+        }
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + variant + "\"";
+    }
+
+    // sendfile을 쓸 수 없는 환경(MockMvc, 다른 서블릿 컨테이너)에서는 transferTo로 응답 스트림에 흘려보낸다.
+    private void transfer(Path filePath, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel file = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
             }
-        } catch (MalformedURLException ex) {
-            log.error("Error creating URL for file: {}", filename, ex);
-            return ResponseEntity.badRequest().build();
-        } catch (Exception ex) {
-            log.error("Error serving file: {}", filename, ex);
-            return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // 단일 구간 요청만 부분 응답으로 처리한다. 형식이 잘못됐거나 다중 구간이면(드물다) 전체를 보낸다.
+    // If-Range가 현재 ETag 또는 Last-Modified와 다르면 역시 Range를 무시한다.
+    private HttpRange singleRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
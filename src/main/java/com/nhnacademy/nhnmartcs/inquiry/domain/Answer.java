@@ -6,11 +6,19 @@ import lombok.Setter;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 @Getter
 @Setter
 public class Answer {
 
+    // 답변 순서: 작성 시각, 같으면 관리자 id, 그래도 같으면 본문. 모든 노드가 같은 두 답변에 같은 승자를 고른다.
+    public static final Comparator<Answer> ORDER = Comparator
+            .comparing(Answer::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(answer -> answer.getAdmin() != null ? answer.getAdmin().getUserId() : null,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Answer::getContent, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private Long id;
     private String content;
     private LocalDateTime createdAt;
@@ -22,4 +30,17 @@ public class Answer {
         this.admin = admin;
         this.createdAt = LocalDateTime.now();
     }
+
+    // last-writer-wins: 답변은 한번 달리면 없어지지 않고, 가진 답변보다 ORDER로 뒤인 답변만 그 자리를 차지한다.
+    public static boolean supersedes(Answer incoming, Answer current) {
+        return current == null || (incoming != null && ORDER.compare(incoming, current) > 0);
+    }
+
+    // 이 노드에서 다시 단 답변은 시계가 앞선 다른 노드의 답변보다 늦게 쓴 것이므로, 작성 시각을 그 뒤로 맞춰
+    // 모든 노드가 supersedes로 이 답변을 고르게 한다.
+    public void orderAfter(Answer current) {
+        if (!supersedes(this, current)) {
+            createdAt = current.getCreatedAt().plusNanos(1);
+        }
+    }
 }
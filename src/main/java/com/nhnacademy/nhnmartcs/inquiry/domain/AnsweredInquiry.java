@@ -0,0 +1,5 @@
+package com.nhnacademy.nhnmartcs.inquiry.domain;
+
+// 답변을 단 결과: 답변이 반영된 문의와, 그 전에 답변이 없었는지(첫 답변) 여부
+public record AnsweredInquiry(Inquiry inquiry, boolean firstAnswer) {
+}
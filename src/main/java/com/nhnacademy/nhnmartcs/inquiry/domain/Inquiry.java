@@ -1,6 +1,7 @@
 package com.nhnacademy.nhnmartcs.inquiry.domain;
 
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,10 +10,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Inquiry {
 
@@ -27,8 +28,34 @@ public class Inquiry {
 
     private List<FileInfo> attachedFiles = new ArrayList<>();
 
+    // 모든 문의가 함께 쓰는 단조 증가 값. 객체가 만들어질 때와 도메인 메서드로 상태가 바뀔 때마다 새 값을 받는다.
+    // 복구/복제로 새로 만든 객체도 이전 객체보다 큰 값을 가지므로, 응답 투영 캐시가 이 값으로 최신 여부를 판단한다.
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    @Setter(AccessLevel.NONE)
+    private volatile long version = VERSIONS.incrementAndGet();
+
+    public Inquiry(Long inquiryId, String title, String content, InquiryCategory category, LocalDateTime createdAt,
+                   Customer customer, Answer answer, List<FileInfo> attachedFiles) {
+        this.inquiryId = inquiryId;
+        this.title = title;
+        this.content = content;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.customer = customer;
+        this.answer = answer;
+        this.attachedFiles = attachedFiles;
+    }
+
     public void addAnswer(Answer answer){
         this.answer = answer;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    // 저장소가 조각 잠금 안에서 쓰는 복사본. 저장된 객체는 그대로 두므로 커밋 전 상태가 밖에 보이지 않는다.
+    public Inquiry withAnswer(Answer answer) {
+        List<FileInfo> files = attachedFiles == null ? new ArrayList<>() : new ArrayList<>(attachedFiles);
+        return new Inquiry(inquiryId, title, content, category, createdAt, customer, answer, files);
     }
 
     public void addAttachedFiles(List<FileInfo> files) {
@@ -36,6 +63,7 @@ public class Inquiry {
             this.attachedFiles = new ArrayList<>();
         }
         this.attachedFiles.addAll(files);
+        version = VERSIONS.incrementAndGet();
     }
 
     @AllArgsConstructor
@@ -46,5 +74,12 @@ public class Inquiry {
         private String originalFilename;
         private String savedFilename;
         private String filePath;
+        // 내용 주소 저장소의 SHA-256(hex). 이 값이 도입되기 전 파일은 null
+        private String contentHash;
+        private long size;
+
+        public FileInfo(String originalFilename, String savedFilename, String filePath) {
+            this(originalFilename, savedFilename, filePath, null, 0L);
+        }
     }
 }
\ No newline at end of file
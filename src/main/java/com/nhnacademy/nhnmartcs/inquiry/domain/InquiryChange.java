@@ -0,0 +1,13 @@
+package com.nhnacademy.nhnmartcs.inquiry.domain;
+
+// 저장소에 반영된 변경: 바뀌기 전 상태(새 문의면 null)와 반영된 상태
+public record InquiryChange(Inquiry previous, Inquiry current) {
+
+    public boolean created() {
+        return previous == null;
+    }
+
+    public boolean firstAnswer() {
+        return (previous == null || previous.getAnswer() == null) && current.getAnswer() != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.nhnacademy.nhnmartcs.inquiry.domain;
+
+// 고객 한 명(또는 고객의 한 분류)의 문의 건수. newAnswers는 고객이 목록을 마지막으로 본 뒤 새로 답변이 달린 문의 수다.
+public record InquiryCounts(long total, long answered, long newAnswers) {
+
+    public static final InquiryCounts EMPTY = new InquiryCounts(0, 0, 0);
+
+    public long unanswered() {
+        return total - answered;
+    }
+
+    public InquiryCounts plus(InquiryCounts other) {
+        return new InquiryCounts(total + other.total, answered + other.answered, newAnswers + other.newAnswers);
+    }
+
+    public InquiryCounts withoutNewAnswers() {
+        return newAnswers == 0 ? this : new InquiryCounts(total, answered, 0);
+    }
+
+    public boolean isEmpty() {
+        return total == 0 && answered == 0 && newAnswers == 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.nhnacademy.nhnmartcs.inquiry.domain;
+
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 키셋 페이지네이션 커서: 마지막으로 내려준 행의 (createdAt, inquiryId)
+public record InquiryCursor(LocalDateTime createdAt, Long inquiryId) {
+
+    private static final char SEPARATOR = '_';
+
+    public static InquiryCursor of(Inquiry inquiry) {
+        return new InquiryCursor(inquiry.getCreatedAt(), inquiry.getInquiryId());
+    }
+
+    // 잘못된 커서는 첫 페이지 요청으로 취급한다.
+    public static InquiryCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        int separatorIndex = token.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0) {
+            return null;
+        }
+        try {
+            LocalDateTime createdAt = LocalDateTime.parse(token.substring(0, separatorIndex));
+            Long inquiryId = Long.valueOf(token.substring(separatorIndex + 1));
+            return new InquiryCursor(createdAt, inquiryId);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        return createdAt.toString() + SEPARATOR + inquiryId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nhnacademy.nhnmartcs.inquiry.domain;
+
+import java.time.LocalDateTime;
+
+// 본문 검색 조건. keyword 외의 값은 null이면 거르지 않는다. 기간은 [from, to) 구간이다.
+public record InquirySearchCondition(String keyword,
+                                     InquiryCategory category,
+                                     LocalDateTime from,
+                                     LocalDateTime to,
+                                     Boolean answered,
+                                     Long customerId) {
+
+    public static InquirySearchCondition keyword(String keyword) {
+        return new InquirySearchCondition(keyword, null, null, null, null, null);
+    }
+
+    public boolean matches(InquiryCategory category, LocalDateTime createdAt, boolean answered, Long customerId) {
+        return (this.category == null || this.category == category)
+                && (from == null || !createdAt.isBefore(from))
+                && (to == null || createdAt.isBefore(to))
+                && (this.answered == null || this.answered == answered)
+                && (this.customerId == null || this.customerId.equals(customerId));
+    }
+}
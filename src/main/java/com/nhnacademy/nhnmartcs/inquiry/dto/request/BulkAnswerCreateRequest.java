@@ -0,0 +1,23 @@
+package com.nhnacademy.nhnmartcs.inquiry.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkAnswerCreateRequest {
+
+    @NotEmpty(message = "답변할 문의를 선택해주세요.")
+    @Size(max = 500, message = "한 번에 최대 500건까지 답변할 수 있습니다.")
+    private List<Long> inquiryIds = new ArrayList<>();
+
+    @NotBlank(message = "답변 내용을 입력해주세요.")
+    @Size(max = 40000, message = "답변 내용은 최대 40,000자 까지 입력 가능합니다.")
+    private String content;
+}
@@ -9,25 +9,28 @@ import java.time.format.DateTimeFormatter;
 @Getter
 @Builder
 public class AdminInquirySummaryResponse {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private Long id;
     private String title;
     private String category;
     private String authorName;
     private String createdAt;
+    private boolean answered;
 
     public static AdminInquirySummaryResponse fromEntity(Inquiry inquiry) {
         if (inquiry == null) {
             return null;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
         return AdminInquirySummaryResponse.builder()
                 .id(inquiry.getInquiryId())
                 .title(inquiry.getTitle())
                 .category(inquiry.getCategory().getDescription())
                 .authorName(inquiry.getCustomer().getName())
-                .createdAt(inquiry.getCreatedAt().format(formatter))
+                .createdAt(inquiry.getCreatedAt().format(FORMATTER))
+                .answered(inquiry.getAnswer() != null)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.nhnacademy.nhnmartcs.inquiry.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorPage<T> empty() {
+        return CursorPage.<T>builder()
+                .content(Collections.emptyList())
+                .hasNext(false)
+                .build();
+    }
+}
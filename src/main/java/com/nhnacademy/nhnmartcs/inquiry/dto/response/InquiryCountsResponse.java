@@ -0,0 +1,48 @@
+package com.nhnacademy.nhnmartcs.inquiry.dto.response;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Builder
+public class InquiryCountsResponse {
+
+    private long total;
+    private long answered;
+    private long unanswered;
+    // 목록을 마지막으로 본 뒤 새로 답변이 달린 문의 수
+    private long newAnswers;
+    // 분류 선택 상자용. 키는 InquiryCategory 이름
+    private Map<String, Long> totalByCategory;
+    private Map<String, Long> newAnswersByCategory;
+
+    public static InquiryCountsResponse of(InquiryCounts counts, Map<InquiryCategory, InquiryCounts> byCategory) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        Map<String, Long> newAnswers = new LinkedHashMap<>();
+        byCategory.forEach((category, categoryCounts) -> {
+            totals.put(category.name(), categoryCounts.total());
+            newAnswers.put(category.name(), categoryCounts.newAnswers());
+        });
+        return InquiryCountsResponse.builder()
+                .total(counts.total())
+                .answered(counts.answered())
+                .unanswered(counts.unanswered())
+                .newAnswers(counts.newAnswers())
+                .totalByCategory(totals)
+                .newAnswersByCategory(newAnswers)
+                .build();
+    }
+
+    public static InquiryCountsResponse empty() {
+        return InquiryCountsResponse.builder()
+                .totalByCategory(Collections.emptyMap())
+                .newAnswersByCategory(Collections.emptyMap())
+                .build();
+    }
+}
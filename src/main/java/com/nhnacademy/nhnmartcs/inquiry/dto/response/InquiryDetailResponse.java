@@ -8,12 +8,13 @@ import lombok.Getter;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Builder
 public class InquiryDetailResponse {
 
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private Long inquiryId;
     private String title;
     private String category;
@@ -47,19 +48,17 @@ public class InquiryDetailResponse {
                         .originalFilename(fileInfo.getOriginalFilename())
                         .savedFilename(fileInfo.getSavedFilename())
                         .build())
-                .collect(Collectors.toList());
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+                .toList();
 
         return InquiryDetailResponse.builder()
                 .inquiryId(inquiry.getInquiryId())
                 .title(inquiry.getTitle())
                 .category(inquiry.getCategory().getDescription())
                 .content(inquiry.getContent())
-                .createdAt(inquiry.getCreatedAt().format(formatter))
+                .createdAt(inquiry.getCreatedAt().format(FORMATTER))
                 .answered(answer != null)
                 .answerContent(answer != null ? answer.getContent() : null)
-                .answerCreatedAt(answer != null ? answer.getCreatedAt().format(formatter) : null)
+                .answerCreatedAt(answer != null ? answer.getCreatedAt().format(FORMATTER) : null)
                 .answerAdminName(answer != null ? answer.getAdmin().getName() : null)
                 .attachments(attachmentSummaries)
                 .build();
@@ -0,0 +1,59 @@
+package com.nhnacademy.nhnmartcs.inquiry.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Builder
+public class InquiryStatsResponse {
+
+    private Row total;
+    private List<Row> byCategory;
+    // 최근 날짜부터
+    private List<Row> byDay;
+    // 답변 수가 많은 순
+    private List<Row> byAdmin;
+
+    @Getter
+    @Builder
+    public static class Row {
+        private String label;
+        private long created;
+        private long answered;
+        // 첫 답변까지 걸린 시간. 표본이 없으면 "-"
+        private String median;
+        private String p95;
+
+        public static Row of(String label, long created, long answered, Duration median, Duration p95) {
+            return Row.builder()
+                    .label(label)
+                    .created(created)
+                    .answered(answered)
+                    .median(format(median))
+                    .p95(format(p95))
+                    .build();
+        }
+    }
+
+    static String format(Duration duration) {
+        if (duration == null) {
+            return "-";
+        }
+        long days = duration.toDays();
+        long hours = duration.toHoursPart();
+        long minutes = duration.toMinutesPart();
+        if (days > 0) {
+            return days + "일 " + hours + "시간";
+        }
+        if (hours > 0) {
+            return hours + "시간 " + minutes + "분";
+        }
+        if (minutes > 0) {
+            return minutes + "분";
+        }
+        return duration.toSecondsPart() + "초";
+    }
+}
@@ -0,0 +1,109 @@
+package com.nhnacademy.nhnmartcs.inquiry.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 관리자 대시보드에 새 문의/답변 완료를 Server-Sent Events로 밀어 준다.
+// 전송은 전용 스레드 하나에서 하므로 문의를 등록한 요청이 느린 관리자 연결을 기다리지 않는다.
+// 주기적으로 주석 한 줄(heartbeat)을 보내 프록시의 유휴 종료를 막고 끊긴 연결을 정리한다.
+@Slf4j
+@Component
+public class AdminInquiryStream {
+
+    static final String CREATED = "created";
+    static final String ANSWERED = "answered";
+
+    private final long timeoutMillis;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AdminInquiryStream(@Value("${admin-stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${admin-stream.heartbeat-ms:25000}") long heartbeatMillis) {
+        this.timeoutMillis = timeoutMillis;
+        sender.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return emitters.size();
+    }
+
+    @EventListener
+    public void onCreated(InquiryCreatedEvent event) {
+        broadcast(SseEmitter.event()
+                .name(CREATED)
+                .id(String.valueOf(event.inquiry().getId()))
+                .data(event.inquiry(), MediaType.APPLICATION_JSON));
+    }
+
+    @EventListener
+    public void onAnswered(InquiryAnsweredEvent event) {
+        broadcast(SseEmitter.event()
+                .name(ANSWERED)
+                .data(Map.of("id", event.inquiryId(), "firstAnswer", event.firstAnswer()), MediaType.APPLICATION_JSON));
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    private void heartbeat() {
+        broadcastNow(SseEmitter.event().comment("ping"));
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        try {
+            sender.execute(() -> broadcastNow(event));
+        } catch (RejectedExecutionException e) {
+            log.debug("Admin stream is shut down; dropping event");
+        }
+    }
+
+    // 이벤트는 한 번만 직렬화하고 모든 연결에 같은 조각을 보낸다. (SseEventBuilder.build()는 두 번 부르면 안 된다.)
+    private void broadcastNow(SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(data);
+            } catch (IOException | IllegalStateException e) {
+                // 브라우저가 떠난 연결. 목록에서 빼고 정리한다.
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
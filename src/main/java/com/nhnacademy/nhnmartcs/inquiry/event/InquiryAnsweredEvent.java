@@ -0,0 +1,5 @@
+package com.nhnacademy.nhnmartcs.inquiry.event;
+
+// 답변이 저장된 뒤 발행된다. 기존 답변을 고친 경우 firstAnswer는 false라 미답변 건수는 바뀌지 않는다.
+public record InquiryAnsweredEvent(Long inquiryId, boolean firstAnswer) {
+}
@@ -0,0 +1,7 @@
+package com.nhnacademy.nhnmartcs.inquiry.event;
+
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+
+// 새 문의가 저장된 뒤 발행된다. 관리자 화면에 그대로 그릴 수 있도록 요약 응답을 싣는다.
+public record InquiryCreatedEvent(AdminInquirySummaryResponse inquiry) {
+}
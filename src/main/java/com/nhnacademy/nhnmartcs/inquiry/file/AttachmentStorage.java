@@ -0,0 +1,314 @@
+package com.nhnacademy.nhnmartcs.inquiry.file;
+
+import com.nhnacademy.nhnmartcs.global.exception.InvalidFileTypeException;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+// 첨부파일을 내용 주소(SHA-256) 기반 블롭으로 업로드 디렉터리에 저장한다.
+// 각 파트를 한 번만 읽으면서 앞부분의 매직 바이트로 형식을 검사하고, 해시를 계산하며 디스크에 흘려 쓴다.
+// 같은 내용은 하나의 블롭을 공유한다. 블롭은 저장된 문의의 FileInfo가 하나도 가리키지 않고,
+// 저장을 기다리는 업로드도 쥐고 있지 않을 때만 지운다.
+// 여러 파일은 uploadExecutor에서 병렬로 쓰고, 하나라도 실패하면 이미 얻은 참조를 되돌린다.
+@Slf4j
+@Component
+public class AttachmentStorage {
+
+    private static final String INVALID_TYPE_MESSAGE = "이미지 파일(GIF, JPG, PNG)만 업로드 가능합니다.";
+    private static final String INCOMING_DIR = ".incoming";
+
+    private final Path uploadPath;
+    private final Path incomingPath;
+    private final Path thumbnailPath;
+    private final Executor uploadExecutor;
+    // 저장된 문의가 이 블롭을 첨부했는지. 저장소가 FileInfo 메타데이터로 세므로 재기동(저널 복구)과 복제 뒤에도 맞다.
+    private final Predicate<String> storedReferences;
+    // 저장 파일명(해시.확장자) -> 블롭은 얻었지만 아직 문의 저장이 끝나지 않은 업로드 수.
+    // 진행 중인 요청만 세므로 프로세스와 함께 사라져도 된다.
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    // 블롭 이동/삭제(디스크 I/O)를 ConcurrentHashMap.compute 안에서 하면 버킷 잠금(synchronized)을 쥔 채 기다리게 되고,
+    // 가상 스레드에서는 캐리어 스레드까지 붙잡힌다. 그래서 파일명 해시로 나눈 ReentrantLock으로 직렬화한다.
+    private final Lock[] blobLocks = new Lock[64];
+
+    @Autowired
+    public AttachmentStorage(@Value("${file.upload-dir}") String uploadDir,
+                             @Qualifier("uploadExecutor") Executor uploadExecutor,
+                             ObjectProvider<InquiryRepository> inquiryRepository) {
+        this(uploadDir, uploadExecutor, savedFilename -> inquiryRepository.getObject().referencesAttachment(savedFilename));
+    }
+
+    public AttachmentStorage(String uploadDir, Executor uploadExecutor, Predicate<String> storedReferences) {
+        this.uploadPath = Paths.get(uploadDir);
+        this.incomingPath = uploadPath.resolve(INCOMING_DIR);
+        this.thumbnailPath = uploadPath.resolve(ThumbnailGenerator.THUMBNAIL_DIR);
+        this.uploadExecutor = uploadExecutor;
+        this.storedReferences = storedReferences;
+        for (int i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public List<Inquiry.FileInfo> store(List<MultipartFile> files) throws IOException {
+        List<MultipartFile> parts = files == null ? List.of()
+                : files.stream().filter(file -> !file.isEmpty()).toList();
+        if (parts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Files.createDirectories(incomingPath);
+
+        // 한 개면 스레드를 넘길 이유가 없다.
+        if (parts.size() == 1) {
+            List<Inquiry.FileInfo> stored = new ArrayList<>();
+            stored.add(storeOne(parts.get(0)));
+            return stored;
+        }
+
+        List<CompletableFuture<Inquiry.FileInfo>> futures = parts.stream()
+                .map(part -> CompletableFuture.supplyAsync(() -> storeUnchecked(part), uploadExecutor))
+                .toList();
+
+        // 롤백 전에 모든 쓰기가 끝나도록 기다린다.
+        List<Inquiry.FileInfo> stored = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (CompletableFuture<Inquiry.FileInfo> future : futures) {
+            try {
+                stored.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+
+        if (failure != null) {
+            release(stored);
+            if (failure instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(failure);
+        }
+        return stored;
+    }
+
+    // 문의 저장이 끝난 뒤 부른다. 이제 저장소의 FileInfo가 블롭을 가리키므로 업로드가 쥔 참조를 내려놓는다.
+    public void settle(List<Inquiry.FileInfo> files) {
+        for (Inquiry.FileInfo file : files) {
+            if (file.getContentHash() == null) {
+                continue;
+            }
+            Lock lock = lockFor(file.getSavedFilename());
+            lock.lock();
+            try {
+                unpin(file.getSavedFilename());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // 문의 저장에 실패했을 때 업로드가 쥔 참조를 되돌린다.
+    // 다른 업로드도 쥐고 있지 않고 저장된 문의도 가리키지 않는 블롭이면 썸네일과 함께 지운다.
+    public void release(List<Inquiry.FileInfo> files) {
+        for (Inquiry.FileInfo file : files) {
+            if (file.getContentHash() == null) {
+                deleteQuietly(Paths.get(file.getFilePath()));
+                continue;
+            }
+            String savedFilename = file.getSavedFilename();
+            Lock lock = lockFor(savedFilename);
+            lock.lock();
+            try {
+                if (unpin(savedFilename) == 0 && !storedReferences.test(savedFilename)) {
+                    deleteQuietly(uploadPath.resolve(savedFilename));
+                    deleteQuietly(thumbnailPath.resolve(savedFilename));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // 복제 송신용: 이 노드에 있는 블롭의 경로
+    public Optional<Path> findBlob(String savedFilename) {
+        return resolveBlob(savedFilename).filter(Files::isRegularFile);
+    }
+
+    // 다른 노드에서 복제되어 온 블롭을 size 바이트만큼 읽어 저장한다. 이미 있으면 읽어서 버린다.
+    // 복제된 블롭은 뒤따라 오는 문의가 저장소에 들어가면서 참조로 세어진다.
+    public void importBlob(String savedFilename, InputStream in, long size) throws IOException {
+        Optional<Path> resolved = resolveBlob(savedFilename);
+        if (resolved.isEmpty() || Files.exists(resolved.get())) {
+            in.skipNBytes(size);
+            return;
+        }
+        Path blob = resolved.get();
+        Files.createDirectories(incomingPath);
+        Path temp = incomingPath.resolve(UUID.randomUUID() + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                copy(in, out, size);
+            }
+            Lock lock = lockFor(savedFilename);
+            lock.lock();
+            try {
+                if (Files.exists(blob)) {
+                    Files.delete(temp);
+                } else {
+                    Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Optional<Path> resolveBlob(String savedFilename) {
+        if (!StringUtils.hasText(savedFilename)) {
+            return Optional.empty();
+        }
+        Path blob = uploadPath.resolve(savedFilename).normalize();
+        return blob.getParent() != null && blob.getParent().equals(uploadPath.normalize())
+                ? Optional.of(blob)
+                : Optional.empty();
+    }
+
+    private static void copy(InputStream in, OutputStream out, long size) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = size;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("Blob ended " + remaining + " bytes early");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to roll back attachment {}", path, e);
+        }
+    }
+
+    private Inquiry.FileInfo storeUnchecked(MultipartFile file) {
+        try {
+            return storeOne(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Inquiry.FileInfo storeOne(MultipartFile file) throws IOException {
+        String originalFilename = StringUtils.cleanPath(String.valueOf(file.getOriginalFilename()));
+
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = new byte[ImageType.SIGNATURE_LENGTH];
+            int headerLength = in.readNBytes(header, 0, header.length);
+            ImageType type = ImageType.detect(header, headerLength)
+                    .orElseThrow(() -> new InvalidFileTypeException(INVALID_TYPE_MESSAGE));
+
+            // 쓰는 동안 해시를 계산하고, 다 쓴 뒤 해시 이름의 블롭으로 옮긴다.
+            Path temp = incomingPath.resolve(UUID.randomUUID() + ".part");
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW), digest)) {
+                out.write(header, 0, headerLength);
+                size = headerLength + in.transferTo(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String savedFilename = contentHash + "." + type.getExtension();
+            Path blob = uploadPath.resolve(savedFilename);
+            Lock lock = lockFor(savedFilename);
+            lock.lock();
+            try {
+                commit(temp, blob);
+                pending.merge(savedFilename, 1, Integer::sum);
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+
+            return new Inquiry.FileInfo(originalFilename, savedFilename, blob.toString(), contentHash, size);
+        }
+    }
+
+    // 같은 블롭에 대한 커밋과 해제는 블롭 잠금 안에서 직렬화된다. 이미 있는 블롭이면 새로 쓴 내용을 버린다.
+    private void commit(Path temp, Path blob) throws IOException {
+        if (Files.exists(blob)) {
+            Files.delete(temp);
+        } else {
+            Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    // 블롭 잠금 안에서 부른다. 남은 업로드 참조 수를 돌려준다.
+    private int unpin(String savedFilename) {
+        Integer count = pending.get(savedFilename);
+        if (count == null || count <= 1) {
+            pending.remove(savedFilename);
+            return 0;
+        }
+        pending.put(savedFilename, count - 1);
+        return count - 1;
+    }
+
+    private Lock lockFor(String savedFilename) {
+        return blobLocks[Math.floorMod(savedFilename.hashCode(), blobLocks.length)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.nhnacademy.nhnmartcs.inquiry.file;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// 업로드 허용 이미지 형식과 파일 시그니처(매직 바이트).
+// 클라이언트가 보낸 Content-Type 대신 파일 앞부분으로 형식을 판별한다.
+@Getter
+public enum ImageType {
+    GIF("image/gif", "gif", new byte[]{'G', 'I', 'F', '8'}),
+    JPEG("image/jpeg", "jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", "png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+    // 모든 시그니처를 판별하는 데 필요한 최대 길이
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final String extension;
+    private final byte[] signature;
+
+    ImageType(String contentType, String extension, byte[] signature) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public static Optional<ImageType> detect(byte[] header, int length) {
+        return Arrays.stream(values())
+                .filter(type -> type.matches(header, length))
+                .findFirst();
+    }
+
+    private boolean matches(byte[] header, int length) {
+        if (length < signature.length) {
+            return false;
+        }
+        return Arrays.equals(header, 0, signature.length, signature, 0, signature.length);
+    }
+}
@@ -0,0 +1,189 @@
+package com.nhnacademy.nhnmartcs.inquiry.file;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 첨부 이미지의 썸네일을 백그라운드에서 만든다.
+// 디코딩은 CPU와 메모리를 많이 쓰므로 작업자 수와 대기열을 제한하고, 대기열이 차면 그 요청은 버린다.
+// 버려지거나 아직 만들지 못한 썸네일은 조회 시점에 원본으로 대신 응답하고 다시 요청한다.
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    public static final String THUMBNAIL_DIR = ".thumb";
+
+    // 압축 폭탄 방지: 이 픽셀 수를 넘는 이미지는 썸네일을 만들지 않는다.
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    private final Path uploadPath;
+    private final Path thumbnailPath;
+    private final int maxSize;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailGenerator(@Value("${file.upload-dir}") String uploadDir,
+                              @Value("${thumbnail.max-size:400}") int maxSize,
+                              @Value("${thumbnail.workers:2}") int workerCount,
+                              @Value("${thumbnail.queue-capacity:256}") int queueCapacity,
+                              @Qualifier("thumbnailThreadFactory") ThreadFactory threadFactory) {
+        this.uploadPath = Paths.get(uploadDir);
+        this.thumbnailPath = uploadPath.resolve(THUMBNAIL_DIR);
+        this.maxSize = maxSize;
+        // 가상 스레드 모드에서도 작업자 수는 thumbnail.workers로 제한된다.
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    public void requestAll(List<Inquiry.FileInfo> files) {
+        files.forEach(file -> request(file.getSavedFilename()));
+    }
+
+    // 이미 만들어졌거나 진행 중인 썸네일은 다시 요청하지 않는다.
+    public void request(String savedFilename) {
+        if (!StringUtils.hasText(savedFilename) || Files.exists(thumbnailPath.resolve(savedFilename))
+                || !inFlight.add(savedFilename)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(savedFilename);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Thumbnail generation failed for {}", savedFilename, e);
+                } finally {
+                    inFlight.remove(savedFilename);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(savedFilename);
+            log.debug("Thumbnail queue full; skipping {}", savedFilename);
+        }
+    }
+
+    // 썸네일이 준비되어 있으면 그 경로를, 아니면 생성을 요청하고 빈 값을 돌려준다.
+    public Optional<Path> find(String savedFilename) {
+        Path thumbnail = thumbnailPath.resolve(savedFilename).normalize();
+        if (!thumbnail.startsWith(thumbnailPath)) {
+            return Optional.empty();
+        }
+        if (Files.isRegularFile(thumbnail)) {
+            return Optional.of(thumbnail);
+        }
+        request(savedFilename);
+        return Optional.empty();
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    void generate(String savedFilename) throws IOException {
+        Path source = uploadPath.resolve(savedFilename);
+        if (!Files.isRegularFile(source)) {
+            return;
+        }
+        String format = formatOf(savedFilename);
+        BufferedImage image = read(source);
+        if (image == null || format == null) {
+            return;
+        }
+
+        Files.createDirectories(thumbnailPath);
+        Path temp = thumbnailPath.resolve(savedFilename + ".part");
+        try {
+            if (!ImageIO.write(scale(image, format), format, temp.toFile())) {
+                return;
+            }
+            Files.move(temp, thumbnailPath.resolve(savedFilename), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 원본이 매우 크면 서브샘플링으로 읽어 디코딩 메모리를 줄인다.
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("Skipping thumbnail for {} ({}x{} exceeds limit)", source.getFileName(), width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (maxSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, String format) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        // JPEG는 알파 채널을 쓸 수 없다.
+        int type = "jpeg".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static String formatOf(String savedFilename) {
+        String extension = StringUtils.getFilenameExtension(savedFilename);
+        if (extension == null) {
+            return null;
+        }
+        return switch (extension.toLowerCase()) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            case "gif" -> "gif";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import java.util.List;
+
+// 한 번의 발송 묶음 안에서 고객 한 명에게 모아 보내는 답변 알림들. 문의마다 최신 답변 하나만 남는다.
+public record AnswerDigest(Long customerId, String loginId, String customerName, List<AnswerNotification> answers) {
+}
@@ -0,0 +1,26 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+
+import java.time.LocalDateTime;
+
+// 답변 알림 한 건. 문의/답변 객체는 이후 수정될 수 있으므로 보낼 값만 복사해 둔다.
+public record AnswerNotification(Long customerId, String loginId, String customerName,
+                                 Long inquiryId, String title, String answer, LocalDateTime answeredAt,
+                                 boolean firstAnswer) {
+
+    public static AnswerNotification of(Inquiry inquiry, boolean firstAnswer) {
+        Customer customer = inquiry.getCustomer();
+        Answer answer = inquiry.getAnswer();
+        return new AnswerNotification(customer.getUserId(), customer.getLoginId(), customer.getName(),
+                inquiry.getInquiryId(), inquiry.getTitle(), answer.getContent(), answer.getCreatedAt(), firstAnswer);
+    }
+
+    // 같은 문의에 대한 더 늦은 알림으로 덮되, 둘 중 하나라도 첫 답변이었으면 첫 답변으로 남긴다.
+    AnswerNotification mergedWith(AnswerNotification later) {
+        return new AnswerNotification(customerId, later.loginId, later.customerName, inquiryId, later.title,
+                later.answer, later.answeredAt, firstAnswer || later.firstAnswer);
+    }
+}
@@ -0,0 +1,160 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 답변이 달리면 고객에게 보낼 알림을 모아 두었다가 발송 스레드 하나가 묶어서 보낸다.
+// 요청 스레드는 대기열에 넣기만 하고(가득 차면 버린다) 발송을 기다리지 않는다.
+// 발송 스레드는 첫 알림이 들어온 뒤 linger-ms 동안 더 모은 다음 고객별로 합쳐 싱크에 한 번에 넘기므로,
+// 답변이 몰려도 발송 횟수는 몇 번으로 줄어든다. 실패한 묶음은 retry-ms 뒤 max-attempts번까지 다시 보내며,
+// 싱크가 일부만 보냈다고 알리면(PartialDeliveryException) 못 보낸 고객 묶음만 다시 보낸다.
+// 대기열은 메모리에만 있어 재시작하면 아직 보내지 못한 알림은 사라진다.
+@Slf4j
+@Component
+public class AnswerNotificationOutbox {
+
+    private final NotificationSink sink;
+    private final CsMetrics metrics;
+    private final BlockingQueue<AnswerNotification> queue;
+    private final int maxBatch;
+    private final long lingerMillis;
+    private final long retryMillis;
+    private final int maxAttempts;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public AnswerNotificationOutbox(NotificationSink sink, CsMetrics metrics,
+                                    @Value("${notification.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${notification.max-batch:500}") int maxBatch,
+                                    @Value("${notification.linger-ms:1000}") long lingerMillis,
+                                    @Value("${notification.retry-ms:5000}") long retryMillis,
+                                    @Value("${notification.max-attempts:3}") int maxAttempts) {
+        this.sink = sink;
+        this.metrics = metrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.lingerMillis = lingerMillis;
+        this.retryMillis = retryMillis;
+        this.maxAttempts = maxAttempts;
+        this.dispatcher = new Thread(this::dispatchLoop, "answer-notifier");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // 답변을 저장한 뒤 부른다. 고객이 없는 문의는 알릴 곳이 없으므로 넘어간다.
+    public void answered(Inquiry inquiry, boolean firstAnswer) {
+        if (inquiry.getCustomer() == null || inquiry.getAnswer() == null) {
+            return;
+        }
+        if (!queue.offer(AnswerNotification.of(inquiry, firstAnswer))) {
+            metrics.notificationDropped("queue_full");
+            log.warn("Answer notification queue is full; dropping notification for inquiry {}", inquiry.getInquiryId());
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    // 남은 알림은 한 번만 보내 보고 끝낸다.
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void dispatchLoop() {
+        List<AnswerNotification> batch = new ArrayList<>(maxBatch);
+        try {
+            while (running) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatch) {
+                    AnswerNotification next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+                deliver(batch, maxAttempts);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // 종료 요청
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            try {
+                deliver(batch, 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deliver(List<AnswerNotification> batch, int attempts) throws InterruptedException {
+        List<AnswerDigest> digests = coalesce(batch);
+        int notifications = batch.size();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.send(digests);
+                metrics.notificationsSent(digests.size(), notifications);
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (e instanceof PartialDeliveryException partial) {
+                    List<AnswerDigest> undelivered = partial.undelivered();
+                    int remaining = notificationCount(undelivered);
+                    metrics.notificationsSent(digests.size() - undelivered.size(), notifications - remaining);
+                    digests = undelivered;
+                    notifications = remaining;
+                }
+                if (attempt >= attempts) {
+                    metrics.notificationDropped("delivery_failed");
+                    log.warn("Dropping {} answer notifications after {} attempts", notifications, attempt, e);
+                    return;
+                }
+                log.info("Answer notification delivery failed (attempt {}); retrying in {}ms", attempt, retryMillis, e);
+                Thread.sleep(retryMillis);
+            }
+        }
+    }
+
+    private static int notificationCount(List<AnswerDigest> digests) {
+        int count = 0;
+        for (AnswerDigest digest : digests) {
+            count += digest.answers().size();
+        }
+        return count;
+    }
+
+    // 고객별로 묶고, 같은 문의에 여러 번 답변했으면 마지막 답변만 남긴다. 고객 순서는 처음 등장한 순서다.
+    private static List<AnswerDigest> coalesce(List<AnswerNotification> batch) {
+        Map<Long, Map<Long, AnswerNotification>> byCustomer = new LinkedHashMap<>();
+        for (AnswerNotification notification : batch) {
+            byCustomer.computeIfAbsent(notification.customerId(), id -> new LinkedHashMap<>())
+                    .merge(notification.inquiryId(), notification, AnswerNotification::mergedWith);
+        }
+        List<AnswerDigest> digests = new ArrayList<>(byCustomer.size());
+        byCustomer.forEach((customerId, answers) -> {
+            List<AnswerNotification> list = new ArrayList<>(answers.values());
+            AnswerNotification latest = list.get(list.size() - 1);
+            digests.add(new AnswerDigest(customerId, latest.loginId(), latest.customerName(), list));
+        });
+        return digests;
+    }
+}
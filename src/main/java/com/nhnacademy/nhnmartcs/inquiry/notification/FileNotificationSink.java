@@ -0,0 +1,44 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 고객별 알림 묶음을 한 줄에 하나씩 JSON으로 파일 끝에 덧붙인다. 발송 한 번이 파일 쓰기 한 번이다.
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "file", matchIfMissing = true)
+public class FileNotificationSink implements NotificationSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileNotificationSink(@Value("${notification.file.path:./logs/notifications.jsonl}") String file,
+                                ObjectMapper objectMapper) {
+        this.file = Paths.get(file);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(List<AnswerDigest> digests) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AnswerDigest digest : digests) {
+                writer.write(objectMapper.writeValueAsString(digest));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import java.io.IOException;
+import java.util.List;
+
+// 답변 알림을 실제로 내보내는 곳. notification.sink 값(file, webhook, smtp)으로 하나를 고른다.
+// 발송 스레드 하나에서만 불리며, 예외를 던지면 묶음 전체를 잠시 뒤 다시 보낸다.
+// 일부만 보냈으면 PartialDeliveryException으로 못 보낸 묶음만 알려, 받은 사람에게 같은 알림이 다시 가지 않게 한다.
+public interface NotificationSink {
+
+    void send(List<AnswerDigest> digests) throws IOException;
+}
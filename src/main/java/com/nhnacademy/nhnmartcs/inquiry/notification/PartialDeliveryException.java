@@ -0,0 +1,19 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import java.io.IOException;
+import java.util.List;
+
+// 묶음 일부만 보냈을 때 싱크가 던진다. 다시 보낼 것은 undelivered뿐이고, 나머지는 이미 받는 쪽에 넘어갔다.
+public class PartialDeliveryException extends IOException {
+
+    private final transient List<AnswerDigest> undelivered;
+
+    public PartialDeliveryException(String message, List<AnswerDigest> undelivered, Throwable cause) {
+        super(message, cause);
+        this.undelivered = List.copyOf(undelivered);
+    }
+
+    public List<AnswerDigest> undelivered() {
+        return undelivered;
+    }
+}
@@ -0,0 +1,178 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// 로컬 SMTP 서버(개발용 메일 수신기 등)로 고객별 알림 묶음을 메일 한 통씩 보낸다.
+// 발송 한 번에 연결 하나를 열어 모든 메일을 보내고 닫는다. 인증과 TLS는 쓰지 않는다.
+// 메일은 한 통씩 따로 전달되므로, '.' 뒤에 250을 받은 메일만 보낸 것으로 친다. 서버가 거절한 메일은 RSET 뒤
+// 다음 메일로 넘어가고, 거절되었거나 연결이 끊겨 못 보낸 메일만 PartialDeliveryException으로 돌려준다.
+// 고객 메일 주소가 없으므로 수신자는 loginId@recipient-domain이다.
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "smtp")
+public class SmtpNotificationSink implements NotificationSink {
+
+    private static final String CRLF = "\r\n";
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final String from;
+    private final String recipientDomain;
+
+    public SmtpNotificationSink(@Value("${notification.smtp.host:localhost}") String host,
+                                @Value("${notification.smtp.port:1025}") int port,
+                                @Value("${notification.smtp.timeout-ms:3000}") int timeoutMillis,
+                                @Value("${notification.smtp.from:cs@nhnmart.local}") String from,
+                                @Value("${notification.smtp.recipient-domain:nhnmart.local}") String recipientDomain) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.from = from;
+        this.recipientDomain = recipientDomain;
+    }
+
+    @Override
+    public void send(List<AnswerDigest> digests) throws IOException {
+        List<AnswerDigest> rejected = new ArrayList<>();
+        IOException firstRejection = null;
+        int next = 0;
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            expect(in, 220);
+            command(in, out, "EHLO localhost", 250);
+            while (next < digests.size()) {
+                AnswerDigest digest = digests.get(next);
+                try {
+                    sendMail(in, out, digest);
+                    next++;
+                } catch (RejectedException e) {
+                    rejected.add(digest);
+                    next++;
+                    if (firstRejection == null) {
+                        firstRejection = e;
+                    }
+                    command(in, out, "RSET", 250);
+                }
+            }
+            command(in, out, "QUIT", 221);
+        } catch (IOException e) {
+            if (next == 0) {
+                throw e;
+            }
+            // 모든 메일의 결과를 받은 뒤(QUIT 등)에 실패했으면 거절된 메일만 다시 보내면 된다.
+            List<AnswerDigest> undelivered = new ArrayList<>(rejected);
+            undelivered.addAll(digests.subList(next, digests.size()));
+            if (undelivered.isEmpty()) {
+                return;
+            }
+            throw new PartialDeliveryException("SMTP delivery stopped after " + (next - rejected.size()) + " accepted mails",
+                    undelivered, e);
+        }
+        if (!rejected.isEmpty()) {
+            throw new PartialDeliveryException("SMTP server rejected " + rejected.size() + " of " + digests.size() + " mails",
+                    rejected, firstRejection);
+        }
+    }
+
+    private void sendMail(BufferedReader in, BufferedWriter out, AnswerDigest digest) throws IOException {
+        String recipient = digest.loginId() + "@" + recipientDomain;
+        command(in, out, "MAIL FROM:<" + from + ">", 250);
+        command(in, out, "RCPT TO:<" + recipient + ">", 250);
+        command(in, out, "DATA", 354);
+        out.write(message(digest, recipient));
+        command(in, out, ".", 250);
+    }
+
+    private String message(AnswerDigest digest, String recipient) {
+        StringBuilder message = new StringBuilder()
+                .append("From: <").append(from).append('>').append(CRLF)
+                .append("To: <").append(recipient).append('>').append(CRLF)
+                .append("Subject: ").append(encodeHeader(subject(digest))).append(CRLF)
+                .append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now())).append(CRLF)
+                .append("MIME-Version: 1.0").append(CRLF)
+                .append("Content-Type: text/plain; charset=UTF-8").append(CRLF)
+                .append("Content-Transfer-Encoding: 8bit").append(CRLF)
+                .append(CRLF);
+        message.append(digest.customerName()).append("님, 문의하신 내용에 답변이 등록되었습니다.").append(CRLF);
+        for (AnswerNotification answer : digest.answers()) {
+            message.append(CRLF)
+                    .append("[").append(answer.title()).append("]").append(CRLF)
+                    .append(answer.answer()).append(CRLF);
+        }
+        return dotStuff(message.toString());
+    }
+
+    private static String subject(AnswerDigest digest) {
+        if (digest.answers().size() == 1) {
+            return "[NHN마트 고객센터] '" + digest.answers().get(0).title() + "' 문의에 답변이 등록되었습니다";
+        }
+        return "[NHN마트 고객센터] 문의 " + digest.answers().size() + "건에 답변이 등록되었습니다";
+    }
+
+    // 비ASCII 제목은 RFC 2047 encoded-word로 보낸다.
+    private static String encodeHeader(String value) {
+        return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+    }
+
+    // 본문의 줄바꿈을 CRLF로 맞추고, '.'으로 시작하는 줄은 '.'을 하나 더 붙여 DATA 종료로 읽히지 않게 한다.
+    private static String dotStuff(String body) {
+        StringBuilder stuffed = new StringBuilder(body.length() + 16);
+        for (String line : body.split("\r?\n", -1)) {
+            if (line.startsWith(".")) {
+                stuffed.append('.');
+            }
+            stuffed.append(line).append(CRLF);
+        }
+        // split이 남긴 마지막 빈 줄의 CRLF는 떼어 낸다.
+        stuffed.setLength(stuffed.length() - CRLF.length());
+        return stuffed.toString();
+    }
+
+    private static void command(BufferedReader in, BufferedWriter out, String line, int expected) throws IOException {
+        out.write(line);
+        out.write(CRLF);
+        out.flush();
+        expect(in, expected);
+    }
+
+    // 여러 줄 응답("250-...")은 마지막 줄("250 ...")까지 읽는다.
+    private static void expect(BufferedReader in, int expected) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("SMTP server closed the connection");
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        if (line.length() < 3 || !line.startsWith(String.valueOf(expected))) {
+            throw new RejectedException("Unexpected SMTP reply (expected " + expected + "): " + line);
+        }
+    }
+
+    // 서버가 응답은 했지만 거절한 경우. 연결은 아직 쓸 수 있어 RSET 뒤 다음 메일을 보낸다.
+    private static class RejectedException extends IOException {
+        RejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.nhnacademy.nhnmartcs.inquiry.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// 발송 한 번에 고객별 알림 묶음 배열을 JSON으로 한 번 POST한다. 2xx가 아니면 실패로 보고 다시 보낸다.
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "webhook")
+public class WebhookNotificationSink implements NotificationSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+
+    public WebhookNotificationSink(@Value("${notification.webhook.url:http://localhost:8090/notifications}") String url,
+                                   @Value("${notification.webhook.timeout-ms:3000}") long timeoutMillis,
+                                   ObjectMapper objectMapper) {
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public void send(List<AnswerDigest> digests) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(digests)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Webhook delivery interrupted");
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url + " responded " + response.statusCode());
+        }
+    }
+}
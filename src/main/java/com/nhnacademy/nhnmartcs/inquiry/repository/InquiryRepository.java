@@ -1,17 +1,45 @@
 package com.nhnacademy.nhnmartcs.inquiry.repository;
 
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public interface InquiryRepository {
 
     Inquiry save(Inquiry inquiry);
+    List<Inquiry> saveAll(List<Inquiry> inquiries);
+    // 답변을 단 새 상태로 바꿔 넣고, 그 전에 답변이 없었는지를 함께 돌려준다. 없는 문의면 비어 있다.
+    // 첫 답변 여부를 저장과 같은 잠금 안에서 정하므로, 동시에 답변해도 첫 답변은 한 번만 나온다.
+    Optional<AnsweredInquiry> addAnswer(Long inquiryId, Answer answer);
+    // 없는 문의는 건너뛰고 주어진 id 순서대로 돌려준다.
+    List<AnsweredInquiry> addAnswers(Collection<Long> inquiryIds, Supplier<Answer> answers);
     Optional<Inquiry> findById(Long inquiryId);
+    List<Inquiry> findAll();
     List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer);
+    List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer, InquiryCursor after, int limit);
     List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category);
+    List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category, InquiryCursor after, int limit);
     List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc();
+    List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor after, int limit);
+    long countUnansweredInquiries();
+    InquiryCounts countByCustomer(Customer customer);
+    InquiryCounts countByCustomerAndCategory(Customer customer, InquiryCategory category);
+    // 새 답변 수를 0으로 되돌리고, 되돌리기 직전의 고객 건수를 돌려준다.
+    InquiryCounts clearNewAnswers(Customer customer);
+    long count();
+    List<Inquiry> search(InquirySearchCondition condition, int limit);
+    // 저장된 문의 중 이 블롭(저장 파일명)을 첨부한 것이 있는지. 알 수 없으면(저널 워밍업 중) 참이다.
+    boolean referencesAttachment(String savedFilename);
+    // 이 고객의 문의 중 이 파일을 첨부한 것이 있는지. 저널 워밍업 중에는 아직 올리지 않은 문의를 보지 못한다.
+    boolean referencesAttachment(Long customerId, String savedFilename);
 }
@@ -0,0 +1,52 @@
+package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 새 문의 id를 블록 단위로 나눠 준다. 조각은 블록 하나를 받아 자기 쓰기 잠금 안에서 하나씩 쓰므로,
+// 공용 카운터는 BLOCK_SIZE건에 한 번만 건드린다. 그래서 id는 전체로는 유일하지만 조각 사이에서는 등록 순서와 다를 수 있다.
+// 여러 노드가 문의를 받을 때는 블록을 노드 수로 돌아가며 나눠(블록 번호 % nodeCount == node) 노드 사이에서도 id가 겹치지 않는다.
+final class InquiryIdBlocks {
+
+    static final int BLOCK_SIZE = 64;
+
+    private final int node;
+    private final int nodeCount;
+    // 이 노드가 다음에 받을 차례. 실제 블록 번호는 turn * nodeCount + node
+    private final AtomicLong nextTurn = new AtomicLong(0L);
+    // 복구 등으로 밖에서 정해져 들어온, 이 노드 몫 블록의 가장 큰 id. 이보다 작거나 같은 id가 남은 블록은 버린다.
+    private final AtomicLong highestObserved = new AtomicLong(0L);
+
+    InquiryIdBlocks() {
+        this(0, 1);
+    }
+
+    InquiryIdBlocks(int node, int nodeCount) {
+        if (nodeCount < 1 || node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("node " + node + " is out of range for " + nodeCount + " nodes");
+        }
+        this.node = node;
+        this.nodeCount = nodeCount;
+    }
+
+    long reserve() {
+        long block = nextTurn.getAndIncrement() * nodeCount + node;
+        return 1 + block * BLOCK_SIZE;
+    }
+
+    // 다른 노드 몫의 블록에 든 id(복제되어 온 문의)는 이 노드의 할당과 겹칠 수 없으므로 무시한다.
+    void observe(long id) {
+        if (id <= 0) {
+            return;
+        }
+        long block = (id - 1) / BLOCK_SIZE;
+        if (block % nodeCount != node) {
+            return;
+        }
+        highestObserved.accumulateAndGet(id, Math::max);
+        nextTurn.accumulateAndGet(block / nodeCount + 1, Math::max);
+    }
+
+    long highestObserved() {
+        return highestObserved.get();
+    }
+}
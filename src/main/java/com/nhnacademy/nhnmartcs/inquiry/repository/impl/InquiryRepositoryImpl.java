@@ -1,60 +1,405 @@
 package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
 
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryChange;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
 import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+// 문의를 고객 userId로 나눈 조각(InquiryShard)들에 저장한다.
+// 조각마다 인덱스와 쓰기 잠금이 따로라 서로 다른 고객의 등록/답변은 병렬로 진행되고, 고객별 조회는 한 조각만 읽는다.
+// 미답변 큐처럼 전체를 보는 조회는 각 조각의 앞부분을 합치고, 무거운 본문 검색은 조각을 병렬로 훑는다.
 @Repository
 public class InquiryRepositoryImpl implements InquiryRepository {
 
-    private static final Map<Long, Inquiry> store = new HashMap<>();
-    private static final AtomicLong sequence = new AtomicLong(0L);
+    private final InquiryShard[] shards;
+    private final InquiryIdBlocks idBlocks;
+    // inquiryId -> 그 문의를 가진 조각. 조각이 저장 잠금 안에서 저장보다 먼저 등록한다.
+    private final Map<Long, InquiryShard> owners = new ConcurrentHashMap<>();
+
+    public InquiryRepositoryImpl() {
+        this(0);
+    }
+
+    public InquiryRepositoryImpl(int shardCount) {
+        this(shardCount, 0, 1);
+    }
+
+    // 0 이하이면 코어 수만큼 나눈다. 여러 노드로 복제할 때는 노드 번호로 id 블록을 나눠 노드끼리 id가 겹치지 않게 한다.
+    @Autowired
+    public InquiryRepositoryImpl(@Value("${inquiry.store.shards:0}") int shardCount,
+                                 @Value("${replication.node-id:0}") int nodeId,
+                                 @Value("${replication.node-count:1}") int nodeCount) {
+        this.idBlocks = new InquiryIdBlocks(nodeId, nodeCount);
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new InquiryShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new InquiryShard(idBlocks, owners);
+        }
+    }
 
     @Override
     public Inquiry save(Inquiry inquiry) {
-        if (inquiry.getInquiryId() == null) {
-            inquiry.setInquiryId(sequence.incrementAndGet());
-        }
-        store.put(inquiry.getInquiryId(), inquiry);
+        InquiryShard shard = shardOf(inquiry);
+        observeIfNew(inquiry);
+        evictMoved(inquiry.getInquiryId(), shard.save(inquiry));
         return inquiry;
     }
 
+    // 일괄 답변용: 조각별로 묶어 조각마다 잠금을 한 번만 잡고 저장과 색인 갱신을 몰아서 한다.
+    @Override
+    public List<Inquiry> saveAll(List<Inquiry> inquiries) {
+        Map<InquiryShard, List<Inquiry>> byShard = new IdentityHashMap<>();
+        for (Inquiry inquiry : inquiries) {
+            observeIfNew(inquiry);
+            byShard.computeIfAbsent(shardOf(inquiry), shard -> new ArrayList<>()).add(inquiry);
+        }
+        byShard.forEach((shard, batch) -> shard.saveAll(batch).forEach(this::evictMoved));
+        return inquiries;
+    }
+
+    @Override
+    public Optional<AnsweredInquiry> addAnswer(Long inquiryId, Answer answer) {
+        InquiryShard owner = owners.get(inquiryId);
+        return owner == null ? Optional.empty() : Optional.ofNullable(owner.answer(inquiryId, answer));
+    }
+
+    // 조각별로 묶어 조각마다 잠금을 한 번만 잡는다.
+    @Override
+    public List<AnsweredInquiry> addAnswers(Collection<Long> inquiryIds, Supplier<Answer> answers) {
+        Map<Long, AnsweredInquiry> answered = new HashMap<>();
+        byOwner(inquiryIds).forEach((shard, ids) -> shard.answerAll(ids, answers)
+                .forEach(result -> answered.put(result.inquiry().getInquiryId(), result)));
+        return inRequestOrder(inquiryIds, answered);
+    }
+
+    // 저널용(write-ahead): 조각 잠금 안에서 로그에 넣기만 하고, 커밋을 확인한 뒤 apply로 반영한다.
+    InquiryShard.Staged stage(Inquiry inquiry, InquiryShard.WriteAhead log) {
+        observeIfNew(inquiry);
+        return shardOf(inquiry).stage(inquiry, log);
+    }
+
+    List<InquiryShard.Staged> stageAll(List<Inquiry> inquiries, InquiryShard.WriteAhead log) {
+        Map<InquiryShard, List<Inquiry>> byShard = new IdentityHashMap<>();
+        for (Inquiry inquiry : inquiries) {
+            observeIfNew(inquiry);
+            byShard.computeIfAbsent(shardOf(inquiry), shard -> new ArrayList<>()).add(inquiry);
+        }
+        List<InquiryShard.Staged> staged = new ArrayList<>(inquiries.size());
+        byShard.forEach((shard, batch) -> staged.addAll(shard.stageAll(batch, log)));
+        return staged;
+    }
+
+    InquiryShard.StagedAnswer stageAnswer(Long inquiryId, Answer answer, InquiryShard.WriteAhead log) {
+        InquiryShard owner = owners.get(inquiryId);
+        return owner == null ? null : owner.stageAnswer(inquiryId, answer, log);
+    }
+
+    List<InquiryShard.StagedAnswer> stageAnswers(Collection<Long> inquiryIds, Supplier<Answer> answers,
+                                                 InquiryShard.WriteAhead log) {
+        Map<Long, InquiryShard.StagedAnswer> staged = new HashMap<>();
+        byOwner(inquiryIds).forEach((shard, ids) -> shard.stageAnswers(ids, answers, log)
+                .forEach(result -> staged.put(result.staged().inquiry().getInquiryId(), result)));
+        return inRequestOrder(inquiryIds, staged);
+    }
+
+    InquiryShard.StagedChange stageIfNewer(Inquiry incoming, InquiryShard.WriteAhead log) {
+        observeIfNew(incoming);
+        return shardOf(incoming).stageIfNewer(incoming, log);
+    }
+
+    void apply(InquiryShard.Staged staged) {
+        evictMoved(staged.inquiry().getInquiryId(), staged.shard().apply(staged));
+    }
+
+    void applyAll(List<InquiryShard.Staged> staged) {
+        Map<InquiryShard, List<InquiryShard.Staged>> byShard = new IdentityHashMap<>();
+        for (InquiryShard.Staged each : staged) {
+            byShard.computeIfAbsent(each.shard(), shard -> new ArrayList<>()).add(each);
+        }
+        byShard.forEach((shard, batch) -> shard.applyAll(batch).forEach(this::evictMoved));
+    }
+
+    void discard(InquiryShard.Staged staged) {
+        staged.shard().discard(staged);
+    }
+
+    // 복제용: 조각 잠금 안에서 답변 순서를 비교해, 새 상태일 때만 저장한다. 버렸으면 비어 있다.
+    public Optional<InquiryChange> saveIfNewer(Inquiry incoming) {
+        observeIfNew(incoming);
+        InquiryShard shard = shardOf(incoming);
+        InquiryShard before = owners.get(incoming.getInquiryId());
+        InquiryChange change = shard.saveIfNewer(incoming);
+        if (change != null && before != shard) {
+            evictMoved(incoming.getInquiryId(), before);
+        }
+        return Optional.ofNullable(change);
+    }
+
+    // 복구용: 이미 더 최신 상태가 있으면 덮어쓰지 않고 저장된 객체를 돌려준다.
+    public Inquiry saveIfAbsent(Inquiry inquiry) {
+        InquiryShard owner = owners.get(inquiry.getInquiryId());
+        if (owner != null) {
+            Inquiry existing = owner.get(inquiry.getInquiryId());
+            if (existing != null) {
+                return existing;
+            }
+        }
+        idBlocks.observe(inquiry.getInquiryId());
+        return shardOf(inquiry).saveIfAbsent(inquiry);
+    }
+
+    public void advanceSequence(long minimum) {
+        idBlocks.observe(minimum);
+    }
+
     @Override
     public Optional<Inquiry> findById(Long inquiryId) {
-        return Optional.ofNullable(store.get(inquiryId));
+        InquiryShard owner = owners.get(inquiryId);
+        return owner == null ? Optional.empty() : Optional.ofNullable(owner.get(inquiryId));
+    }
+
+    @Override
+    public List<Inquiry> findAll() {
+        List<Inquiry> result = new ArrayList<>(owners.size());
+        for (InquiryShard shard : shards) {
+            result.addAll(shard.values());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean referencesAttachment(String savedFilename) {
+        for (InquiryShard shard : shards) {
+            if (shard.referencesAttachment(savedFilename)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 고객의 문의는 모두 그 고객의 조각에 있다.
+    @Override
+    public boolean referencesAttachment(Long customerId, String savedFilename) {
+        return shardOf(customerId).referencesAttachment(customerId, savedFilename);
+    }
+
+    // 저널 스냅샷용. 조각마다 쓰기 잠금 안에서 바뀌지 않는 복사본을 만든다. 커밋됐지만 아직 반영되지 않은 상태도 담는다.
+    public <T> List<T> copyAll(Function<Inquiry, T> copier) {
+        List<T> result = new ArrayList<>(owners.size());
+        for (InquiryShard shard : shards) {
+            result.addAll(shard.copyAll(copier));
+        }
+        return result;
     }
 
     @Override
     public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer) {
-        return store.values().stream()
-                .filter(inquiry -> inquiry.getCustomer().getUserId().equals(customer.getUserId()))
-                .sorted(Comparator.comparing(Inquiry::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+        return shardOf(customer.getUserId()).findByCustomer(customer.getUserId());
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer, InquiryCursor after, int limit) {
+        return shardOf(customer.getUserId()).findByCustomer(customer.getUserId(), after, limit);
     }
 
     @Override
     public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category) {
-        return store.values().stream()
-                .filter(inquiry -> inquiry.getCustomer().getUserId().equals(customer.getUserId()) && inquiry.getCategory() == category)
-                .sorted(Comparator.comparing(Inquiry::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+        return shardOf(customer.getUserId()).findByCustomerAndCategory(customer.getUserId(), category);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category,
+                                                                       InquiryCursor after, int limit) {
+        return shardOf(customer.getUserId()).findByCustomerAndCategory(customer.getUserId(), category, after, limit);
     }
 
     @Override
     public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc() {
-        return store.values().stream()
-                .filter(inquiry -> inquiry.getAnswer() == null)
-                .sorted(Comparator.comparing(Inquiry::getCreatedAt))
-                .collect(Collectors.toList());
+        List<List<Inquiry>> queues = new ArrayList<>(shards.length);
+        for (InquiryShard shard : shards) {
+            queues.add(shard.findUnanswered());
+        }
+        return merge(queues, Integer.MAX_VALUE);
+    }
+
+    // 조각마다 커서 다음 limit건을 읽어 오래된순으로 합친 뒤 앞의 limit건만 남긴다.
+    @Override
+    public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor after, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<List<Inquiry>> queues = new ArrayList<>(shards.length);
+        for (InquiryShard shard : shards) {
+            queues.add(shard.findUnanswered(after, limit));
+        }
+        return merge(queues, limit);
+    }
+
+    @Override
+    public long countUnansweredInquiries() {
+        long count = 0;
+        for (InquiryShard shard : shards) {
+            count += shard.countUnanswered();
+        }
+        return count;
+    }
+
+    @Override
+    public InquiryCounts countByCustomer(Customer customer) {
+        return shardOf(customer.getUserId()).countByCustomer(customer.getUserId());
+    }
+
+    @Override
+    public InquiryCounts countByCustomerAndCategory(Customer customer, InquiryCategory category) {
+        return shardOf(customer.getUserId()).countByCustomerAndCategory(customer.getUserId(), category);
+    }
+
+    @Override
+    public InquiryCounts clearNewAnswers(Customer customer) {
+        return shardOf(customer.getUserId()).clearNewAnswers(customer.getUserId());
+    }
+
+    @Override
+    public long count() {
+        return owners.size();
+    }
+
+    // idf는 모든 조각의 문서 수로 계산해 어느 조각의 점수든 같은 기준으로 비교한다.
+    // 고객 본인 검색은 그 고객의 조각만, 관리자 검색은 모든 조각을 병렬로 훑어 상위 limit건을 합친다.
+    @Override
+    public List<Inquiry> search(InquirySearchCondition condition, int limit) {
+        String[] terms = InquiryTextIndex.terms(condition.keyword());
+        if (terms.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        long documentCount = 0;
+        long[] documentFrequencies = new long[terms.length];
+        for (InquiryShard shard : shards) {
+            documentCount += shard.documentCount();
+            for (int i = 0; i < terms.length; i++) {
+                documentFrequencies[i] += shard.documentFrequency(terms[i]);
+            }
+        }
+        double[] idf = new double[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            if (documentFrequencies[i] == 0) {
+                return Collections.emptyList();
+            }
+            idf[i] = InquiryTextIndex.idf(documentCount, documentFrequencies[i]);
+        }
+
+        List<InquiryTextIndex.Hit> hits = condition.customerId() != null
+                ? shardOf(condition.customerId()).search(condition, terms, idf, limit)
+                : Arrays.stream(shards).parallel()
+                        .flatMap(shard -> shard.search(condition, terms, idf, limit).stream())
+                        .sorted(InquiryTextIndex.Hit.BEST_FIRST)
+                        .limit(limit)
+                        .toList();
+
+        List<Inquiry> result = new ArrayList<>(hits.size());
+        for (InquiryTextIndex.Hit hit : hits) {
+            findById(hit.inquiryId()).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    private InquiryShard shardOf(Inquiry inquiry) {
+        return shardOf(inquiry.getCustomer().getUserId());
+    }
+
+    private InquiryShard shardOf(Long customerId) {
+        return customerId == null ? shards[0] : shards[(int) Math.floorMod(customerId, (long) shards.length)];
+    }
+
+    // 복구나 테스트처럼 id를 정해서 처음 넣는 경우, 그 id를 블록 할당에서 건너뛰게 한다.
+    private void observeIfNew(Inquiry inquiry) {
+        Long inquiryId = inquiry.getInquiryId();
+        if (inquiryId != null && !owners.containsKey(inquiryId)) {
+            idBlocks.observe(inquiryId);
+        }
+    }
+
+    // 없는 id는 빠진다.
+    private Map<InquiryShard, List<Long>> byOwner(Collection<Long> inquiryIds) {
+        Map<InquiryShard, List<Long>> byShard = new IdentityHashMap<>();
+        for (Long inquiryId : inquiryIds) {
+            InquiryShard owner = owners.get(inquiryId);
+            if (owner != null) {
+                byShard.computeIfAbsent(owner, shard -> new ArrayList<>()).add(inquiryId);
+            }
+        }
+        return byShard;
+    }
+
+    private static <T> List<T> inRequestOrder(Collection<Long> inquiryIds, Map<Long, T> results) {
+        List<T> ordered = new ArrayList<>(results.size());
+        for (Long inquiryId : inquiryIds) {
+            T result = results.remove(inquiryId);
+            if (result != null) {
+                ordered.add(result);
+            }
+        }
+        return ordered;
+    }
+
+    // 고객이 바뀌어 다른 조각으로 간 문의는 이전 조각에서 지운다. 소유 조각은 이미 새 조각으로 바뀌어 있다.
+    private void evictMoved(Long inquiryId, InquiryShard previous) {
+        if (previous != null) {
+            previous.remove(inquiryId);
+        }
+    }
+
+    // 각각 오래된순으로 정렬된 조각 결과를 합친다.
+    private static List<Inquiry> merge(List<List<Inquiry>> queues, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(queues.size(), Head.ORDER);
+        int total = 0;
+        for (List<Inquiry> queue : queues) {
+            total += queue.size();
+            if (!queue.isEmpty()) {
+                heads.add(new Head(queue, 0));
+            }
+        }
+        List<Inquiry> result = new ArrayList<>(Math.min(limit, total));
+        while (result.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            result.add(head.current());
+            if (head.position() + 1 < head.queue().size()) {
+                heads.add(new Head(head.queue(), head.position() + 1));
+            }
+        }
+        return result;
+    }
+
+    private record Head(List<Inquiry> queue, int position) {
+
+        static final Comparator<Head> ORDER = Comparator.comparing(Head::current, InquiryShard.OLDEST_FIRST);
+
+        Inquiry current() {
+            return queue.get(position);
+        }
     }
 }
@@ -0,0 +1,678 @@
+package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryChange;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 고객 userId로 나눈 문의 저장소의 한 조각. 자기 고객의 문의와 그 인덱스(타임라인, 미답변 큐, 본문 역색인)를 따로 들고,
+// 쓰기 잠금도 조각마다 따로라 다른 조각의 고객은 서로 기다리지 않는다.
+final class InquiryShard {
+
+    // 미답변 큐 순서(createdAt 오름차순, 같은 시각이면 inquiryId 오름차순). 조각 결과를 합칠 때도 쓴다.
+    static final Comparator<Inquiry> OLDEST_FIRST = Comparator
+            .comparing(Inquiry::getCreatedAt)
+            .thenComparing(Inquiry::getInquiryId);
+
+    // 쓰기 경로(저장 + 인덱스 갱신)를 직렬화한다. JDK 21의 가상 스레드는 synchronized 안에서 캐리어를 고정하므로 Lock을 쓴다.
+    private final Lock writeLock = new ReentrantLock();
+    private final InquiryIdBlocks idBlocks;
+    // inquiryId -> 그 문의를 가진 조각. 모든 조각이 함께 쓰며, 저장이 보이기 전에 이 조각을 먼저 등록한다.
+    private final Map<Long, InquiryShard> owners;
+    // 지금 쓰고 있는 id 블록 [nextId, blockEnd). writeLock 안에서만 읽고 쓴다.
+    private long nextId;
+    private long blockEnd;
+
+    private final Map<Long, Inquiry> store = new ConcurrentHashMap<>();
+    // 인덱스 갱신 시 이전 값을 지우기 위해 마지막으로 색인된 상태를 기억한다.
+    private final Map<Long, IndexEntry> indexed = new ConcurrentHashMap<>();
+    // 고객별 타임라인은 (createdAt, inquiryId) 최신순으로 유지되어 조회 시 정렬하지 않는다.
+    private final Map<Long, ConcurrentNavigableMap<TimelineKey, Inquiry>> byCustomer = new ConcurrentHashMap<>();
+    private final Map<CustomerCategoryKey, ConcurrentNavigableMap<TimelineKey, Inquiry>> byCustomerAndCategory = new ConcurrentHashMap<>();
+    // 미답변 큐는 오래된순으로 유지되어 관리자 대시보드가 앞에서부터 k건만 읽는다.
+    private final ConcurrentNavigableMap<TimelineKey, Inquiry> unanswered = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    private final AtomicLong unansweredCount = new AtomicLong(0L);
+    private final Set<Long> answered = ConcurrentHashMap.newKeySet();
+    // 고객별, 고객·분류별 건수. 값은 바꾸지 않는 InquiryCounts라 writeLock 안에서 통째로 바꿔 끼우고,
+    // 읽는 쪽은 잠금 없이 인덱스와 같은 시점의 건수를 본다.
+    private final Map<Long, InquiryCounts> countsByCustomer = new ConcurrentHashMap<>();
+    private final Map<CustomerCategoryKey, InquiryCounts> countsByCustomerAndCategory = new ConcurrentHashMap<>();
+    // 제목/내용/답변 본문 검색용 역색인
+    private final InquiryTextIndex textIndex = new InquiryTextIndex();
+    // 저장 파일명 -> 이 조각에 저장된 문의 중 그 파일을 첨부한 FileInfo 수.
+    // 저장된 메타데이터에서 세므로 저널 복구나 복제로 들어온 문의도 그대로 세어진다.
+    private final Map<String, Integer> attachmentReferences = new ConcurrentHashMap<>();
+    // (고객, 저장 파일명) -> 그 고객의 문의 중 그 파일을 첨부한 FileInfo 수. 첨부파일 내려받기 권한 확인에 쓴다.
+    private final Map<CustomerAttachmentKey, Integer> customerAttachments = new ConcurrentHashMap<>();
+    // 저널을 쓸 때 커밋을 기다리는 쓰기(inquiryId -> 그 문의의 대기 중인 쓰기). writeLock 안에서만 읽고 쓴다.
+    private final Map<Long, InFlight> inFlight = new HashMap<>();
+    // 대기 중인 쓰기의 순번. writeLock 안에서 로그에 넣으면서 매기므로 이 조각의 로그 순서와 같다.
+    private long stageSequence;
+
+    InquiryShard(InquiryIdBlocks idBlocks, Map<Long, InquiryShard> owners) {
+        this.idBlocks = idBlocks;
+        this.owners = owners;
+    }
+
+    // 고객이 바뀌어 다른 조각에서 옮겨 왔으면 이전 조각을 돌려준다. 이전 조각 정리는 이 조각의 잠금 밖에서 한다.
+    InquiryShard save(Inquiry inquiry) {
+        writeLock.lock();
+        try {
+            return put(inquiry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // inquiryId -> 옮겨 오기 전 조각
+    Map<Long, InquiryShard> saveAll(List<Inquiry> inquiries) {
+        Map<Long, InquiryShard> moved = new HashMap<>();
+        writeLock.lock();
+        try {
+            for (Inquiry inquiry : inquiries) {
+                InquiryShard previous = put(inquiry);
+                if (previous != null) {
+                    moved.put(inquiry.getInquiryId(), previous);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return moved;
+    }
+
+    // 저널용(write-ahead): 새 상태를 로그에 넣기만 하고 아직 반영하지 않는다. 커밋되면 apply, 실패하면 discard를 부른다.
+    // 기록을 이 조각의 잠금 안에서 넣으므로, 전역 잠금 없이도 같은 문의의 로그 순서가 순번 순서와 같다.
+    Staged stage(Inquiry inquiry, WriteAhead log) {
+        writeLock.lock();
+        try {
+            return stageLocked(inquiry, log);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<Staged> stageAll(List<Inquiry> inquiries, WriteAhead log) {
+        List<Staged> staged = new ArrayList<>(inquiries.size());
+        writeLock.lock();
+        try {
+            for (Inquiry inquiry : inquiries) {
+                staged.add(stageLocked(inquiry, log));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return staged;
+    }
+
+    // 커밋된 쓰기를 반영한다. 같은 문의의 더 나중 쓰기가 먼저 반영됐으면 그대로 둔다.
+    // 고객이 바뀌어 다른 조각에서 옮겨 왔으면 이전 조각을 돌려준다.
+    InquiryShard apply(Staged staged) {
+        writeLock.lock();
+        try {
+            return applyLocked(staged);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // inquiryId -> 옮겨 오기 전 조각
+    Map<Long, InquiryShard> applyAll(List<Staged> staged) {
+        Map<Long, InquiryShard> moved = new HashMap<>();
+        writeLock.lock();
+        try {
+            for (Staged each : staged) {
+                InquiryShard previous = applyLocked(each);
+                if (previous != null) {
+                    moved.put(each.inquiry().getInquiryId(), previous);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return moved;
+    }
+
+    // 커밋되지 않은 쓰기를 버린다. 메모리에는 반영된 적이 없으므로 지울 것은 대기 목록뿐이다.
+    void discard(Staged staged) {
+        writeLock.lock();
+        try {
+            settle(staged);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 답변을 단 복사본을 잠금 안에서 만들어 바꿔 넣는다. 이전 답변 유무를 같은 잠금 안에서 보므로
+    // 동시에 답변해도 첫 답변은 한 번만 나온다. 이 조각에 없는 문의면 null을 돌려준다.
+    AnsweredInquiry answer(Long inquiryId, Answer answer) {
+        writeLock.lock();
+        try {
+            return answerLocked(inquiryId, answer);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<AnsweredInquiry> answerAll(List<Long> inquiryIds, Supplier<Answer> answers) {
+        List<AnsweredInquiry> answered = new ArrayList<>(inquiryIds.size());
+        writeLock.lock();
+        try {
+            for (Long inquiryId : inquiryIds) {
+                AnsweredInquiry result = answerLocked(inquiryId, answers.get());
+                if (result != null) {
+                    answered.add(result);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return answered;
+    }
+
+    // 저널용: 커밋을 기다리는 쓰기까지 포함한 최신 상태에 답변을 달아 로그에 넣는다. 커밋되면 apply, 실패하면 discard를 부른다.
+    StagedAnswer stageAnswer(Long inquiryId, Answer answer, WriteAhead log) {
+        writeLock.lock();
+        try {
+            return stageAnswerLocked(inquiryId, answer, log);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<StagedAnswer> stageAnswers(List<Long> inquiryIds, Supplier<Answer> answers, WriteAhead log) {
+        List<StagedAnswer> staged = new ArrayList<>(inquiryIds.size());
+        writeLock.lock();
+        try {
+            for (Long inquiryId : inquiryIds) {
+                StagedAnswer result = stageAnswerLocked(inquiryId, answers.get(), log);
+                if (result != null) {
+                    staged.add(result);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return staged;
+    }
+
+    // 복제용: 가진 답변보다 새 답변(Answer.supersedes)이 아니면 버린다. 비교와 저장을 같은 잠금 안에서 하므로
+    // 동시에 도착한 변경이나 이 노드의 답변과 겹쳐도 오래된 쪽이 새 답변을 덮지 못한다. 버렸으면 null을 돌려준다.
+    InquiryChange saveIfNewer(Inquiry incoming) {
+        writeLock.lock();
+        try {
+            Inquiry existing = current(incoming.getInquiryId());
+            if (!replaces(incoming, existing)) {
+                return null;
+            }
+            put(incoming);
+            return new InquiryChange(existing, incoming);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 저널용: 커밋을 기다리는 쓰기까지 포함한 최신 상태와 비교해 로그에 넣는다. 커밋되면 apply, 실패하면 discard를 부른다.
+    StagedChange stageIfNewer(Inquiry incoming, WriteAhead log) {
+        writeLock.lock();
+        try {
+            Inquiry existing = latestState(incoming.getInquiryId(), current(incoming.getInquiryId()));
+            if (!replaces(incoming, existing)) {
+                return null;
+            }
+            return new StagedChange(stageLocked(incoming, log), existing);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 복구용: 이미 더 최신 상태가 있으면 덮어쓰지 않고 저장된 객체를 돌려준다.
+    Inquiry saveIfAbsent(Inquiry inquiry) {
+        writeLock.lock();
+        try {
+            Inquiry existing = store.get(inquiry.getInquiryId());
+            if (existing != null) {
+                return existing;
+            }
+            put(inquiry);
+            return inquiry;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 고객이 바뀌어 다른 조각으로 옮겨 간 문의를 이 조각에서 뺀다.
+    void remove(Long inquiryId) {
+        writeLock.lock();
+        try {
+            store.remove(inquiryId);
+            IndexEntry entry = indexed.remove(inquiryId);
+            if (entry != null) {
+                unindex(inquiryId, entry);
+                count(entry, -1, false);
+            }
+            textIndex.remove(inquiryId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    Inquiry get(Long inquiryId) {
+        return store.get(inquiryId);
+    }
+
+    boolean referencesAttachment(String savedFilename) {
+        return attachmentReferences.containsKey(savedFilename);
+    }
+
+    boolean referencesAttachment(Long customerId, String savedFilename) {
+        return customerAttachments.containsKey(new CustomerAttachmentKey(customerId, savedFilename));
+    }
+
+    Collection<Inquiry> values() {
+        return store.values();
+    }
+
+    // 쓰기 경로와 겹치지 않게 writeLock 안에서 조각 전체를 복사한다.
+    // 스냅샷은 로그에 커밋된 기록을 모두 담아야 하므로, 커밋됐지만 요청 스레드가 아직 반영하지 않은 상태도 넣는다.
+    <T> List<T> copyAll(Function<Inquiry, T> copier) {
+        writeLock.lock();
+        try {
+            List<T> copies = new ArrayList<>(store.size());
+            for (Map.Entry<Long, Inquiry> entry : store.entrySet()) {
+                copies.add(copier.apply(committedState(entry.getKey(), entry.getValue())));
+            }
+            for (Map.Entry<Long, InFlight> entry : inFlight.entrySet()) {
+                if (!store.containsKey(entry.getKey())) {
+                    Inquiry created = committedState(entry.getKey(), null);
+                    if (created != null) {
+                        copies.add(copier.apply(created));
+                    }
+                }
+            }
+            return copies;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<Inquiry> findByCustomer(Long customerId) {
+        return timeline(byCustomer.get(customerId));
+    }
+
+    List<Inquiry> findByCustomer(Long customerId, InquiryCursor after, int limit) {
+        return page(byCustomer.get(customerId), after, limit);
+    }
+
+    List<Inquiry> findByCustomerAndCategory(Long customerId, InquiryCategory category) {
+        return timeline(byCustomerAndCategory.get(new CustomerCategoryKey(customerId, category)));
+    }
+
+    List<Inquiry> findByCustomerAndCategory(Long customerId, InquiryCategory category, InquiryCursor after, int limit) {
+        return page(byCustomerAndCategory.get(new CustomerCategoryKey(customerId, category)), after, limit);
+    }
+
+    List<Inquiry> findUnanswered() {
+        return new ArrayList<>(unanswered.values());
+    }
+
+    List<Inquiry> findUnanswered(InquiryCursor after, int limit) {
+        return page(unanswered, after, limit);
+    }
+
+    long countUnanswered() {
+        return unansweredCount.get();
+    }
+
+    InquiryCounts countByCustomer(Long customerId) {
+        return countsByCustomer.getOrDefault(customerId, InquiryCounts.EMPTY);
+    }
+
+    InquiryCounts countByCustomerAndCategory(Long customerId, InquiryCategory category) {
+        return countsByCustomerAndCategory.getOrDefault(new CustomerCategoryKey(customerId, category), InquiryCounts.EMPTY);
+    }
+
+    // 되돌리기 직전의 건수를 돌려주어, 읽은 뒤 되돌리는 사이에 달린 답변을 놓치지 않는다.
+    InquiryCounts clearNewAnswers(Long customerId) {
+        writeLock.lock();
+        try {
+            InquiryCounts counts = countByCustomer(customerId);
+            countsByCustomer.computeIfPresent(customerId, (id, current) -> current.withoutNewAnswers());
+            for (InquiryCategory category : InquiryCategory.values()) {
+                countsByCustomerAndCategory.computeIfPresent(new CustomerCategoryKey(customerId, category),
+                        (key, current) -> current.withoutNewAnswers());
+            }
+            return counts;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int documentCount() {
+        return textIndex.documentCount();
+    }
+
+    int documentFrequency(String term) {
+        return textIndex.documentFrequency(term);
+    }
+
+    List<InquiryTextIndex.Hit> search(InquirySearchCondition condition, String[] terms, double[] idf, int limit) {
+        return textIndex.search(condition, terms, idf, limit);
+    }
+
+    // 소유 조각을 저장보다 먼저 등록해, 저장된 문의가 보이는 순간부터 findById와 검색 결과가 이 조각을 찾게 한다.
+    private InquiryShard put(Inquiry inquiry) {
+        if (inquiry.getInquiryId() == null) {
+            inquiry.setInquiryId(allocateId());
+        }
+        InquiryShard previous = owners.put(inquiry.getInquiryId(), this);
+        store.put(inquiry.getInquiryId(), inquiry);
+        reindex(inquiry);
+        return previous == this ? null : previous;
+    }
+
+    private Staged stageLocked(Inquiry inquiry, WriteAhead log) {
+        if (inquiry.getInquiryId() == null) {
+            inquiry.setInquiryId(allocateId());
+        }
+        CompletableFuture<Long> committed = log.append(inquiry);
+        Staged staged = new Staged(this, inquiry, ++stageSequence, committed);
+        inFlight.computeIfAbsent(inquiry.getInquiryId(), id -> new InFlight()).staged.put(staged.sequence(), staged);
+        return staged;
+    }
+
+    private InquiryShard applyLocked(Staged staged) {
+        InFlight waiting = inFlight.get(staged.inquiry().getInquiryId());
+        InquiryShard previous = null;
+        if (waiting == null || staged.sequence() > waiting.applied) {
+            previous = put(staged.inquiry());
+            if (waiting != null) {
+                waiting.applied = staged.sequence();
+            }
+        }
+        settle(staged);
+        return previous;
+    }
+
+    // 대기 중인 쓰기가 모두 끝나면 그 문의의 항목을 지운다. 그 뒤로는 늦게 반영될 옛 쓰기가 남아 있지 않다.
+    private void settle(Staged staged) {
+        Long inquiryId = staged.inquiry().getInquiryId();
+        InFlight waiting = inFlight.get(inquiryId);
+        if (waiting != null) {
+            waiting.staged.remove(staged.sequence());
+            if (waiting.staged.isEmpty()) {
+                inFlight.remove(inquiryId);
+            }
+        }
+    }
+
+    // 고객이 바뀌어 아직 다른 조각에 있는 문의도 찾는다.
+    private Inquiry current(Long inquiryId) {
+        Inquiry stored = store.get(inquiryId);
+        if (stored != null) {
+            return stored;
+        }
+        InquiryShard owner = owners.get(inquiryId);
+        return owner == null || owner == this ? null : owner.get(inquiryId);
+    }
+
+    private static boolean replaces(Inquiry incoming, Inquiry existing) {
+        return existing == null || Answer.supersedes(incoming.getAnswer(), existing.getAnswer());
+    }
+
+    private AnsweredInquiry answerLocked(Long inquiryId, Answer answer) {
+        Inquiry current = store.get(inquiryId);
+        if (current == null) {
+            return null;
+        }
+        answer.orderAfter(current.getAnswer());
+        Inquiry answered = current.withAnswer(answer);
+        put(answered);
+        return new AnsweredInquiry(answered, current.getAnswer() == null);
+    }
+
+    // 커밋된 적 없는 문의에는 답변하지 않는다. 등록이 실패하면 답변이 그 문의를 되살리게 되기 때문이다.
+    private StagedAnswer stageAnswerLocked(Long inquiryId, Answer answer, WriteAhead log) {
+        Inquiry stored = store.get(inquiryId);
+        if (stored == null) {
+            return null;
+        }
+        Inquiry current = latestState(inquiryId, stored);
+        answer.orderAfter(current.getAnswer());
+        return new StagedAnswer(stageLocked(current.withAnswer(answer), log), current.getAnswer() == null);
+    }
+
+    // 반영된 것보다 나중에 로그에 넣은 쓰기 중 실패하지 않은 가장 최근 상태를, 없으면 저장된 상태를 돌려준다.
+    // 아직 커밋 중인 쓰기도 커밋될 것으로 보고 그 위에 쌓는다.
+    private Inquiry latestState(Long inquiryId, Inquiry stored) {
+        InFlight waiting = inFlight.get(inquiryId);
+        if (waiting == null) {
+            return stored;
+        }
+        for (Staged staged : waiting.staged.descendingMap().values()) {
+            if (staged.sequence() <= waiting.applied) {
+                break;
+            }
+            if (!staged.committed().isCompletedExceptionally()) {
+                return staged.inquiry();
+            }
+        }
+        return stored;
+    }
+
+    // 반영된 것보다 나중에 커밋된 쓰기가 있으면 그 상태를, 없으면 저장된 상태를 돌려준다.
+    private Inquiry committedState(Long inquiryId, Inquiry stored) {
+        InFlight waiting = inFlight.get(inquiryId);
+        if (waiting == null) {
+            return stored;
+        }
+        for (Staged staged : waiting.staged.descendingMap().values()) {
+            if (staged.sequence() <= waiting.applied) {
+                break;
+            }
+            if (staged.committed().isDone() && !staged.committed().isCompletedExceptionally()) {
+                return staged.inquiry();
+            }
+        }
+        return stored;
+    }
+
+    // 블록을 다 썼거나, 밖에서 들어온 id가 이 블록 범위를 넘어섰으면 새 블록을 받는다.
+    private long allocateId() {
+        if (nextId >= blockEnd || nextId <= idBlocks.highestObserved()) {
+            nextId = idBlocks.reserve();
+            blockEnd = nextId + InquiryIdBlocks.BLOCK_SIZE;
+        }
+        return nextId++;
+    }
+
+    // 커서 바로 다음 행부터 limit 건만 읽는다.
+    private static List<Inquiry> page(ConcurrentNavigableMap<TimelineKey, Inquiry> timeline, InquiryCursor after, int limit) {
+        if (timeline == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Iterable<Inquiry> rows = after == null
+                ? timeline.values()
+                : timeline.tailMap(TimelineKey.of(after), false).values();
+
+        List<Inquiry> result = new ArrayList<>(Math.min(limit, 64));
+        for (Inquiry inquiry : rows) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(inquiry);
+        }
+        return result;
+    }
+
+    private static List<Inquiry> timeline(ConcurrentNavigableMap<TimelineKey, Inquiry> timeline) {
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(timeline.values());
+    }
+
+    private void reindex(Inquiry inquiry) {
+        Long id = inquiry.getInquiryId();
+        IndexEntry current = IndexEntry.of(inquiry);
+        IndexEntry previous = indexed.put(id, current);
+
+        if (previous != null && !previous.equals(current)) {
+            unindex(id, previous);
+        }
+        // 이미 있던 문의가 미답변에서 답변 완료로 바뀐 경우만 새 답변으로 센다. (복구/복제로 처음 들어온 답변 완료 문의는 세지 않는다.)
+        if (previous != null) {
+            count(previous, -1, false);
+        }
+        count(current, 1, previous != null && !previous.answered() && current.answered());
+
+        TimelineKey timelineKey = current.timelineKey(id);
+        byCustomer.computeIfAbsent(current.customerId(), key -> new ConcurrentSkipListMap<>()).put(timelineKey, inquiry);
+        byCustomerAndCategory.computeIfAbsent(current.customerCategoryKey(), key -> new ConcurrentSkipListMap<>()).put(timelineKey, inquiry);
+        if (current.answered()) {
+            answered.add(id);
+        } else if (unanswered.put(timelineKey, inquiry) == null) {
+            unansweredCount.incrementAndGet();
+        }
+        textIndex.index(inquiry);
+    }
+
+    private void unindex(Long id, IndexEntry entry) {
+        TimelineKey timelineKey = entry.timelineKey(id);
+        removeFrom(byCustomer, entry.customerId(), timelineKey);
+        removeFrom(byCustomerAndCategory, entry.customerCategoryKey(), timelineKey);
+        if (entry.answered()) {
+            answered.remove(id);
+        } else if (unanswered.remove(timelineKey) != null) {
+            unansweredCount.decrementAndGet();
+        }
+    }
+
+    private void count(IndexEntry entry, int delta, boolean newAnswer) {
+        InquiryCounts change = new InquiryCounts(delta, entry.answered() ? delta : 0, newAnswer ? 1 : 0);
+        countsByCustomer.merge(entry.customerId(), change, InquiryShard::sum);
+        countsByCustomerAndCategory.merge(entry.customerCategoryKey(), change, InquiryShard::sum);
+        for (String attachment : entry.attachments()) {
+            attachmentReferences.merge(attachment, delta, InquiryShard::sum);
+            customerAttachments.merge(new CustomerAttachmentKey(entry.customerId(), attachment), delta, InquiryShard::sum);
+        }
+    }
+
+    // 건수가 모두 0이 되면 항목을 지운다.
+    private static InquiryCounts sum(InquiryCounts counts, InquiryCounts change) {
+        InquiryCounts result = counts.plus(change);
+        return result.isEmpty() ? null : result;
+    }
+
+    private static Integer sum(Integer count, Integer change) {
+        int result = count + change;
+        return result == 0 ? null : result;
+    }
+
+    private static <K> void removeFrom(Map<K, ConcurrentNavigableMap<TimelineKey, Inquiry>> index, K key, TimelineKey timelineKey) {
+        index.computeIfPresent(key, (k, timeline) -> {
+            timeline.remove(timelineKey);
+            return timeline.isEmpty() ? null : timeline;
+        });
+    }
+
+    // 조각 잠금 안에서 새 상태를 로그에 넣고, 커밋되면 완료되는 future를 돌려준다.
+    @FunctionalInterface
+    interface WriteAhead {
+        CompletableFuture<Long> append(Inquiry inquiry);
+    }
+
+    // 로그에 넣었지만 아직 반영하지 않은 쓰기
+    record Staged(InquiryShard shard, Inquiry inquiry, long sequence, CompletableFuture<Long> committed) {
+    }
+
+    // 로그에 넣은 답변과, 그 답변이 첫 답변인지 여부
+    record StagedAnswer(Staged staged, boolean firstAnswer) {
+    }
+
+    // 로그에 넣은 복제 변경과, 비교에 쓴 바뀌기 전 상태(새 문의면 null)
+    record StagedChange(Staged staged, Inquiry previous) {
+    }
+
+    private static final class InFlight {
+        // 순번 -> 커밋을 기다리는 쓰기
+        private final NavigableMap<Long, Staged> staged = new TreeMap<>();
+        // 반영한 쓰기 중 가장 나중 순번
+        private long applied;
+    }
+
+    private record CustomerCategoryKey(Long customerId, InquiryCategory category) {
+    }
+
+    private record CustomerAttachmentKey(Long customerId, String savedFilename) {
+    }
+
+    // 최신순(createdAt 내림차순, 같은 시각이면 inquiryId 내림차순)으로 정렬되는 타임라인 키
+    private record TimelineKey(LocalDateTime createdAt, Long inquiryId) implements Comparable<TimelineKey> {
+
+        private static final Comparator<TimelineKey> NEWEST_FIRST = Comparator
+                .comparing(TimelineKey::createdAt)
+                .thenComparing(TimelineKey::inquiryId)
+                .reversed();
+
+        static TimelineKey of(InquiryCursor cursor) {
+            return new TimelineKey(cursor.createdAt(), cursor.inquiryId());
+        }
+
+        @Override
+        public int compareTo(TimelineKey other) {
+            return NEWEST_FIRST.compare(this, other);
+        }
+    }
+
+    private record IndexEntry(Long customerId, InquiryCategory category, LocalDateTime createdAt, boolean answered,
+                              List<String> attachments) {
+
+        static IndexEntry of(Inquiry inquiry) {
+            return new IndexEntry(inquiry.getCustomer().getUserId(), inquiry.getCategory(),
+                    inquiry.getCreatedAt(), inquiry.getAnswer() != null, attachments(inquiry));
+        }
+
+        private static List<String> attachments(Inquiry inquiry) {
+            if (inquiry.getAttachedFiles() == null) {
+                return List.of();
+            }
+            return inquiry.getAttachedFiles().stream()
+                    .map(Inquiry.FileInfo::getSavedFilename)
+                    .toList();
+        }
+
+        TimelineKey timelineKey(Long inquiryId) {
+            return new TimelineKey(createdAt, inquiryId);
+        }
+
+        CustomerCategoryKey customerCategoryKey() {
+            return new CustomerCategoryKey(customerId, category);
+        }
+    }
+}
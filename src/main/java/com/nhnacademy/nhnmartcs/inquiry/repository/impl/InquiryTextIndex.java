@@ -0,0 +1,325 @@
+package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 제목/내용/답변에 대한 역색인.
+// 한국어는 띄어쓰기와 조사 때문에 단어 단위로 자르면 잘 맞지 않으므로, 글자/숫자 연속 구간을 문자 2-gram으로 나눈다.
+// ("환불요청" -> 환불, 불요, 요청) 한 글자짜리 구간은 그 글자 하나를 토큰으로 쓴다.
+// 질의의 모든 토큰을 포함하는 문의만 결과가 되고, 필드 가중치를 준 tf와 idf로 점수를 매긴다.
+// 저장소 조각(InquiryShard)마다 하나씩 있고, idf는 여러 조각의 점수를 비교할 수 있도록 호출하는 쪽이 전체 기준으로 계산해 넘긴다.
+// 쓰기는 InquiryShard의 쓰기 잠금 안에서만 호출되고, 읽기는 잠그지 않는다.
+class InquiryTextIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int ANSWER_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    // tf 포화 상수(BM25의 k1과 같은 역할). 긴 본문이 같은 토큰을 반복해 점수를 독차지하지 않게 한다.
+    private static final double SATURATION = 1.2;
+
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    // 고객별 문의 id 목록. 고객 본인 검색에서는 가장 짧은 목록이 되어 후보를 그 고객의 문의로 바로 좁힌다.
+    private final Map<Long, PostingList> byCustomer = new ConcurrentHashMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    void index(Inquiry inquiry) {
+        long id = inquiry.getInquiryId();
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, inquiry.getTitle(), TITLE_WEIGHT);
+        addTokens(frequencies, inquiry.getContent(), CONTENT_WEIGHT);
+        if (inquiry.getAnswer() != null) {
+            addTokens(frequencies, inquiry.getAnswer().getContent(), ANSWER_WEIGHT);
+        }
+
+        Document previous = documents.get(id);
+        if (previous != null) {
+            for (PostingList list : previous.postings()) {
+                if (!frequencies.containsKey(list.term)) {
+                    list.remove(id);
+                }
+            }
+        }
+
+        PostingList[] lists = new PostingList[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+            list.put(id, entry.getValue());
+            lists[i++] = list;
+        }
+        Long customerId = inquiry.getCustomer().getUserId();
+        if (previous != null && !previous.customerId().equals(customerId)) {
+            byCustomer.get(previous.customerId()).remove(id);
+        }
+        byCustomer.computeIfAbsent(customerId, key -> new PostingList(null)).put(id, 1);
+        documents.put(id, new Document(inquiry.getCategory(), inquiry.getCreatedAt(), inquiry.getAnswer() != null,
+                customerId, lists));
+    }
+
+    void remove(long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (PostingList list : previous.postings()) {
+            list.remove(id);
+        }
+        byCustomer.get(previous.customerId()).remove(id);
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int documentFrequency(String term) {
+        Postings list = snapshotOf(postings.get(term));
+        return list == null ? 0 : list.live();
+    }
+
+    static String[] terms(String keyword) {
+        return tokenize(keyword).keySet().toArray(String[]::new);
+    }
+
+    static double idf(long documentCount, long documentFrequency) {
+        return Math.log(1 + (double) documentCount / documentFrequency);
+    }
+
+    // 점수 높은 순(같으면 id가 큰 = 나중에 등록된 순)으로 최대 limit건을 돌려준다. idf[i]는 terms[i]의 idf다.
+    List<Hit> search(InquirySearchCondition condition, String[] terms, double[] idf, int limit) {
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        List<Clause> clauses = new ArrayList<>(terms.length + 1);
+        for (int i = 0; i < terms.length; i++) {
+            Postings list = snapshotOf(postings.get(terms[i]));
+            if (list == null) {
+                return List.of();
+            }
+            clauses.add(new Clause(list, idf[i]));
+        }
+        if (condition.customerId() != null) {
+            Postings list = snapshotOf(byCustomer.get(condition.customerId()));
+            if (list == null) {
+                return List.of();
+            }
+            // 점수에는 기여하지 않고 교집합에만 참여한다.
+            clauses.add(new Clause(list, 0));
+        }
+        // 가장 짧은 목록을 큰 id부터 훑고, 나머지 목록은 탐색 상한을 뒤에서부터 좁혀 가며 이진 탐색한다.
+        // 점수가 같으면 큰 id가 앞서므로, 이 순서로 훑으면 동점 후보는 상위 limit건이 찬 뒤 바로 버려진다.
+        clauses.sort(Comparator.comparingInt(clause -> clause.postings().live()));
+
+        boolean documentFilter = condition.category() != null || condition.from() != null
+                || condition.to() != null || condition.answered() != null;
+        int[] until = new int[clauses.size()];
+        for (int i = 0; i < until.length; i++) {
+            until[i] = clauses.get(i).postings().size();
+        }
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 64) + 1, Hit.WORST_FIRST);
+        Postings driver = clauses.get(0).postings();
+        double driverIdf = clauses.get(0).idf();
+        candidates:
+        for (int p = driver.size() - 1; p >= 0; p--) {
+            int frequency = driver.frequencies()[p];
+            if (frequency == 0) {
+                continue;
+            }
+            long id = driver.ids()[p];
+            double score = saturate(frequency) * driverIdf;
+            for (int i = 1; i < clauses.size(); i++) {
+                Postings other = clauses.get(i).postings();
+                int position = Arrays.binarySearch(other.ids(), 0, until[i], id);
+                if (position < 0) {
+                    until[i] = -position - 1;
+                    continue candidates;
+                }
+                until[i] = position;
+                int otherFrequency = other.frequencies()[position];
+                if (otherFrequency == 0) {
+                    continue candidates;
+                }
+                score += saturate(otherFrequency) * clauses.get(i).idf();
+            }
+            // 상위 limit건에 들 수 없는 후보는 문서 정보를 읽지 않고 버린다.
+            if (top.size() == limit) {
+                Hit worst = top.peek();
+                if (score < worst.score() || (score == worst.score() && id < worst.inquiryId())) {
+                    continue;
+                }
+            }
+            if (documentFilter) {
+                Document document = documents.get(id);
+                if (document == null || !condition.matches(document.category(), document.createdAt(),
+                        document.answered(), document.customerId())) {
+                    continue;
+                }
+            }
+            top.offer(new Hit(id, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            hits.add(top.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private static Postings snapshotOf(PostingList list) {
+        if (list == null) {
+            return null;
+        }
+        Postings snapshot = list.snapshot;
+        return snapshot.live() > 0 ? snapshot : null;
+    }
+
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, text, 1);
+        return frequencies;
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        int runStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && runStart < 0) {
+                runStart = i;
+            } else if (!wordChar && runStart >= 0) {
+                addRun(frequencies, text, runStart, i, weight);
+                runStart = -1;
+            }
+        }
+    }
+
+    private static void addRun(Map<String, Integer> frequencies, String text, int start, int end, int weight) {
+        if (end - start == 1) {
+            frequencies.merge(String.valueOf(Character.toLowerCase(text.charAt(start))), weight, Integer::sum);
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            String bigram = new String(new char[]{
+                    Character.toLowerCase(text.charAt(i)), Character.toLowerCase(text.charAt(i + 1))});
+            frequencies.merge(bigram, weight, Integer::sum);
+        }
+    }
+
+    private static double saturate(int frequency) {
+        return frequency * (SATURATION + 1) / (frequency + SATURATION);
+    }
+
+    // 한 토큰의 역색인 목록. id 오름차순 long[]과 가중 tf int[]로 들고 있어 문의 수백만 건에서도 항목당 12바이트 정도다.
+    // 새 문의는 대개 가장 큰 id라 끝에 덧붙인다. 읽는 쪽은 snapshot 하나만 읽으므로 (ids, frequencies, size)가 항상 일관된다.
+    // 덧붙이기는 이미 공개된 구간 뒤에만 쓰고, 중간 삽입과 압축은 새 배열을 만들어 바꿔 끼운다.
+    // 지운 항목은 tf를 0으로 두고(묘비) 절반 이상이 묘비가 되면 압축한다.
+    private static final class PostingList {
+
+        private final String term;
+        private volatile Postings snapshot = new Postings(new long[2], new int[2], 0, 0);
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        void put(long id, int frequency) {
+            Postings current = snapshot;
+            int position = Arrays.binarySearch(current.ids(), 0, current.size(), id);
+            if (position >= 0) {
+                boolean revived = current.frequencies()[position] == 0;
+                current.frequencies()[position] = frequency;
+                if (revived) {
+                    snapshot = new Postings(current.ids(), current.frequencies(), current.size(), current.removed() - 1);
+                }
+                return;
+            }
+
+            int insertAt = -position - 1;
+            int size = current.size();
+            if (insertAt == size && size < current.ids().length) {
+                current.ids()[size] = id;
+                current.frequencies()[size] = frequency;
+                snapshot = new Postings(current.ids(), current.frequencies(), size + 1, current.removed());
+                return;
+            }
+
+            int capacity = size < current.ids().length ? current.ids().length : Math.max(4, size * 2);
+            long[] ids = new long[capacity];
+            int[] frequencies = new int[capacity];
+            System.arraycopy(current.ids(), 0, ids, 0, insertAt);
+            System.arraycopy(current.frequencies(), 0, frequencies, 0, insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            System.arraycopy(current.ids(), insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(current.frequencies(), insertAt, frequencies, insertAt + 1, size - insertAt);
+            snapshot = new Postings(ids, frequencies, size + 1, current.removed());
+        }
+
+        void remove(long id) {
+            Postings current = snapshot;
+            int position = Arrays.binarySearch(current.ids(), 0, current.size(), id);
+            if (position < 0 || current.frequencies()[position] == 0) {
+                return;
+            }
+            current.frequencies()[position] = 0;
+            int removed = current.removed() + 1;
+            snapshot = removed * 2 > current.size()
+                    ? compact(current)
+                    : new Postings(current.ids(), current.frequencies(), current.size(), removed);
+        }
+
+        private static Postings compact(Postings current) {
+            int live = current.size() - current.removed() - 1;
+            long[] ids = new long[Math.max(2, live)];
+            int[] frequencies = new int[ids.length];
+            int n = 0;
+            for (int i = 0; i < current.size(); i++) {
+                if (current.frequencies()[i] != 0) {
+                    ids[n] = current.ids()[i];
+                    frequencies[n] = current.frequencies()[i];
+                    n++;
+                }
+            }
+            return new Postings(ids, frequencies, n, 0);
+        }
+    }
+
+    private record Postings(long[] ids, int[] frequencies, int size, int removed) {
+
+        int live() {
+            return size - removed;
+        }
+    }
+
+    private record Document(InquiryCategory category, LocalDateTime createdAt, boolean answered, Long customerId,
+                            PostingList[] postings) {
+    }
+
+    private record Clause(Postings postings, double idf) {
+    }
+
+    record Hit(long inquiryId, double score) {
+
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparingLong(Hit::inquiryId);
+        static final Comparator<Hit> BEST_FIRST = WORST_FIRST.reversed();
+    }
+}
@@ -0,0 +1,216 @@
+package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
+
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.Journal;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryChange;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
+import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import jakarta.annotation.Priority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// 복제가 켜져 있으면 ReplicatingInquiryRepository(@Priority(1))가 이 저장소를 감싸 주입 대상이 된다.
+@Priority(2)
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class JournalingInquiryRepository implements InquiryRepository {
+
+    private final InquiryRepositoryImpl delegate;
+    private final Journal journal;
+
+    // write-ahead: 기록이 커밋된 뒤에야 메모리에 반영하므로, 커밋이 실패하면 조회에도 스냅샷에도 남지 않는다.
+    // 로그 순서는 조각 잠금 안에서 정해지므로 전역 잠금 없이 조각끼리 병렬로 쓰고, fsync 대기는 잠금 밖에서 한다.
+    @Override
+    public Inquiry save(Inquiry inquiry) {
+        commit(delegate.stage(inquiry, this::append));
+        return inquiry;
+    }
+
+    // 기록을 한꺼번에 넣으면 작성 스레드가 journal.group-commit.max-batch 단위의 fsync로 묶어 커밋한다.
+    @Override
+    public List<Inquiry> saveAll(List<Inquiry> inquiries) {
+        commitAll(delegate.stageAll(inquiries, this::append));
+        return inquiries;
+    }
+
+    // 첫 답변 여부는 커밋을 기다리는 쓰기까지 본 최신 상태로 조각 잠금 안에서 정한다.
+    @Override
+    public Optional<AnsweredInquiry> addAnswer(Long inquiryId, Answer answer) {
+        loadWarming(List.of(inquiryId));
+        InquiryShard.StagedAnswer staged = delegate.stageAnswer(inquiryId, answer, this::append);
+        if (staged == null) {
+            return Optional.empty();
+        }
+        commit(staged.staged());
+        return Optional.of(new AnsweredInquiry(staged.staged().inquiry(), staged.firstAnswer()));
+    }
+
+    @Override
+    public List<AnsweredInquiry> addAnswers(Collection<Long> inquiryIds, Supplier<Answer> answers) {
+        loadWarming(inquiryIds);
+        List<InquiryShard.StagedAnswer> staged = delegate.stageAnswers(inquiryIds, answers, this::append);
+        commitAll(staged.stream().map(InquiryShard.StagedAnswer::staged).toList());
+        return staged.stream()
+                .map(each -> new AnsweredInquiry(each.staged().inquiry(), each.firstAnswer()))
+                .toList();
+    }
+
+    // 복제로 받은 변경도 저널에 남겨 재시작 뒤에 되살린다. 복제 로그는 거치지 않으므로 다른 노드로 다시 퍼지지 않는다.
+    public Optional<InquiryChange> saveIfNewer(Inquiry incoming) {
+        loadWarming(List.of(incoming.getInquiryId()));
+        InquiryShard.StagedChange staged = delegate.stageIfNewer(incoming, this::append);
+        if (staged == null) {
+            return Optional.empty();
+        }
+        commit(staged.staged());
+        return Optional.of(new InquiryChange(staged.previous(), incoming));
+    }
+
+    private void commit(InquiryShard.Staged staged) {
+        try {
+            journal.await(staged.committed());
+        } catch (RuntimeException e) {
+            delegate.discard(staged);
+            throw e;
+        }
+        delegate.apply(staged);
+    }
+
+    // 일부 배치만 실패하면 커밋된 기록은 로그에 남았으므로 반영하고, 실패한 기록만 버린 뒤 예외를 던진다.
+    private void commitAll(List<InquiryShard.Staged> staged) {
+        List<InquiryShard.Staged> committed = new ArrayList<>(staged.size());
+        RuntimeException failure = null;
+        for (InquiryShard.Staged each : staged) {
+            try {
+                journal.await(each.committed());
+                committed.add(each);
+            } catch (RuntimeException e) {
+                delegate.discard(each);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        delegate.applyAll(committed);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // 워밍업 중이면 아직 힙에 올라오지 않은 문의를 스냅샷에서 먼저 올려 답변할 수 있게 한다.
+    private void loadWarming(Collection<Long> inquiryIds) {
+        if (journal.isWarmedUp()) {
+            return;
+        }
+        for (Long inquiryId : inquiryIds) {
+            if (delegate.findById(inquiryId).isEmpty()) {
+                journal.findWarmingInquiry(inquiryId);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Inquiry> findById(Long inquiryId) {
+        Optional<Inquiry> inquiry = delegate.findById(inquiryId);
+        return inquiry.isPresent() ? inquiry : journal.findWarmingInquiry(inquiryId);
+    }
+
+    @Override
+    public List<Inquiry> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer) {
+        return delegate.findByCustomerOrderByCreatedAtDesc(customer);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer, InquiryCursor after, int limit) {
+        return delegate.findByCustomerOrderByCreatedAtDesc(customer, after, limit);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category) {
+        return delegate.findByCustomerAndCategoryOrderByCreatedAtDesc(customer, category);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category,
+                                                                       InquiryCursor after, int limit) {
+        return delegate.findByCustomerAndCategoryOrderByCreatedAtDesc(customer, category, after, limit);
+    }
+
+    @Override
+    public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc() {
+        return delegate.findUnansweredInquiriesOrderByCreatedAtAsc();
+    }
+
+    @Override
+    public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor after, int limit) {
+        return delegate.findUnansweredInquiriesOrderByCreatedAtAsc(after, limit);
+    }
+
+    @Override
+    public long countUnansweredInquiries() {
+        return delegate.countUnansweredInquiries();
+    }
+
+    @Override
+    public InquiryCounts countByCustomer(Customer customer) {
+        return delegate.countByCustomer(customer);
+    }
+
+    @Override
+    public InquiryCounts countByCustomerAndCategory(Customer customer, InquiryCategory category) {
+        return delegate.countByCustomerAndCategory(customer, category);
+    }
+
+    // 새 답변 확인 여부는 화면 상태라 저널에 남기지 않는다. 재시작하면 0부터 센다.
+    @Override
+    public InquiryCounts clearNewAnswers(Customer customer) {
+        return delegate.clearNewAnswers(customer);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<Inquiry> search(InquirySearchCondition condition, int limit) {
+        return delegate.search(condition, limit);
+    }
+
+    // 워밍업이 끝나기 전에는 아직 올리지 않은 문의가 블롭을 가리킬 수 있으므로 참조 중으로 본다.
+    @Override
+    public boolean referencesAttachment(String savedFilename) {
+        return !journal.isWarmedUp() || delegate.referencesAttachment(savedFilename);
+    }
+
+    @Override
+    public boolean referencesAttachment(Long customerId, String savedFilename) {
+        return delegate.referencesAttachment(customerId, savedFilename);
+    }
+
+    private CompletableFuture<Long> append(Inquiry inquiry) {
+        return journal.enqueue(JournalRecord.of(InquirySnapshot.from(inquiry)));
+    }
+}
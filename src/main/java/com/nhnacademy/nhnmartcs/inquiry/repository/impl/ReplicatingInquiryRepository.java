@@ -0,0 +1,167 @@
+package com.nhnacademy.nhnmartcs.inquiry.repository.impl;
+
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicationLog;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
+import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import jakarta.annotation.Priority;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 이 노드에서 일어난 문의 변경을 복제 로그에 남겨 다른 노드로 보낸다.
+// 저널이 켜져 있으면 저널 기록(fsync)까지 끝난 뒤에 로그에 넣으므로, 다른 노드는 이 노드에서 영속화된 변경만 받는다.
+@Priority(1)
+@Repository
+@ConditionalOnProperty(name = "replication.enabled", havingValue = "true")
+public class ReplicatingInquiryRepository implements InquiryRepository {
+
+    private final InquiryRepository delegate;
+    private final ReplicationLog changes;
+
+    @Autowired
+    public ReplicatingInquiryRepository(InquiryRepositoryImpl store,
+                                        ObjectProvider<JournalingInquiryRepository> journaling,
+                                        ReplicationLog changes) {
+        this(localStore(store, journaling), changes);
+    }
+
+    public ReplicatingInquiryRepository(InquiryRepository delegate, ReplicationLog changes) {
+        this.delegate = delegate;
+        this.changes = changes;
+    }
+
+    // 저널이 켜져 있으면 저널을 거쳐 저장한다.
+    private static InquiryRepository localStore(InquiryRepositoryImpl store, ObjectProvider<JournalingInquiryRepository> journaling) {
+        JournalingInquiryRepository journaled = journaling.getIfAvailable();
+        return journaled != null ? journaled : store;
+    }
+
+    @Override
+    public Inquiry save(Inquiry inquiry) {
+        delegate.save(inquiry);
+        changes.append(inquiry, ReplicatingInquiryRepository::record);
+        return inquiry;
+    }
+
+    @Override
+    public List<Inquiry> saveAll(List<Inquiry> inquiries) {
+        delegate.saveAll(inquiries);
+        changes.appendAll(inquiries, ReplicatingInquiryRepository::record);
+        return inquiries;
+    }
+
+    @Override
+    public Optional<AnsweredInquiry> addAnswer(Long inquiryId, Answer answer) {
+        Optional<AnsweredInquiry> answered = delegate.addAnswer(inquiryId, answer);
+        answered.ifPresent(result -> changes.append(result.inquiry(), ReplicatingInquiryRepository::record));
+        return answered;
+    }
+
+    @Override
+    public List<AnsweredInquiry> addAnswers(Collection<Long> inquiryIds, Supplier<Answer> answers) {
+        List<AnsweredInquiry> answered = delegate.addAnswers(inquiryIds, answers);
+        changes.appendAll(answered.stream().map(AnsweredInquiry::inquiry).toList(), ReplicatingInquiryRepository::record);
+        return answered;
+    }
+
+    @Override
+    public Optional<Inquiry> findById(Long inquiryId) {
+        return delegate.findById(inquiryId);
+    }
+
+    @Override
+    public List<Inquiry> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer) {
+        return delegate.findByCustomerOrderByCreatedAtDesc(customer);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerOrderByCreatedAtDesc(Customer customer, InquiryCursor after, int limit) {
+        return delegate.findByCustomerOrderByCreatedAtDesc(customer, after, limit);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category) {
+        return delegate.findByCustomerAndCategoryOrderByCreatedAtDesc(customer, category);
+    }
+
+    @Override
+    public List<Inquiry> findByCustomerAndCategoryOrderByCreatedAtDesc(Customer customer, InquiryCategory category,
+                                                                       InquiryCursor after, int limit) {
+        return delegate.findByCustomerAndCategoryOrderByCreatedAtDesc(customer, category, after, limit);
+    }
+
+    @Override
+    public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc() {
+        return delegate.findUnansweredInquiriesOrderByCreatedAtAsc();
+    }
+
+    @Override
+    public List<Inquiry> findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor after, int limit) {
+        return delegate.findUnansweredInquiriesOrderByCreatedAtAsc(after, limit);
+    }
+
+    @Override
+    public long countUnansweredInquiries() {
+        return delegate.countUnansweredInquiries();
+    }
+
+    @Override
+    public InquiryCounts countByCustomer(Customer customer) {
+        return delegate.countByCustomer(customer);
+    }
+
+    @Override
+    public InquiryCounts countByCustomerAndCategory(Customer customer, InquiryCategory category) {
+        return delegate.countByCustomerAndCategory(customer, category);
+    }
+
+    // 새 답변 확인 여부는 노드마다 따로 둔다.
+    @Override
+    public InquiryCounts clearNewAnswers(Customer customer) {
+        return delegate.clearNewAnswers(customer);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<Inquiry> search(InquirySearchCondition condition, int limit) {
+        return delegate.search(condition, limit);
+    }
+
+    @Override
+    public boolean referencesAttachment(String savedFilename) {
+        return delegate.referencesAttachment(savedFilename);
+    }
+
+    @Override
+    public boolean referencesAttachment(Long customerId, String savedFilename) {
+        return delegate.referencesAttachment(customerId, savedFilename);
+    }
+
+    private static JournalRecord record(Inquiry inquiry) {
+        return JournalRecord.of(InquirySnapshot.from(inquiry));
+    }
+}
@@ -2,19 +2,35 @@ package com.nhnacademy.nhnmartcs.inquiry.service;
 
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryCountsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryStatsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface InquiryService {
 
     Long createInquiry(Customer customer, InquiryCreateRequest requestDto, List<MultipartFile> files);    List<InquirySummaryResponse> getMyInquiries(Customer customer, String category);
+    CursorPage<InquirySummaryResponse> getMyInquiries(Customer customer, String category, String cursor, int size);
     InquiryDetailResponse getInquiryDetail(Long inquiryId, Customer customer);
+    InquiryCountsResponse getMyInquiryCounts(Customer customer, boolean markAnswersSeen);
     List<AdminInquirySummaryResponse> getUnansweredInquiries();
+    CursorPage<AdminInquirySummaryResponse> getUnansweredInquiries(String cursor, int size);
+    long countUnansweredInquiries();
     InquiryDetailResponse getInquiryDetailForAdmin(Long inquiryId);
+    // 고객은 자기 문의에 첨부된 파일만, 관리자는 어느 문의에든 첨부된 파일만 받을 수 있다.
+    boolean canReadAttachment(LoginUser loginUser, String savedFilename);
     void addAnswer(Long inquiryId, String answerContent, CSAdmin admin);
+    int addAnswers(List<Long> inquiryIds, String answerContent, CSAdmin admin);
+    InquiryStatsResponse getStatistics();
+    List<InquirySummaryResponse> searchMyInquiries(Customer customer, String keyword, String category, int size);
+    List<AdminInquirySummaryResponse> searchInquiries(String keyword, String category, LocalDate from, LocalDate to,
+                                                      Boolean answered, int size);
 }
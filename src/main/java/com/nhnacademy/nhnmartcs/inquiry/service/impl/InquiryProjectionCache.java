@@ -0,0 +1,82 @@
+package com.nhnacademy.nhnmartcs.inquiry.service.impl;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 문의 응답 DTO를 (inquiryId, version) 기준으로 만들어 두고 재사용한다.
+// 응답 객체는 만든 뒤 바뀌지 않으므로 여러 요청이 같은 인스턴스를 공유해도 안전하다.
+// 버전이 다르면(답변 등록, 복구/복제로 객체가 바뀐 경우 등) 다시 만든다. 버전은 모든 문의에 걸쳐 단조 증가하므로,
+// 옛 객체를 들고 있던 요청이 늦게 넣은 항목은 새 객체의 버전과 맞지 않아 쓰이지 않는다. 항목 수가 상한을 넘으면 임의의 항목을 내보낸다.
+@Component
+public class InquiryProjectionCache {
+
+    private final int maxEntries;
+    private final Map<Long, Projection<InquiryDetailResponse>> details = new ConcurrentHashMap<>();
+    private final Map<Long, Projection<InquirySummaryResponse>> summaries = new ConcurrentHashMap<>();
+    private final Map<Long, Projection<AdminInquirySummaryResponse>> adminSummaries = new ConcurrentHashMap<>();
+
+    public InquiryProjectionCache(@Value("${inquiry.projection-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public InquiryDetailResponse detail(Inquiry inquiry) {
+        return lookup(details, inquiry, InquiryDetailResponse::fromEntity);
+    }
+
+    public InquirySummaryResponse summary(Inquiry inquiry) {
+        return lookup(summaries, inquiry, InquirySummaryResponse::fromEntity);
+    }
+
+    public AdminInquirySummaryResponse adminSummary(Inquiry inquiry) {
+        return lookup(adminSummaries, inquiry, AdminInquirySummaryResponse::fromEntity);
+    }
+
+    public void invalidate(Long inquiryId) {
+        details.remove(inquiryId);
+        summaries.remove(inquiryId);
+        adminSummaries.remove(inquiryId);
+    }
+
+    public int size() {
+        return details.size() + summaries.size() + adminSummaries.size();
+    }
+
+    private <T> T lookup(Map<Long, Projection<T>> cache, Inquiry inquiry, Function<Inquiry, T> mapper) {
+        Long inquiryId = inquiry.getInquiryId();
+        // 만들기 전에 버전을 읽는다. 만드는 도중 바뀌면 다음 조회에서 버전이 달라 다시 만든다.
+        long version = inquiry.getVersion();
+        Projection<T> cached = cache.get(inquiryId);
+        if (cached != null && cached.version() == version) {
+            return cached.value();
+        }
+
+        T value = mapper.apply(inquiry);
+        if (cached == null && cache.size() >= maxEntries) {
+            evictOne(cache);
+        }
+        // 동시에 더 새 버전이 들어갔다면 그것을 남긴다.
+        cache.merge(inquiryId, new Projection<>(version, value),
+                (current, created) -> current.version() > created.version() ? current : created);
+        return value;
+    }
+
+    private static void evictOne(Map<Long, ?> cache) {
+        Iterator<Long> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Projection<T>(long version, T value) {
+    }
+}
@@ -2,34 +2,48 @@ package com.nhnacademy.nhnmartcs.inquiry.service.impl;
 
 import com.nhnacademy.nhnmartcs.global.exception.InquiryAccessDeniedException;
 import com.nhnacademy.nhnmartcs.global.exception.InquiryNotFoundException;
-import com.nhnacademy.nhnmartcs.global.exception.InvalidFileTypeException;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryCountsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryStatsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryAnsweredEvent;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryCreatedEvent;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerNotificationOutbox;
 import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
 import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 // import lombok.extern.slf4j.Slf4j; // 제거
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,46 +51,21 @@ import java.util.stream.Collectors;
 public class InquiryServiceImpl implements InquiryService {
 
     private final InquiryRepository inquiryRepository;
-
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-
-    private static final List<String> ALLOWED_IMAGE_TYPES = List.of("image/gif", "image/jpeg", "image/png");
+    private final AttachmentStorage attachmentStorage;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final CsMetrics metrics;
+    private final InquiryProjectionCache projections;
+    private final InquiryStatistics statistics;
+    private final AnswerNotificationOutbox notifications;
+    private final ApplicationEventPublisher events;
 
     @Override
+    @Timed("cs.inquiry.create")
     public Long createInquiry(Customer customer, InquiryCreateRequest requestDto, List<MultipartFile> files) {
 
-        List<Inquiry.FileInfo> savedFileInfos = new ArrayList<>();
-        Path uploadPath = Paths.get(uploadDir);
-
+        List<Inquiry.FileInfo> savedFileInfos;
         try {
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            if (files != null) {
-                for (MultipartFile file : files) {
-                    if (file.isEmpty()) continue;
-
-                    String contentType = file.getContentType();
-                    if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType)) {
-                        throw new InvalidFileTypeException("이미지 파일(GIF, JPG, PNG)만 업로드 가능합니다.");
-                    }
-
-                    String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-                    String savedFilename = UUID.randomUUID() + "_" + originalFilename;
-                    Path targetLocation = uploadPath.resolve(savedFilename);
-
-                    Files.copy(file.getInputStream(), targetLocation);
-
-                    Inquiry.FileInfo fileInfo = new Inquiry.FileInfo(
-                            originalFilename,
-                            savedFilename,
-                            targetLocation.toString()
-                    );
-                    savedFileInfos.add(fileInfo);
-                }
-            }
+            savedFileInfos = attachmentStorage.store(files);
         } catch (IOException e) {
             throw new RuntimeException("파일 처리 중 오류가 발생했습니다.", e);
         }
@@ -92,11 +81,23 @@ public class InquiryServiceImpl implements InquiryService {
                 savedFileInfos
         );
 
-        Inquiry savedInquiry = inquiryRepository.save(inquiry);
+        Inquiry savedInquiry;
+        try {
+            savedInquiry = inquiryRepository.save(inquiry);
+        } catch (RuntimeException e) {
+            attachmentStorage.release(savedFileInfos);
+            throw e;
+        }
+        attachmentStorage.settle(savedFileInfos);
+        metrics.uploaded(savedFileInfos.size(), savedFileInfos.stream().mapToLong(Inquiry.FileInfo::getSize).sum());
+        thumbnailGenerator.requestAll(savedFileInfos);
+        statistics.recordCreated(savedInquiry);
+        events.publishEvent(new InquiryCreatedEvent(projections.adminSummary(savedInquiry)));
         return savedInquiry.getInquiryId();
     }
 
     @Override
+    @Timed(value = "cs.inquiry.list", extraTags = {"view", "customer"})
     public List<InquirySummaryResponse> getMyInquiries(Customer customer, String category) {
         List<Inquiry> inquiries;
         if (StringUtils.hasText(category)) {
@@ -109,44 +110,187 @@ public class InquiryServiceImpl implements InquiryService {
         } else {
             inquiries = inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer);
         }
+        metrics.scanned("customer_timeline_all", inquiries.size());
         return inquiries.stream()
-                .map(InquirySummaryResponse::fromEntity)
+                .map(projections::summary)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Timed(value = "cs.inquiry.list", extraTags = {"view", "customer"})
+    public CursorPage<InquirySummaryResponse> getMyInquiries(Customer customer, String category, String cursor, int size) {
+        InquiryCursor after = InquiryCursor.decode(cursor);
+        List<Inquiry> rows;
+        if (StringUtils.hasText(category)) {
+            try {
+                InquiryCategory categoryEnum = InquiryCategory.valueOf(category.toUpperCase());
+                rows = inquiryRepository.findByCustomerAndCategoryOrderByCreatedAtDesc(customer, categoryEnum, after, size + 1);
+            } catch (IllegalArgumentException e) {
+                return CursorPage.empty();
+            }
+        } else {
+            rows = inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer, after, size + 1);
+        }
+        metrics.scanned("customer_timeline_page", rows.size());
+        return toPage(rows, size, projections::summary);
+    }
+
+    @Override
+    @Timed(value = "cs.inquiry.detail", extraTags = {"view", "customer"})
     public InquiryDetailResponse getInquiryDetail(Long inquiryId, Customer customer) {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new InquiryNotFoundException("해당 문의를 찾을 수 없습니다. ID: " + inquiryId));
         if (!inquiry.getCustomer().getUserId().equals(customer.getUserId())) {
             throw new InquiryAccessDeniedException("본인의 문의만 조회할 수 있습니다.");
         }
-        return InquiryDetailResponse.fromEntity(inquiry);
+        return projections.detail(inquiry);
+    }
+
+    // 목록 머리글과 분류 선택 상자에 쓸 건수. 저장소가 등록/답변 때 갱신해 둔 카운터만 읽고 목록은 불러오지 않는다.
+    // markAnswersSeen이면 고객이 목록을 본 것으로 보고 새 답변 수를 0으로 되돌린다.
+    @Override
+    public InquiryCountsResponse getMyInquiryCounts(Customer customer, boolean markAnswersSeen) {
+        Map<InquiryCategory, InquiryCounts> byCategory = new EnumMap<>(InquiryCategory.class);
+        for (InquiryCategory category : InquiryCategory.values()) {
+            byCategory.put(category, inquiryRepository.countByCustomerAndCategory(customer, category));
+        }
+        InquiryCounts counts = markAnswersSeen
+                ? inquiryRepository.clearNewAnswers(customer)
+                : inquiryRepository.countByCustomer(customer);
+        return InquiryCountsResponse.of(counts, byCategory);
     }
 
     @Override
+    @Timed(value = "cs.inquiry.list", extraTags = {"view", "admin"})
     public List<AdminInquirySummaryResponse> getUnansweredInquiries() {
         List<Inquiry> inquiries = inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc();
+        metrics.scanned("unanswered_all", inquiries.size());
         return inquiries.stream()
-                .map(AdminInquirySummaryResponse::fromEntity)
+                .map(projections::adminSummary)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Timed(value = "cs.inquiry.list", extraTags = {"view", "admin"})
+    public CursorPage<AdminInquirySummaryResponse> getUnansweredInquiries(String cursor, int size) {
+        List<Inquiry> rows = inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor.decode(cursor), size + 1);
+        metrics.scanned("unanswered_page", rows.size());
+        return toPage(rows, size, projections::adminSummary);
+    }
+
+    @Override
+    public long countUnansweredInquiries() {
+        return inquiryRepository.countUnansweredInquiries();
+    }
+
+    @Override
+    @Timed(value = "cs.inquiry.detail", extraTags = {"view", "admin"})
     public InquiryDetailResponse getInquiryDetailForAdmin(Long inquiryId) {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new InquiryNotFoundException("해당 문의를 찾을 수 없습니다. ID: " + inquiryId));
-        return InquiryDetailResponse.fromEntity(inquiry);
+        return projections.detail(inquiry);
     }
 
     @Override
+    public boolean canReadAttachment(LoginUser loginUser, String savedFilename) {
+        if (loginUser == null) {
+            return false;
+        }
+        return loginUser.isAdmin()
+                ? inquiryRepository.referencesAttachment(savedFilename)
+                : inquiryRepository.referencesAttachment(loginUser.userId(), savedFilename);
+    }
+
+    @Override
+    @Timed("cs.inquiry.answer")
     public void addAnswer(Long inquiryId, String answerContent, CSAdmin admin) {
-        Inquiry inquiry = inquiryRepository.findById(inquiryId)
+        // 첫 답변 여부는 저장소가 저장과 같은 잠금 안에서 정하므로, 동시에 답변해도 통계와 알림에는 한 번만 첫 답변으로 잡힌다.
+        AnsweredInquiry answered = inquiryRepository.addAnswer(inquiryId, new Answer(answerContent, admin))
                 .orElseThrow(() -> new InquiryNotFoundException("답변할 문의를 찾을 수 없습니다. ID: " + inquiryId));
 
+        projections.invalidate(inquiryId);
+        if (answered.firstAnswer()) {
+            statistics.recordAnswered(answered.inquiry());
+        }
+        notifications.answered(answered.inquiry(), answered.firstAnswer());
+        events.publishEvent(new InquiryAnsweredEvent(inquiryId, answered.firstAnswer()));
+    }
+
+    // 같은 답변을 여러 문의에 한 번에 단다. 없는 ID는 건너뛰고, 저장과 색인 갱신은 한 번에 몰아서 한다.
+    @Override
+    @Timed("cs.inquiry.answer.bulk")
+    public int addAnswers(List<Long> inquiryIds, String answerContent, CSAdmin admin) {
+        List<AnsweredInquiry> answered = inquiryRepository.addAnswers(new LinkedHashSet<>(inquiryIds),
+                () -> new Answer(answerContent, admin));
+        if (answered.isEmpty()) {
+            return 0;
+        }
+
+        answered.forEach(result -> projections.invalidate(result.inquiry().getInquiryId()));
+        answered.stream().filter(AnsweredInquiry::firstAnswer).map(AnsweredInquiry::inquiry).forEach(statistics::recordAnswered);
+        answered.forEach(result -> notifications.answered(result.inquiry(), result.firstAnswer()));
+        answered.forEach(result -> events.publishEvent(
+                new InquiryAnsweredEvent(result.inquiry().getInquiryId(), result.firstAnswer())));
+        return answered.size();
+    }
+
+    @Override
+    public InquiryStatsResponse getStatistics() {
+        return statistics.snapshot();
+    }
+
+    @Override
+    @Timed(value = "cs.inquiry.search", extraTags = {"view", "customer"})
+    public List<InquirySummaryResponse> searchMyInquiries(Customer customer, String keyword, String category, int size) {
+        InquiryCategory categoryEnum = parseCategory(category);
+        if (!StringUtils.hasText(keyword) || (StringUtils.hasText(category) && categoryEnum == null)) {
+            return Collections.emptyList();
+        }
+        InquirySearchCondition condition = new InquirySearchCondition(keyword, categoryEnum, null, null, null,
+                customer.getUserId());
+        return inquiryRepository.search(condition, size).stream()
+                .map(projections::summary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Timed(value = "cs.inquiry.search", extraTags = {"view", "admin"})
+    public List<AdminInquirySummaryResponse> searchInquiries(String keyword, String category, LocalDate from, LocalDate to,
+                                                             Boolean answered, int size) {
+        InquiryCategory categoryEnum = parseCategory(category);
+        if (!StringUtils.hasText(keyword) || (StringUtils.hasText(category) && categoryEnum == null)) {
+            return Collections.emptyList();
+        }
+        // 종료일은 그날 하루를 포함한다.
+        InquirySearchCondition condition = new InquirySearchCondition(keyword, categoryEnum,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                answered, null);
+        return inquiryRepository.search(condition, size).stream()
+                .map(projections::adminSummary)
+                .collect(Collectors.toList());
+    }
+
+    private static InquiryCategory parseCategory(String category) {
+        if (!StringUtils.hasText(category)) {
+            return null;
+        }
+        try {
+            return InquiryCategory.valueOf(category.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 한 건을 더 읽어 다음 페이지 존재 여부를 판단한다.
+    private static <T> CursorPage<T> toPage(List<Inquiry> rows, int size, Function<Inquiry, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<Inquiry> pageRows = hasNext ? rows.subList(0, size) : rows;
 
-        Answer newAnswer = new Answer(answerContent, admin);
-        inquiry.addAnswer(newAnswer);
-        inquiryRepository.save(inquiry);
+        return CursorPage.<T>builder()
+                .content(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(hasNext ? InquiryCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package com.nhnacademy.nhnmartcs.inquiry.service.impl;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryStatsResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 관리자 통계(분류별/일별/관리자별 등록·답변 건수와 첫 답변까지 걸린 시간의 중앙값·p95)를 증분으로 유지한다.
+// 문의 등록과 첫 답변 때 카운터와 고정 크기 히스토그램만 갱신하고, 조회할 때도 저장소를 훑지 않는다.
+// 일별 집계는 최근 DAYS일짜리 링이라 날짜가 바뀐 칸은 처음 쓰일 때 새 칸으로 바꾼다.
+// 이 노드가 기동한 뒤의 등록/답변(다른 노드에서 복제되어 온 것 포함)만 센다.
+@Component
+public class InquiryStatistics {
+
+    static final int DAYS = 30;
+
+    private static final double MEDIAN = 0.5;
+    private static final double P95 = 0.95;
+
+    private final Tally total = new Tally();
+    // 모든 분류를 미리 만들어 두고 바꾸지 않으므로 EnumMap을 여러 스레드가 읽어도 된다.
+    private final Map<InquiryCategory, Tally> byCategory = new EnumMap<>(InquiryCategory.class);
+    private final AtomicReferenceArray<DayTally> days = new AtomicReferenceArray<>(DAYS);
+    private final Map<Long, AdminTally> byAdmin = new ConcurrentHashMap<>();
+
+    public InquiryStatistics() {
+        for (InquiryCategory category : InquiryCategory.values()) {
+            byCategory.put(category, new Tally());
+        }
+    }
+
+    public void recordCreated(Inquiry inquiry) {
+        total.created.increment();
+        byCategory.get(inquiry.getCategory()).created.increment();
+        DayTally day = day(inquiry.getCreatedAt().toLocalDate());
+        if (day != null) {
+            day.created.increment();
+        }
+    }
+
+    // 첫 답변일 때만 부른다. 답변 수정은 응답 시간을 바꾸지 않는다.
+    public void recordAnswered(Inquiry inquiry) {
+        Answer answer = inquiry.getAnswer();
+        if (answer == null) {
+            return;
+        }
+        Duration elapsed = Duration.between(inquiry.getCreatedAt(), answer.getCreatedAt());
+        total.recordAnswer(elapsed);
+        byCategory.get(inquiry.getCategory()).recordAnswer(elapsed);
+        DayTally day = day(answer.getCreatedAt().toLocalDate());
+        if (day != null) {
+            day.recordAnswer(elapsed);
+        }
+        if (answer.getAdmin() != null && answer.getAdmin().getUserId() != null) {
+            AdminTally admin = byAdmin.computeIfAbsent(answer.getAdmin().getUserId(), id -> new AdminTally());
+            admin.name = answer.getAdmin().getName();
+            admin.recordAnswer(elapsed);
+        }
+    }
+
+    // 분류 수, DAYS, 관리자 수에만 비례한다.
+    public InquiryStatsResponse snapshot() {
+        List<InquiryStatsResponse.Row> categories = new ArrayList<>(byCategory.size());
+        byCategory.forEach((category, tally) -> categories.add(tally.row(category.getDescription())));
+
+        LocalDate today = LocalDate.now();
+        List<InquiryStatsResponse.Row> dayRows = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = today.minusDays(i);
+            DayTally day = days.get(slot(date));
+            dayRows.add(day != null && day.date.equals(date)
+                    ? day.row(date.toString())
+                    : InquiryStatsResponse.Row.of(date.toString(), 0, 0, null, null));
+        }
+
+        List<InquiryStatsResponse.Row> admins = byAdmin.values().stream()
+                .map(admin -> admin.row(admin.name))
+                .sorted(Comparator.comparingLong(InquiryStatsResponse.Row::getAnswered).reversed())
+                .toList();
+
+        return InquiryStatsResponse.builder()
+                .total(total.row("전체"))
+                .byCategory(categories)
+                .byDay(dayRows)
+                .byAdmin(admins)
+                .build();
+    }
+
+    // 그 날짜의 칸. 칸에 이미 더 최근 날짜가 들어 있으면(링 밖의 오래된 날짜) null
+    private DayTally day(LocalDate date) {
+        int slot = slot(date);
+        while (true) {
+            DayTally current = days.get(slot);
+            if (current != null && current.date.equals(date)) {
+                return current;
+            }
+            if (current != null && current.date.isAfter(date)) {
+                return null;
+            }
+            DayTally fresh = new DayTally(date);
+            if (days.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static int slot(LocalDate date) {
+        return (int) Math.floorMod(date.toEpochDay(), (long) DAYS);
+    }
+
+    private static class Tally {
+
+        final LongAdder created = new LongAdder();
+        final LongAdder answered = new LongAdder();
+        final ResponseTimeHistogram responseTimes = new ResponseTimeHistogram();
+
+        void recordAnswer(Duration elapsed) {
+            answered.increment();
+            responseTimes.record(elapsed);
+        }
+
+        InquiryStatsResponse.Row row(String label) {
+            ResponseTimeHistogram.Snapshot snapshot = responseTimes.snapshot();
+            return InquiryStatsResponse.Row.of(label, created.sum(), answered.sum(),
+                    snapshot.percentile(MEDIAN), snapshot.percentile(P95));
+        }
+    }
+
+    private static final class DayTally extends Tally {
+
+        final LocalDate date;
+
+        DayTally(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    private static final class AdminTally extends Tally {
+
+        // 마지막 답변 때의 이름
+        volatile String name;
+    }
+}
@@ -0,0 +1,74 @@
+package com.nhnacademy.nhnmartcs.inquiry.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 문의 등록부터 첫 답변까지 걸린 시간(초)의 고정 크기 히스토그램.
+// 2의 거듭제곱 구간을 다시 4칸으로 나눠(오차 25% 이내) 1초부터 약 68년(2^31초)까지 125칸에 담는다.
+// 기록은 칸 하나의 원자적 증가이고, 백분위는 칸 수만큼만 훑으므로 표본 수와 상관없이 일정한 시간이 든다.
+final class ResponseTimeHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_EXPONENT = 30;
+    static final int BUCKETS = 1 + (MAX_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(Duration elapsed) {
+        counts.incrementAndGet(indexOf(Math.max(0L, elapsed.getSeconds())));
+    }
+
+    Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total);
+    }
+
+    // 0번 칸은 1초 미만, 그 뒤로는 [2^e, 2^(e+1)) 구간을 4칸씩 나눈다.
+    static int indexOf(long seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(seconds);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        long sub = exponent >= 2
+                ? (seconds >> (exponent - 2)) & (SUB_BUCKETS - 1)
+                : (seconds << (2 - exponent)) & (SUB_BUCKETS - 1);
+        return 1 + exponent * SUB_BUCKETS + (int) sub;
+    }
+
+    // 칸의 위쪽 경계(초). 백분위는 이 값으로 보고해 실제보다 짧게 보이지 않게 한다.
+    static long upperBoundSeconds(int index) {
+        if (index == 0) {
+            return 1;
+        }
+        int exponent = (index - 1) / SUB_BUCKETS;
+        int sub = (index - 1) % SUB_BUCKETS;
+        return (long) Math.ceil((SUB_BUCKETS + sub + 1) * Math.pow(2, exponent) / SUB_BUCKETS);
+    }
+
+    record Snapshot(long[] counts, long total) {
+
+        // 표본이 없으면 null
+        Duration percentile(double quantile) {
+            if (total == 0) {
+                return null;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Duration.ofSeconds(upperBoundSeconds(i));
+                }
+            }
+            return Duration.ofSeconds(upperBoundSeconds(counts.length - 1));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.nhnacademy.nhnmartcs.user.controller;
 
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
 import com.nhnacademy.nhnmartcs.user.domain.User;
 import com.nhnacademy.nhnmartcs.user.dto.LoginRequest;
 import com.nhnacademy.nhnmartcs.user.service.UserService;
@@ -35,7 +36,7 @@ public class LoginController {
         );
 
         HttpSession session = request.getSession(true);
-        session.setAttribute("loginUser", loginUser);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(loginUser));
 
         if (loginUser instanceof Customer) {
             return "redirect:/cs";
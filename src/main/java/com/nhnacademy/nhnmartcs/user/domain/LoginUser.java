@@ -0,0 +1,19 @@
+package com.nhnacademy.nhnmartcs.user.domain;
+
+import java.io.Serializable;
+
+// 세션에 두는 로그인 사용자. 엔티티(비밀번호 포함) 대신 식별자, 역할, 이름만 담아 세션을 작게 유지하고 직렬화할 수 있게 한다.
+// 엔티티가 필요한 컨트롤러는 LoginUserArgumentResolver가 userId로 저장소에서 찾아 넘겨준다.
+public record LoginUser(Long userId, Role role, String name) implements Serializable {
+
+    public static final String SESSION_KEY = "loginUser";
+
+    public static LoginUser of(User user) {
+        Role role = user instanceof CSAdmin ? Role.ADMIN : Role.CUSTOMER;
+        return new LoginUser(user.getUserId(), role, user.getName());
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
@@ -0,0 +1,6 @@
+package com.nhnacademy.nhnmartcs.user.domain;
+
+public enum Role {
+    CUSTOMER,
+    ADMIN
+}
@@ -2,6 +2,7 @@ package com.nhnacademy.nhnmartcs.user.repository;
 
 import com.nhnacademy.nhnmartcs.user.domain.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository {
@@ -9,5 +10,7 @@ public interface UserRepository {
     User save(User user);
     Optional<User> findById(Long UserId);
     Optional<User> findByLoginId(String loginId);
+    List<User> findAll();
+    long count();
 
 }
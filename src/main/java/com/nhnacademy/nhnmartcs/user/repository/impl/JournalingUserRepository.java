@@ -0,0 +1,60 @@
+package com.nhnacademy.nhnmartcs.user.repository.impl;
+
+import com.nhnacademy.nhnmartcs.global.journal.Journal;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.global.journal.UserSnapshot;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
+import jakarta.annotation.Priority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// 복제가 켜져 있으면 ReplicatingUserRepository(@Priority(1))가 이 저장소를 감싸 주입 대상이 된다.
+@Priority(2)
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class JournalingUserRepository implements UserRepository {
+
+    private final UserRepositoryImpl delegate;
+    private final Journal journal;
+
+    // write-ahead: 기록이 커밋된 뒤에야 사용자 저장소에 반영한다.
+    @Override
+    public User save(User user) {
+        CompletableFuture<Long> committed = delegate.stage(user,
+                staged -> journal.enqueue(JournalRecord.of(UserSnapshot.from(staged))));
+        try {
+            journal.await(committed);
+        } catch (RuntimeException e) {
+            delegate.discard(user);
+            throw e;
+        }
+        return delegate.save(user);
+    }
+
+    @Override
+    public Optional<User> findById(Long userId) {
+        return delegate.findById(userId);
+    }
+
+    @Override
+    public Optional<User> findByLoginId(String loginId) {
+        return delegate.findByLoginId(loginId);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
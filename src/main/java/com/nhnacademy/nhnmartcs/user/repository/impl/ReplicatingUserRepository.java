@@ -0,0 +1,69 @@
+package com.nhnacademy.nhnmartcs.user.repository.impl;
+
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.global.journal.UserSnapshot;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicationLog;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
+import jakarta.annotation.Priority;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Priority(1)
+@Repository
+@ConditionalOnProperty(name = "replication.enabled", havingValue = "true")
+public class ReplicatingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final ReplicationLog changes;
+
+    @Autowired
+    public ReplicatingUserRepository(UserRepositoryImpl store,
+                                     ObjectProvider<JournalingUserRepository> journaling,
+                                     ReplicationLog changes) {
+        this(localStore(store, journaling), changes);
+    }
+
+    public ReplicatingUserRepository(UserRepository delegate, ReplicationLog changes) {
+        this.delegate = delegate;
+        this.changes = changes;
+    }
+
+    // 저널이 켜져 있으면 저널을 거쳐 저장한다.
+    private static UserRepository localStore(UserRepositoryImpl store, ObjectProvider<JournalingUserRepository> journaling) {
+        JournalingUserRepository journaled = journaling.getIfAvailable();
+        return journaled != null ? journaled : store;
+    }
+
+    @Override
+    public User save(User user) {
+        delegate.save(user);
+        changes.append(user, saved -> JournalRecord.of(UserSnapshot.from(saved)));
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long userId) {
+        return delegate.findById(userId);
+    }
+
+    @Override
+    public Optional<User> findByLoginId(String loginId) {
+        return delegate.findByLoginId(loginId);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
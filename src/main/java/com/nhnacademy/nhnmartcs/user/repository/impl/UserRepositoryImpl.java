@@ -5,28 +5,87 @@ import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Slf4j
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
-    private static final Map<Long, User> store = new HashMap<>();
-    private static final AtomicLong sequence = new AtomicLong(0L);
+    // 가상 스레드 모드에서도 캐리어를 붙잡지 않도록 synchronized 대신 Lock으로 저장과 색인을 묶는다.
+    private final Lock writeLock = new ReentrantLock();
+    private final Map<Long, User> store = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(0L);
+
+    // loginId -> userId 보조 인덱스. 변경 감지를 위해 마지막으로 색인한 loginId를 함께 기억한다.
+    private final Map<String, Long> byLoginId = new ConcurrentHashMap<>();
+    private final Map<Long, String> indexedLoginIds = new ConcurrentHashMap<>();
+    // 저널에 넣었지만 아직 반영하지 않은 사용자. writeLock 안에서만 읽고 쓴다.
+    private final Map<Long, Staged> staged = new HashMap<>();
 
     @Override
     public User save(User user) {
-        if (user.getUserId() == null) {
-            user.setUserId(sequence.incrementAndGet());
-        }
+        assignId(user);
 
-        store.put(user.getUserId(), user);
+        writeLock.lock();
+        try {
+            staged.computeIfPresent(user.getUserId(), (id, waiting) -> waiting.user() == user ? null : waiting);
+            store.put(user.getUserId(), user);
+            reindexLoginId(user);
+        } finally {
+            writeLock.unlock();
+        }
         return user;
     }
 
+    // 저널용(write-ahead): 잠금 안에서 id를 정하고 기록을 넣어 로그 순서를 정한다. 커밋되면 save, 실패하면 discard를 부른다.
+    CompletableFuture<Long> stage(User user, Function<User, CompletableFuture<Long>> log) {
+        writeLock.lock();
+        try {
+            assignId(user);
+            CompletableFuture<Long> committed = log.apply(user);
+            staged.put(user.getUserId(), new Staged(user, committed));
+            return committed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void discard(User user) {
+        writeLock.lock();
+        try {
+            staged.computeIfPresent(user.getUserId(), (id, waiting) -> waiting.user() == user ? null : waiting);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 저널 스냅샷용. 스냅샷은 로그에 커밋된 기록을 모두 담아야 하므로, 커밋됐지만 아직 반영되지 않은 사용자도 넣는다.
+    public <T> List<T> copyAll(Function<User, T> copier) {
+        writeLock.lock();
+        try {
+            Map<Long, User> committed = new HashMap<>(store);
+            staged.forEach((userId, waiting) -> {
+                if (waiting.committed().isDone() && !waiting.committed().isCompletedExceptionally()) {
+                    committed.put(userId, waiting.user());
+                }
+            });
+            return committed.values().stream().map(copier).toList();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public Optional<User> findById(Long userId) {
         return Optional.ofNullable(store.get(userId));
@@ -34,8 +93,53 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Optional<User> findByLoginId(String loginId) {
-        return store.values().stream()
-                .filter(user -> user.getLoginId().equals(loginId))
-                .findFirst();
+        if (loginId == null) {
+            return Optional.empty();
+        }
+        Long userId = byLoginId.get(loginId);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        // 저장 전에 객체의 loginId만 바뀐 경우를 걸러낸다.
+        return Optional.ofNullable(store.get(userId))
+                .filter(user -> loginId.equals(user.getLoginId()));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    private void assignId(User user) {
+        if (user.getUserId() == null) {
+            user.setUserId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(user.getUserId(), Math::max);
+        }
+    }
+
+    private void reindexLoginId(User user) {
+        Long userId = user.getUserId();
+        String loginId = user.getLoginId();
+        String previous = loginId != null ? indexedLoginIds.put(userId, loginId) : indexedLoginIds.remove(userId);
+
+        if (previous != null && !previous.equals(loginId)) {
+            byLoginId.remove(previous, userId);
+        }
+        if (loginId != null) {
+            Long owner = byLoginId.put(loginId, userId);
+            if (owner != null && !Objects.equals(owner, userId)) {
+                log.warn("loginId {} moved from user {} to user {}", loginId, owner, userId);
+                indexedLoginIds.remove(owner, loginId);
+            }
+        }
+    }
+
+    private record Staged(User user, CompletableFuture<Long> committed) {
     }
 }
@@ -2,7 +2,10 @@ package com.nhnacademy.nhnmartcs.user.service;
 
 import com.nhnacademy.nhnmartcs.user.domain.User;
 
+import java.util.Optional;
+
 public interface UserService {
 
     User doLogin(String loginid, String password);
+    Optional<User> findById(Long userId);
 }
@@ -1,28 +1,44 @@
 package com.nhnacademy.nhnmartcs.user.service.impl;
 
 import com.nhnacademy.nhnmartcs.global.exception.LoginFailedException;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
 import com.nhnacademy.nhnmartcs.user.domain.User;
 import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
 import com.nhnacademy.nhnmartcs.user.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final CsMetrics metrics;
 
     @Override
+    @Timed("cs.login.duration")
     public User doLogin(String loginId, String password){
 
         User user = userRepository.findByLoginId(loginId)
-                .orElseThrow(()-> new LoginFailedException("아이디가 존재하지 않습니다."));
+                .orElseThrow(()-> {
+                    metrics.loginFailedUnknownId();
+                    return new LoginFailedException("아이디가 존재하지 않습니다.");
+                });
 
         if (!user.getPassword().equals(password)) {
+            metrics.loginFailedBadPassword();
             throw new LoginFailedException("비밀번호가 일치하지 않습니다.");
         }
+        metrics.loginSucceeded();
         return user;
     }
 
+    @Override
+    public Optional<User> findById(Long userId) {
+        return userId == null ? Optional.empty() : userRepository.findById(userId);
+    }
+
 }
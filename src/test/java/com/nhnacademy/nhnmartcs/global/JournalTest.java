@@ -0,0 +1,563 @@
+package com.nhnacademy.nhnmartcs.global;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.Journal;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerNotificationOutbox;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.JournalingInquiryRepository;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryProjectionCache;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryServiceImpl;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.User;
+import com.nhnacademy.nhnmartcs.user.repository.impl.JournalingUserRepository;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JournalTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path journalDir;
+
+    private Journal openJournal(InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore, long snapshotEvery) throws Exception {
+        return openJournal(objectMapper, inquiryStore, userStore, snapshotEvery);
+    }
+
+    private Journal openJournal(ObjectMapper objectMapper, InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore,
+                                long snapshotEvery) throws Exception {
+        Journal journal = new Journal(objectMapper, inquiryStore, userStore);
+        ReflectionTestUtils.setField(journal, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(journal, "maxBatch", 16);
+        ReflectionTestUtils.setField(journal, "snapshotEveryRecords", snapshotEvery);
+        ReflectionTestUtils.setField(journal, "snapshotIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(journal, "commitTimeoutMillis", 5_000L);
+        journal.open();
+        return journal;
+    }
+
+    private Inquiry newInquiry(Customer customer) {
+        return new Inquiry(null, "배송 문의", "언제 오나요?", InquiryCategory.COMPLAINT,
+                LocalDateTime.of(2025, 10, 24, 14, 0), customer, null, new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("저널에 기록된 사용자/문의/답변이 재시작 후 복구된다")
+    void replay_restoresUsersInquiriesAndAnswers() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        customer.setName("고객");
+        users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setLoginId("a1");
+        admin.setName("관리자");
+        users.save(admin);
+
+        Inquiry inquiry = inquiries.save(newInquiry(customer));
+        inquiry.addAnswer(new Answer("곧 도착합니다.", admin));
+        inquiries.save(inquiry);
+        Files.writeString(journalDir.resolve("journal.log"), "{\"lsn\":99,\"ty", StandardOpenOption.APPEND);
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        UserRepositoryImpl restoredUsers = new UserRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, restoredUsers, 10_000L);
+        reopened.awaitWarmUp();
+
+        Optional<User> restoredCustomer = restoredUsers.findById(customer.getUserId());
+        assertThat(restoredCustomer).containsInstanceOf(Customer.class);
+        Optional<Inquiry> restored = restoredInquiries.findById(inquiry.getInquiryId());
+        assertThat(restored).isPresent();
+        assertThat(restored.get().getCustomer().getLoginId()).isEqualTo("c1");
+        assertThat(restored.get().getAnswer().getContent()).isEqualTo("곧 도착합니다.");
+        assertThat(restored.get().getAnswer().getAdmin().getLoginId()).isEqualTo("a1");
+        assertThat(restoredInquiries.countUnansweredInquiries()).isZero();
+
+        Inquiry next = restoredInquiries.save(newInquiry((Customer) restoredCustomer.get()));
+        assertThat(next.getInquiryId()).isGreaterThan(inquiry.getInquiryId());
+
+        reopened.close();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("일괄 저장한 답변이 커밋 배치 크기를 넘어도 모두 복구된다")
+    void saveAll_restoresEveryAnswer() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setLoginId("a1");
+        users.save(admin);
+
+        List<Inquiry> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Inquiry inquiry = inquiries.save(newInquiry(customer));
+            inquiry.addAnswer(new Answer("배송이 지연되고 있습니다.", admin));
+            batch.add(inquiry);
+        }
+        inquiries.saveAll(batch);
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+
+        assertThat(restoredInquiries.count()).isEqualTo(40L);
+        assertThat(restoredInquiries.countUnansweredInquiries()).isZero();
+        assertThat(restoredInquiries.findAll())
+                .allSatisfy(restored -> assertThat(restored.getAnswer().getContent()).isEqualTo("배송이 지연되고 있습니다."));
+
+        reopened.close();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 압축 후 로그가 비워지고 매핑된 스냅샷으로 복구된다")
+    void snapshot_compactsLog() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 2L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        for (int i = 0; i < 5; i++) {
+            inquiries.save(newInquiry(customer));
+        }
+        Inquiry withFile = newInquiry(customer);
+        String hash = "ab".repeat(32);
+        withFile.addAttachedFiles(List.of(
+                new Inquiry.FileInfo("사진.png", "uuid_사진.png", "./upload/uuid_사진.png"),
+                new Inquiry.FileInfo("중복.png", hash + ".png", "./upload/" + hash + ".png", hash, 1234L)));
+        inquiries.save(withFile);
+        journal.close();
+
+        assertThat(Files.size(journalDir.resolve("journal.log"))).isZero();
+        assertThat(Files.exists(journalDir.resolve("snapshot.bin"))).isTrue();
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 2L);
+        JournalingInquiryRepository restoredRepository = new JournalingInquiryRepository(restoredInquiries, reopened);
+
+        Optional<Inquiry> lazilyRead = restoredRepository.findById(withFile.getInquiryId());
+        assertThat(lazilyRead).isPresent();
+        assertThat(lazilyRead.get().getTitle()).isEqualTo("배송 문의");
+        assertThat(lazilyRead.get().getCreatedAt()).isEqualTo(withFile.getCreatedAt());
+        assertThat(lazilyRead.get().getAttachedFiles()).extracting(Inquiry.FileInfo::getOriginalFilename).containsExactly("사진.png", "중복.png");
+        assertThat(lazilyRead.get().getAttachedFiles()).extracting(Inquiry.FileInfo::getContentHash).containsExactly(null, hash);
+        assertThat(lazilyRead.get().getAttachedFiles()).extracting(Inquiry.FileInfo::getSize).containsExactly(0L, 1234L);
+
+        reopened.awaitWarmUp();
+        assertThat(restoredInquiries.findAll()).hasSize(6);
+        assertThat(restoredInquiries.save(newInquiry(lazilyRead.get().getCustomer())).getInquiryId())
+                .isGreaterThan(withFile.getInquiryId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷에 고객이 아닌 사용자가 주인인 문의가 있어도 건너뛰고 나머지 문의는 압축 뒤에도 남는다")
+    void warmUp_skipsInquiryWithUnknownCustomer() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setLoginId("a1");
+        users.save(admin);
+        // 관리자 id를 고객으로 기록한 문의. 가장 먼저 저장해 스냅샷에서도 맨 앞에 온다.
+        Customer wrongOwner = new Customer();
+        wrongOwner.setUserId(admin.getUserId());
+        inquiries.save(newInquiry(wrongOwner));
+        for (int i = 0; i < 5; i++) {
+            inquiries.save(newInquiry(customer));
+        }
+        journal.close();
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+        assertThat(reopened.isWarmedUp()).isTrue();
+        assertThat(restoredInquiries.count()).isEqualTo(5L);
+        reopened.close();
+
+        InquiryRepositoryImpl compacted = new InquiryRepositoryImpl();
+        Journal again = openJournal(compacted, new UserRepositoryImpl(), 10_000L);
+        again.awaitWarmUp();
+        assertThat(compacted.count()).isEqualTo(5L);
+        again.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 문의 하나가 깨져 워밍업이 실패하면 압축하지 않고 나머지 문의는 매핑된 스냅샷에서 읽는다")
+    void warmUpFailure_neverCompactsAway() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        Inquiry corrupted = newInquiry(customer);
+        corrupted.setTitle("깨질 문의");
+        inquiries.save(corrupted);
+        List<Long> intact = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            intact.add(inquiries.save(newInquiry(customer)).getInquiryId());
+        }
+        journal.close();
+
+        // 깨질 문의의 분류 바이트(제목, 내용 문자열 바로 뒤)를 없는 값으로 바꾼다.
+        Path snapshotFile = journalDir.resolve("snapshot.bin");
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        byte[] title = "깨질 문의".getBytes(StandardCharsets.UTF_8);
+        int titleAt = indexOf(bytes, title);
+        int categoryAt = titleAt + title.length + Integer.BYTES + "언제 오나요?".getBytes(StandardCharsets.UTF_8).length;
+        bytes[categoryAt] = 0x7F;
+        Files.write(snapshotFile, bytes);
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        UserRepositoryImpl restoredUsers = new UserRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, restoredUsers, 1L);
+        JournalingInquiryRepository restoredRepository = new JournalingInquiryRepository(restoredInquiries, reopened);
+        assertThatThrownBy(reopened::awaitWarmUp).isInstanceOf(CompletionException.class);
+        assertThat(reopened.isWarmedUp()).isFalse();
+        assertThat(restoredRepository.referencesAttachment("any.png")).isTrue();
+        Long added = restoredRepository.save(newInquiry(restoredUsers.findById(customer.getUserId())
+                .map(Customer.class::cast).orElseThrow())).getInquiryId();
+        reopened.close();
+
+        assertThat(Files.readAllBytes(snapshotFile)).isEqualTo(bytes);
+        assertThat(Files.size(journalDir.resolve("journal.log"))).isPositive();
+
+        InquiryRepositoryImpl againStore = new InquiryRepositoryImpl();
+        Journal again = openJournal(againStore, new UserRepositoryImpl(), 1L);
+        JournalingInquiryRepository againRepository = new JournalingInquiryRepository(againStore, again);
+        for (Long inquiryId : intact) {
+            assertThat(againRepository.findById(inquiryId)).isPresent();
+        }
+        assertThat(againRepository.findById(added)).isPresent();
+        again.close();
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("not found");
+    }
+
+    @Test
+    @DisplayName("로그 가운데 깨진 줄이 있어도 그 뒤에 커밋된 기록은 복구된다")
+    void replay_skipsCorruptRecordInTheMiddle() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        Inquiry first = inquiries.save(newInquiry(customer));
+        Inquiry second = inquiries.save(newInquiry(customer));
+
+        Path log = journalDir.resolve("journal.log");
+        List<String> lines = new ArrayList<>(Files.readAllLines(log));
+        lines.add(2, "{\"lsn\":3,\"ty");
+        Files.write(log, lines);
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+
+        assertThat(restoredInquiries.findById(first.getInquiryId())).isPresent();
+        assertThat(restoredInquiries.findById(second.getInquiryId())).isPresent();
+
+        reopened.close();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("커밋 중 예외가 나면 쓰다 만 배치를 잘라 내고 작성 스레드는 다음 기록을 계속 커밋한다")
+    void commitFailure_rollsBackBatchAndKeepsWriting() throws Exception {
+        ObjectMapper delegate = JsonMapper.builder().findAndAddModules().build();
+        ObjectMapper failingOnTitle = new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if (value instanceof JournalRecord record && record.inquiry() != null
+                        && "실패".equals(record.inquiry().title())) {
+                    throw new IllegalStateException("serializer blew up");
+                }
+                return delegate.writeValueAsBytes(value);
+            }
+        };
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(failingOnTitle, inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        Inquiry broken = newInquiry(customer);
+        broken.setTitle("실패");
+        assertThatThrownBy(() -> inquiries.saveAll(List.of(newInquiry(customer), broken)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        Inquiry after = inquiries.save(newInquiry(customer));
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+
+        assertThat(restoredInquiries.findById(after.getInquiryId())).isPresent();
+        assertThat(restoredInquiries.findAll()).noneSatisfy(inquiry -> assertThat(inquiry.getTitle()).isEqualTo("실패"));
+        for (String line : Files.readAllLines(journalDir.resolve("journal.log"))) {
+            objectMapper.readValue(line, JournalRecord.class);
+        }
+
+        reopened.close();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("커밋에 실패한 문의는 조회되지 않고 스냅샷에도 남지 않으며 첨부 파일도 지워진다")
+    void commitFailure_leavesNoInquiryAndNoBlobs() throws Exception {
+        ObjectMapper delegate = JsonMapper.builder().findAndAddModules().build();
+        ObjectMapper failingOnTitle = new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if (value instanceof JournalRecord record && record.inquiry() != null
+                        && "실패".equals(record.inquiry().title())) {
+                    throw new IllegalStateException("serializer blew up");
+                }
+                return delegate.writeValueAsBytes(value);
+            }
+        };
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(failingOnTitle, inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+        Path uploadDir = Files.createDirectories(journalDir.resolve("uploads"));
+        InquiryServiceImpl inquiryService = new InquiryServiceImpl(inquiries,
+                new AttachmentStorage(uploadDir.toString(), new SimpleAsyncTaskExecutor(), inquiries::referencesAttachment), mock(ThumbnailGenerator.class),
+                new CsMetrics(new SimpleMeterRegistry()), new InquiryProjectionCache(100), new InquiryStatistics(),
+                mock(AnswerNotificationOutbox.class), event -> { });
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("실패");
+        request.setContent("첨부 포함");
+        request.setCategory(InquiryCategory.COMPLAINT);
+        MockMultipartFile file = new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE,
+                new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3});
+
+        assertThatThrownBy(() -> inquiryService.createInquiry(customer, request, List.of(file)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(inquiries.findById(1L)).isEmpty();
+        assertThat(inquiryStore.count()).isZero();
+        try (Stream<Path> blobs = Files.list(uploadDir)) {
+            assertThat(blobs.filter(Files::isRegularFile)).isEmpty();
+        }
+
+        // 닫으면서 스냅샷을 쓰므로, 실패한 문의가 스냅샷에 들어갔다면 다시 열었을 때 보인다.
+        journal.close();
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+        assertThat(restoredInquiries.count()).isZero();
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("닫힌 저널은 기록을 받지 않고, 커밋이 늦으면 제한 시간 뒤 실패한다")
+    void closedJournal_rejectsAndAwaitTimesOut() throws Exception {
+        Journal journal = openJournal(new InquiryRepositoryImpl(), new UserRepositoryImpl(), 10_000L);
+        ReflectionTestUtils.setField(journal, "commitTimeoutMillis", 50L);
+
+        assertThatThrownBy(() -> journal.await(new CompletableFuture<>()))
+                .isInstanceOf(UncheckedIOException.class)
+                .satisfies(e -> assertThat(e.getCause()).hasMessage("Journal commit timed out after 50 ms"));
+
+        journal.close();
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        assertThatThrownBy(() -> journal.enqueue(JournalRecord.of(InquirySnapshot.from(newInquiry(customer)))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 쓰는 동안 답변이 바뀌어도 스냅샷이 깨지지 않는다")
+    void snapshot_toleratesConcurrentAnswers() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 1L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setLoginId("a1");
+        users.save(admin);
+        List<Inquiry> saved = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            saved.add(inquiries.save(newInquiry(customer)));
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread answering = new Thread(() -> {
+            for (int round = 0; !done.get(); round++) {
+                for (Inquiry inquiry : saved) {
+                    inquiry.addAnswer(new Answer("답".repeat(1 + round % 50), admin));
+                }
+            }
+        });
+        answering.start();
+        for (int i = 0; i < 20; i++) {
+            inquiries.save(newInquiry(customer));
+        }
+        done.set(true);
+        answering.join();
+        journal.close();
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+        assertThat(restoredInquiries.count()).isEqualTo(220L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷과 복구된 문의는 원본의 첨부파일 정보를 공유하지 않는다")
+    void snapshot_copiesAttachedFiles() {
+        Customer customer = new Customer();
+        customer.setUserId(1L);
+        Inquiry inquiry = newInquiry(customer);
+        Inquiry.FileInfo file = new Inquiry.FileInfo("a.png", "hash.png", "/uploads/hash.png", "hash", 3L);
+        inquiry.addAttachedFiles(List.of(file));
+
+        InquirySnapshot snapshot = InquirySnapshot.from(inquiry);
+        file.setOriginalFilename("changed.png");
+        Inquiry restored = snapshot.toEntity(id -> customer);
+        restored.getAttachedFiles().get(0).setSavedFilename("other.png");
+
+        assertThat(snapshot.attachedFiles().get(0).getOriginalFilename()).isEqualTo("a.png");
+        assertThat(snapshot.attachedFiles().get(0).getSavedFilename()).isEqualTo("hash.png");
+        assertThat(restored.getAttachedFiles().get(0).getOriginalFilename()).isEqualTo("a.png");
+    }
+
+    @Test
+    @DisplayName("저널을 거친 동시 답변도 첫 답변은 한 번만 나오고, 다시 열면 답변이 남아 있다")
+    void addAnswer_reportsFirstAnswerOnceWhileCommitting() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Journal journal = openJournal(inquiryStore, userStore, 10_000L);
+        JournalingUserRepository users = new JournalingUserRepository(userStore, journal);
+        JournalingInquiryRepository inquiries = new JournalingInquiryRepository(inquiryStore, journal);
+
+        Customer customer = new Customer();
+        customer.setLoginId("c1");
+        users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setLoginId("a1");
+        users.save(admin);
+        List<Long> inquiryIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            inquiryIds.add(inquiries.save(newInquiry(customer)).getInquiryId());
+        }
+
+        AtomicInteger firstAnswers = new AtomicInteger();
+        List<Thread> admins = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread answering = new Thread(() -> {
+                for (Long inquiryId : inquiryIds) {
+                    inquiries.addAnswer(inquiryId, new Answer("곧 도착합니다.", admin))
+                            .filter(AnsweredInquiry::firstAnswer)
+                            .ifPresent(result -> firstAnswers.incrementAndGet());
+                }
+            });
+            admins.add(answering);
+            answering.start();
+        }
+        for (Thread answering : admins) {
+            answering.join();
+        }
+        journal.close();
+
+        assertThat(firstAnswers.get()).isEqualTo(inquiryIds.size());
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        Journal reopened = openJournal(restoredInquiries, new UserRepositoryImpl(), 10_000L);
+        reopened.awaitWarmUp();
+        assertThat(restoredInquiries.findAll()).hasSize(inquiryIds.size())
+                .allSatisfy(inquiry -> assertThat(inquiry.getAnswer()).isNotNull());
+        reopened.close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nhnacademy.nhnmartcs.global;
+
+import com.nhnacademy.nhnmartcs.global.exception.LoginFailedException;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserService userService;
+
+    private final RestClient restClient = RestClient.create();
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - 루프백 관리 포트에서 로그인 없이 서비스 지표를 스크랩")
+    void prometheus_exposesServiceMetrics() {
+        userService.doLogin("c1234", "1234");
+        assertThatThrownBy(() -> userService.doLogin("c1234", "wrong"))
+                .isInstanceOf(LoginFailedException.class);
+
+        String body = restClient.get()
+                .uri("http://127.0.0.1:" + managementPort + "/actuator/prometheus")
+                .retrieve()
+                .body(String.class);
+
+        assertThat(body)
+                .contains("cs_login_total{outcome=\"success\",reason=\"none\"} 1.0")
+                .contains("cs_login_total{outcome=\"failure\",reason=\"bad_password\"} 1.0")
+                .contains("cs_login_duration_seconds_count")
+                .contains("cs_inquiry_store_size")
+                .contains("cs_inquiry_unanswered")
+                .contains("cs_user_store_size 2.0");
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - 애플리케이션 포트에서는 지표를 내주지 않음")
+    void prometheus_notServedOnApplicationPort() {
+        ResponseEntity<String> response = restClient.get()
+                .uri("http://127.0.0.1:" + serverPort + "/actuator/prometheus")
+                .retrieve()
+                .onStatus(status -> true, (request, res) -> { })
+                .toEntity(String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        assertThat(response.getHeaders().getLocation()).hasPath("/cs/login");
+    }
+}
@@ -0,0 +1,507 @@
+package com.nhnacademy.nhnmartcs.global;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nhnacademy.nhnmartcs.global.journal.InquirySnapshot;
+import com.nhnacademy.nhnmartcs.global.journal.Journal;
+import com.nhnacademy.nhnmartcs.global.journal.JournalRecord;
+import com.nhnacademy.nhnmartcs.global.journal.UserSnapshot;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicaApplier;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicationClient;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicationLog;
+import com.nhnacademy.nhnmartcs.global.replication.ReplicationServer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.JournalingInquiryRepository;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.ReplicatingInquiryRepository;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryProjectionCache;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.repository.impl.JournalingUserRepository;
+import com.nhnacademy.nhnmartcs.user.repository.impl.ReplicatingUserRepository;
+import com.nhnacademy.nhnmartcs.user.repository.impl.UserRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 JVM 안에서 localhost 포트로 노드 여러 개를 띄워 서로 복제한다.
+class ReplicationTest {
+
+    private static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 4, 5, 6};
+    private static final String SECRET = "test-replication-secret";
+    // ReplicationProtocol의 MAGIC, VERSION
+    private static final int PROTOCOL_MAGIC = 0x4E4D5250;
+    private static final int PROTOCOL_VERSION = 3;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<AutoCloseable> opened = new ArrayList<>();
+
+    @TempDir
+    Path uploadRoot;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : opened) {
+            closeable.close();
+        }
+    }
+
+    private final class Node {
+
+        final InquiryRepositoryImpl inquiryStore;
+        final UserRepositoryImpl userStore = new UserRepositoryImpl();
+        final ReplicationLog changes;
+        final ReplicatingInquiryRepository inquiries;
+        final ReplicatingUserRepository users;
+        final Path uploadDir;
+        final AttachmentStorage storage;
+        final ReplicaApplier applier;
+        final ReplicationServer server;
+
+        Node(int nodeId, int nodeCount, int retainedRecords) throws IOException {
+            inquiryStore = new InquiryRepositoryImpl(2, nodeId, nodeCount);
+            changes = new ReplicationLog(retainedRecords);
+            inquiries = new ReplicatingInquiryRepository(inquiryStore, changes);
+            users = new ReplicatingUserRepository(userStore, changes);
+            uploadDir = Files.createDirectories(uploadRoot.resolve("node" + nodeId));
+            storage = new AttachmentStorage(uploadDir.toString(), new SyncTaskExecutor(), inquiryStore::referencesAttachment);
+            applier = new ReplicaApplier(inquiryStore, userStore, new InquiryProjectionCache(100),
+                    new InquiryStatistics(), event -> {
+            });
+            server = new ReplicationServer("127.0.0.1", 0, SECRET, changes, inquiryStore, userStore, storage,
+                    objectMapper, 16, 200);
+            server.start();
+            opened.add(server);
+        }
+
+        void follow(Node leader) {
+            follow(leader, SECRET);
+        }
+
+        void follow(Node leader, String secret) {
+            follow(leader.server.port(), secret);
+        }
+
+        void follow(int port) {
+            follow(port, SECRET);
+        }
+
+        private void follow(int port, String secret) {
+            ReplicationClient client = new ReplicationClient(0, new InetSocketAddress("127.0.0.1", port),
+                    secret, applier, storage, objectMapper, 4, 200, 50);
+            client.start();
+            opened.add(0, client);
+        }
+    }
+
+    private List<Node> mesh(int size) throws IOException {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            nodes.add(new Node(i, size, 1024));
+        }
+        for (Node follower : nodes) {
+            nodes.stream().filter(leader -> leader != follower).forEach(follower::follow);
+        }
+        return nodes;
+    }
+
+    private static Customer customer(Long userId, String loginId) {
+        Customer customer = new Customer();
+        customer.setUserId(userId);
+        customer.setLoginId(loginId);
+        customer.setName(loginId);
+        return customer;
+    }
+
+    private static Inquiry newInquiry(Customer customer, String title, List<Inquiry.FileInfo> files) {
+        return new Inquiry(null, title, "내용", InquiryCategory.COMPLAINT,
+                LocalDateTime.of(2025, 10, 24, 14, 0), customer, null, new ArrayList<>(files));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("replication did not converge").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("어느 노드에 등록한 문의든 모든 노드에서 조회되고, 노드마다 id가 겹치지 않는다")
+    void mesh_everyNodeServesEveryInquiry() throws Exception {
+        List<Node> nodes = mesh(3);
+        for (Node node : nodes) {
+            node.users.save(customer(1L, "c1"));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Node node = nodes.get(i % nodes.size());
+            Customer customer = (Customer) node.userStore.findById(1L).orElseThrow();
+            ids.add(node.inquiries.save(newInquiry(customer, "문의" + i, List.of())).getInquiryId());
+        }
+
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        for (Node node : nodes) {
+            await(() -> node.inquiryStore.count() == ids.size());
+            assertThat(node.inquiryStore.findById(ids.get(0))).map(Inquiry::getTitle).contains("문의0");
+            assertThat(node.inquiryStore.findByCustomerOrderByCreatedAtDesc(customer(1L, "c1"))).hasSize(ids.size());
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 단 답변이 복제되고, 늦게 온 답변 전 상태가 답변을 되돌리지 않는다")
+    void answer_isReplicatedAndNotReverted() throws Exception {
+        List<Node> nodes = mesh(2);
+        Node first = nodes.get(0);
+        Node second = nodes.get(1);
+        Customer customer = customer(1L, "c1");
+        first.users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(2L);
+        admin.setLoginId("a1");
+        first.users.save(admin);
+
+        Inquiry inquiry = first.inquiries.save(newInquiry(customer, "배송 문의", List.of()));
+        await(() -> second.inquiryStore.findById(inquiry.getInquiryId()).isPresent());
+
+        Inquiry replica = second.inquiryStore.findById(inquiry.getInquiryId()).orElseThrow();
+        replica.addAnswer(new Answer("곧 도착합니다.", (CSAdmin) second.userStore.findById(2L).orElseThrow()));
+        second.inquiries.save(replica);
+        await(() -> first.inquiryStore.countUnansweredInquiries() == 0);
+
+        Inquiry stale = new Inquiry(inquiry.getInquiryId(), "배송 문의", "내용", InquiryCategory.COMPLAINT,
+                inquiry.getCreatedAt(), customer, null, new ArrayList<>());
+        first.changes.append(stale, unanswered -> JournalRecord.of(InquirySnapshot.from(unanswered)));
+        Inquiry marker = first.inquiries.save(newInquiry(customer, "다음 문의", List.of()));
+        await(() -> second.inquiryStore.findById(marker.getInquiryId()).isPresent());
+
+        assertThat(second.inquiryStore.findById(inquiry.getInquiryId()).orElseThrow().getAnswer().getContent())
+                .isEqualTo("곧 도착합니다.");
+    }
+
+    @Test
+    @DisplayName("두 노드의 다시 단 답변이 어떤 순서로 도착해도 모든 노드가 더 늦게 쓴 답변으로 수렴한다")
+    void concurrentReanswers_convergeToLastWriter() throws Exception {
+        Node first = new Node(0, 2, 64);
+        Node second = new Node(1, 2, 64);
+        Customer customer = customer(1L, "c1");
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(2L);
+        admin.setLoginId("a1");
+        for (Node node : List.of(first, second)) {
+            node.applier.apply(JournalRecord.of(UserSnapshot.from(customer)));
+            node.applier.apply(JournalRecord.of(UserSnapshot.from(admin)));
+        }
+
+        Inquiry original = newInquiry(customer, "배송 문의", List.of());
+        original.setInquiryId(1L);
+        JournalRecord older = answered(original, "내일 도착합니다.", LocalDateTime.of(2025, 10, 25, 11, 0), admin);
+        JournalRecord newer = answered(original, "오늘 도착합니다.", LocalDateTime.of(2025, 10, 25, 12, 0), admin);
+
+        first.applier.apply(older);
+        first.applier.apply(newer);
+        second.applier.apply(newer);
+        second.applier.apply(older);
+        second.applier.apply(JournalRecord.of(InquirySnapshot.from(original)));
+
+        for (Node node : List.of(first, second)) {
+            assertThat(node.inquiryStore.findById(1L).orElseThrow().getAnswer().getContent()).isEqualTo("오늘 도착합니다.");
+        }
+    }
+
+    private static JournalRecord answered(Inquiry inquiry, String content, LocalDateTime answeredAt, CSAdmin admin) {
+        Inquiry copy = new Inquiry(inquiry.getInquiryId(), inquiry.getTitle(), inquiry.getContent(), inquiry.getCategory(),
+                inquiry.getCreatedAt(), inquiry.getCustomer(), null, new ArrayList<>());
+        Answer answer = new Answer(content, admin);
+        answer.setCreatedAt(answeredAt);
+        copy.addAnswer(answer);
+        return JournalRecord.of(InquirySnapshot.from(copy));
+    }
+
+    @Test
+    @DisplayName("첨부 블롭이 문의보다 먼저 다른 노드의 업로드 디렉터리로 복제된다")
+    void attachment_blobIsStreamedToFollowers() throws Exception {
+        List<Node> nodes = mesh(2);
+        Node first = nodes.get(0);
+        Node second = nodes.get(1);
+        Customer customer = customer(1L, "c1");
+        first.users.save(customer);
+
+        List<Inquiry.FileInfo> files = first.storage.store(List.of(
+                new MockMultipartFile("files", "photo.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+        Inquiry inquiry = first.inquiries.save(newInquiry(customer, "사진 첨부", files));
+
+        await(() -> second.inquiryStore.findById(inquiry.getInquiryId()).isPresent());
+        Path replicated = second.uploadDir.resolve(files.get(0).getSavedFilename());
+        assertThat(replicated).exists();
+        assertThat(Files.readAllBytes(replicated)).isEqualTo(PNG_BYTES);
+        assertThat(second.storage.findBlob("../" + files.get(0).getSavedFilename())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("늦게 붙은 노드는 링에서 밀려난 변경까지 전체 상태로 받은 뒤 이어 받는다")
+    void lateFollower_catchesUpFromFullStateThenOffset() throws Exception {
+        Node leader = new Node(0, 2, 8);
+        Node late = new Node(1, 2, 8);
+        Customer customer = customer(1L, "c1");
+        leader.users.save(customer);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(leader.inquiries.save(newInquiry(customer, "문의" + i, List.of())).getInquiryId());
+        }
+        assertThat(leader.changes.covers(0)).isFalse();
+
+        late.follow(leader);
+        await(() -> late.inquiryStore.count() == ids.size());
+        for (int i = 40; i < 60; i++) {
+            ids.add(leader.inquiries.save(newInquiry(customer, "문의" + i, List.of())).getInquiryId());
+        }
+
+        await(() -> late.inquiryStore.count() == ids.size());
+        assertThat(late.userStore.findByLoginId("c1")).isPresent();
+        assertThat(late.inquiryStore.findAll()).extracting(Inquiry::getInquiryId).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("두 노드에서 동시에 답변해도 모든 노드가 문의마다 같은 답변으로 수렴한다")
+    void concurrentAnswersOnTwoNodes_converge() throws Exception {
+        List<Node> nodes = mesh(2);
+        Node first = nodes.get(0);
+        Node second = nodes.get(1);
+        Customer customer = customer(1L, "c1");
+        first.users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(2L);
+        admin.setLoginId("a1");
+        first.users.save(admin);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(first.inquiries.save(newInquiry(customer, "문의" + i, List.of())).getInquiryId());
+        }
+        await(() -> second.inquiryStore.count() == ids.size() && second.userStore.findById(2L).isPresent());
+
+        List<Thread> answering = new ArrayList<>();
+        for (Node node : nodes) {
+            CSAdmin localAdmin = (CSAdmin) node.userStore.findById(2L).orElseThrow();
+            String content = node == first ? "첫 노드 답변" : "둘째 노드 답변";
+            Thread thread = new Thread(() -> ids.forEach(id -> node.inquiries.addAnswer(id, new Answer(content, localAdmin))));
+            answering.add(thread);
+            thread.start();
+        }
+        for (Thread thread : answering) {
+            thread.join();
+        }
+
+        await(() -> ids.stream().allMatch(id -> answerOf(first, id).equals(answerOf(second, id))));
+        assertThat(first.inquiryStore.countUnansweredInquiries()).isZero();
+        assertThat(second.inquiryStore.countUnansweredInquiries()).isZero();
+    }
+
+    @Test
+    @DisplayName("시계가 앞선 노드의 답변 뒤에 다시 단 답변도 모든 노드에서 이긴다")
+    void reanswerAfterSkewedAnswer_winsEverywhere() throws Exception {
+        List<Node> nodes = mesh(2);
+        Node first = nodes.get(0);
+        Node second = nodes.get(1);
+        Customer customer = customer(1L, "c1");
+        first.users.save(customer);
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(2L);
+        admin.setLoginId("a1");
+        first.users.save(admin);
+        Long id = first.inquiries.save(newInquiry(customer, "배송 문의", List.of())).getInquiryId();
+        await(() -> second.inquiryStore.findById(id).isPresent() && second.userStore.findById(2L).isPresent());
+
+        Answer skewed = new Answer("내일 도착합니다.", admin);
+        skewed.setCreatedAt(LocalDateTime.now().plusDays(1));
+        first.inquiries.addAnswer(id, skewed);
+        await(() -> "내일 도착합니다.".equals(answerOf(second, id)));
+
+        second.inquiries.addAnswer(id, new Answer("오늘 도착합니다.", (CSAdmin) second.userStore.findById(2L).orElseThrow()));
+        await(() -> "오늘 도착합니다.".equals(answerOf(first, id)));
+        assertThat(answerOf(second, id)).isEqualTo("오늘 도착합니다.");
+    }
+
+    @Test
+    @DisplayName("저널이 켜져 있으면 복제로 받은 사용자와 문의도 저널에 남아 재시작 뒤에 되살아난다")
+    void replicatedChanges_areJournaled() throws Exception {
+        InquiryRepositoryImpl inquiryStore = new InquiryRepositoryImpl();
+        UserRepositoryImpl userStore = new UserRepositoryImpl();
+        Path journalDir = Files.createDirectories(uploadRoot.resolve("journal"));
+        Journal journal = openJournal(journalDir, inquiryStore, userStore);
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("journalingInquiryRepository", new JournalingInquiryRepository(inquiryStore, journal));
+        beans.registerSingleton("journalingUserRepository", new JournalingUserRepository(userStore, journal));
+        ReplicaApplier applier = new ReplicaApplier(inquiryStore, userStore,
+                beans.getBeanProvider(JournalingInquiryRepository.class), beans.getBeanProvider(JournalingUserRepository.class),
+                new InquiryProjectionCache(100), new InquiryStatistics(), event -> {
+        });
+
+        Customer customer = customer(1L, "c1");
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(2L);
+        admin.setLoginId("a1");
+        applier.apply(JournalRecord.of(UserSnapshot.from(customer)));
+        applier.apply(JournalRecord.of(UserSnapshot.from(admin)));
+        Inquiry inquiry = newInquiry(customer, "배송 문의", List.of());
+        inquiry.setInquiryId(1L);
+        applier.apply(JournalRecord.of(InquirySnapshot.from(inquiry)));
+        applier.apply(answered(inquiry, "곧 도착합니다.", LocalDateTime.of(2025, 10, 25, 11, 0), admin));
+        journal.close();
+
+        InquiryRepositoryImpl restoredInquiries = new InquiryRepositoryImpl();
+        UserRepositoryImpl restoredUsers = new UserRepositoryImpl();
+        Journal reopened = openJournal(journalDir, restoredInquiries, restoredUsers);
+        reopened.awaitWarmUp();
+        assertThat(restoredUsers.findByLoginId("a1")).isPresent();
+        assertThat(restoredInquiries.findById(1L)).map(Inquiry::getAnswer).map(Answer::getContent)
+                .contains("곧 도착합니다.");
+        reopened.close();
+    }
+
+    private Journal openJournal(Path journalDir, InquiryRepositoryImpl inquiryStore, UserRepositoryImpl userStore)
+            throws IOException {
+        Journal journal = new Journal(objectMapper, inquiryStore, userStore);
+        ReflectionTestUtils.setField(journal, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(journal, "maxBatch", 16);
+        ReflectionTestUtils.setField(journal, "snapshotEveryRecords", 10_000L);
+        ReflectionTestUtils.setField(journal, "snapshotIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(journal, "commitTimeoutMillis", 5_000L);
+        journal.open();
+        return journal;
+    }
+
+    @Test
+    @DisplayName("공유 비밀이 다른 노드에는 아무 상태도 보내지 않는다")
+    void wrongSecret_receivesNothing() throws Exception {
+        Node leader = new Node(0, 3, 64);
+        Node intruder = new Node(1, 3, 64);
+        Node follower = new Node(2, 3, 64);
+        Customer customer = customer(1L, "c1");
+        customer.setPassword("1234");
+        leader.users.save(customer);
+        Long id = leader.inquiries.save(newInquiry(customer, "배송 문의", List.of())).getInquiryId();
+
+        intruder.follow(leader, "wrong-secret");
+        follower.follow(leader);
+        await(() -> follower.inquiryStore.findById(id).isPresent());
+
+        assertThat(intruder.userStore.count()).isZero();
+        assertThat(intruder.inquiryStore.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("공유 비밀을 모르는 가짜 리더가 보낸 레코드는 팔로워에 반영되지 않는다")
+    void fakeLeaderWithWrongSecret_cannotApplyRecords() throws Exception {
+        Node follower = new Node(1, 2, 64);
+        CSAdmin planted = new CSAdmin();
+        planted.setUserId(99L);
+        planted.setLoginId("planted-admin");
+        planted.setPassword("1234");
+        byte[] record = objectMapper.writeValueAsBytes(JournalRecord.of(UserSnapshot.from(planted)));
+
+        try (ServerSocket fakeLeader = fakeLeader("wrong-secret", record)) {
+            follower.follow(fakeLeader.getLocalPort());
+            Thread.sleep(500);
+            assertThat(follower.userStore.findById(99L)).isEmpty();
+        }
+
+        // 같은 가짜 리더라도 비밀이 맞으면 레코드가 반영되므로, 위의 결과는 인증 때문이다.
+        Node trusting = new Node(2, 3, 64);
+        try (ServerSocket knownLeader = fakeLeader(SECRET, record)) {
+            trusting.follow(knownLeader.getLocalPort());
+            await(() -> trusting.userStore.findById(99L).isPresent());
+        }
+    }
+
+    // 팔로워의 proof는 확인하지 않고, 주어진 비밀로 WELCOME에 답한 뒤 레코드 하나를 보내는 리더
+    private ServerSocket fakeLeader(String secret, byte[] record) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                    out.writeInt(PROTOCOL_MAGIC);
+                    out.writeInt(PROTOCOL_VERSION);
+                    out.write(new byte[16]);
+                    out.flush();
+                    in.readInt();
+                    in.readInt();
+                    in.readInt();
+                    in.readLong();
+                    in.readLong();
+                    in.readFully(new byte[in.readUnsignedShort()]);
+                    byte[] followerNonce = new byte[16];
+                    in.readFully(followerNonce);
+
+                    out.writeInt(PROTOCOL_MAGIC);
+                    out.writeLong(1L);
+                    out.writeBoolean(false);
+                    byte[] proof = hmac(secret, followerNonce);
+                    out.writeShort(proof.length);
+                    out.write(proof);
+                    out.writeByte('R');
+                    out.writeLong(1L);
+                    out.writeInt(record.length);
+                    out.write(record);
+                    out.flush();
+                    in.readByte();
+                } catch (IOException ignored) {
+                    // 팔로워가 인증에 실패해 끊으면 다시 받는다.
+                }
+            }
+        }, "fake-leader");
+        thread.setDaemon(true);
+        thread.start();
+        return server;
+    }
+
+    private static byte[] hmac(String secret, byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String answerOf(Node node, Long inquiryId) {
+        Answer answer = node.inquiryStore.findById(inquiryId).map(Inquiry::getAnswer).orElse(null);
+        return answer == null ? "" : answer.getContent();
+    }
+}
@@ -3,37 +3,63 @@ package com.nhnacademy.nhnmartcs.inquiry;
 import com.nhnacademy.nhnmartcs.global.exception.InquiryNotFoundException;
 import com.nhnacademy.nhnmartcs.inquiry.controller.AdminController;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.event.AdminInquiryStream;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryAnsweredEvent;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryCreatedEvent;
 import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AdminController.class)
+@Import(AdminInquiryStream.class)
 class AdminControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AdminInquiryStream adminInquiryStream;
+
     @MockitoBean
     private InquiryService inquiryService;
 
+    @MockitoBean
+    private UserService userService;
+
     private CSAdmin testAdmin;
     private Customer testCustomer;
     private MockHttpSession adminSession;
@@ -51,11 +77,14 @@ class AdminControllerTest {
         testCustomer.setLoginId("customer");
         testCustomer.setName("고객");
 
+        when(userService.findById(99L)).thenReturn(Optional.of(testAdmin));
+        when(userService.findById(1L)).thenReturn(Optional.of(testCustomer));
+
         adminSession = new MockHttpSession();
-        adminSession.setAttribute("loginUser", testAdmin);
+        adminSession.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(testAdmin));
 
         customerSession = new MockHttpSession();
-        customerSession.setAttribute("loginUser", testCustomer);
+        customerSession.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(testCustomer));
     }
 
     @Test
@@ -64,12 +93,18 @@ class AdminControllerTest {
         AdminInquirySummaryResponse summary = AdminInquirySummaryResponse.builder()
                 .id(1L).title("미답변 문의").authorName("고객1").build();
 
-        when(inquiryService.getUnansweredInquiries()).thenReturn(List.of(summary));
+        CursorPage<AdminInquirySummaryResponse> page = CursorPage.<AdminInquirySummaryResponse>builder()
+                .content(List.of(summary))
+                .build();
+        when(inquiryService.getUnansweredInquiries(isNull(), anyInt())).thenReturn(page);
+        when(inquiryService.countUnansweredInquiries()).thenReturn(1L);
 
         mockMvc.perform(get("/cs/admin").session(adminSession))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin"))
-                .andExpect(model().attributeExists("inquiries"));
+                .andExpect(model().attributeExists("inquiries"))
+                .andExpect(model().attribute("unansweredCount", 1L))
+                .andExpect(content().string(containsString("<strong>관리자</strong>님")));
     }
 
     @Test
@@ -88,6 +123,26 @@ class AdminControllerTest {
                 .andExpect(redirectedUrl("/cs/login"));
     }
 
+    @Test
+    @DisplayName("GET /cs/admin/stats - 답변 통계 (관리자 로그인)")
+    void stats_asAdmin() throws Exception {
+        when(inquiryService.getStatistics()).thenReturn(new InquiryStatistics().snapshot());
+
+        mockMvc.perform(get("/cs/admin/stats").session(adminSession))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-stats"))
+                .andExpect(model().attributeExists("stats"))
+                .andExpect(content().string(containsString("불만 접수")));
+    }
+
+    @Test
+    @DisplayName("GET /cs/admin/stats - 접근 실패 (고객 로그인)")
+    void stats_asCustomer() throws Exception {
+        mockMvc.perform(get("/cs/admin/stats").session(customerSession))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+    }
+
     @Test
     @DisplayName("GET /cs/admin/answer - 답변 폼 (관리자 로그인)")
     void answerForm_asAdmin() throws Exception {
@@ -161,4 +216,107 @@ class AdminControllerTest {
                 .andExpect(status().isFound())
                 .andExpect(redirectedUrl("/cs/login"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /cs/admin/answers - 선택한 문의에 일괄 답변")
+    void addAnswers_success() throws Exception {
+        when(inquiryService.addAnswers(List.of(1L, 2L, 3L), "배송 지연 안내드립니다.", testAdmin)).thenReturn(2);
+
+        mockMvc.perform(post("/cs/admin/answers").session(adminSession)
+                        .param("inquiryIds", "1", "2", "3")
+                        .param("content", "배송 지연 안내드립니다."))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/admin"))
+                .andExpect(flash().attribute("successMessage", "2건의 문의에 답변을 등록했습니다."));
+    }
+
+    @Test
+    @DisplayName("POST /cs/admin/answers - 선택한 문의가 없으면 등록하지 않음")
+    void addAnswers_noneSelected() throws Exception {
+        mockMvc.perform(post("/cs/admin/answers").session(adminSession)
+                        .param("content", "답변입니다."))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/admin"))
+                .andExpect(flash().attribute("errorMessage", "답변할 문의를 선택해주세요."));
+
+        verify(inquiryService, never()).addAnswers(any(), anyString(), any(CSAdmin.class));
+    }
+
+    @Test
+    @DisplayName("POST /cs/admin/answers - 접근 실패 (고객 로그인)")
+    void addAnswers_asCustomer() throws Exception {
+        mockMvc.perform(post("/cs/admin/answers").session(customerSession)
+                        .param("inquiryIds", "1")
+                        .param("content", "답변입니다."))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+
+        verifyNoInteractions(inquiryService);
+    }
+
+    @Test
+    @DisplayName("GET /cs/admin/search - 검색어와 필터로 검색")
+    void search_asAdmin() throws Exception {
+        AdminInquirySummaryResponse summary = AdminInquirySummaryResponse.builder()
+                .id(5L).title("환불 요청").category("환불/교환").authorName("고객").createdAt("2025-01-01 10:00")
+                .answered(true).build();
+        when(inquiryService.searchInquiries(eq("환불"), eq("REFUND_EXCHANGE"), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2025, 1, 31)), eq(true), anyInt())).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/cs/admin/search").session(adminSession)
+                        .param("q", "환불")
+                        .param("category", "REFUND_EXCHANGE")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31")
+                        .param("answered", "true"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-search"))
+                .andExpect(model().attribute("inquiries", List.of(summary)))
+                .andExpect(content().string(containsString("답변 완료")));
+    }
+
+    @Test
+    @DisplayName("GET /cs/admin/search - 접근 실패 (고객 로그인)")
+    void search_asCustomer() throws Exception {
+        mockMvc.perform(get("/cs/admin/search").session(customerSession).param("q", "환불"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+        verify(inquiryService, never()).searchInquiries(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /cs/admin/stream - 새 문의와 답변 완료 이벤트를 SSE로 전송")
+    void stream_pushesInquiryEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/cs/admin/stream").session(adminSession))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        AdminInquirySummaryResponse summary = AdminInquirySummaryResponse.builder()
+                .id(7L).title("새 문의").category("불만 접수").authorName("고객").createdAt("2025-01-01 10:00").build();
+        adminInquiryStream.onCreated(new InquiryCreatedEvent(summary));
+        adminInquiryStream.onAnswered(new InquiryAnsweredEvent(7L, true));
+
+        String body = awaitContent(result, "\"firstAnswer\":true");
+        assertThat(body).contains("event:created", "id:7", "\"title\":\"새 문의\"", "event:answered");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Test
+    @DisplayName("GET /cs/admin/stream - 접근 실패 (고객 로그인)")
+    void stream_asCustomer() throws Exception {
+        mockMvc.perform(get("/cs/admin/stream").session(customerSession))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+    }
+
+    // 전송은 별도 스레드에서 일어나므로 내용이 도착할 때까지 잠시 기다린다.
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        return body;
+    }
+}
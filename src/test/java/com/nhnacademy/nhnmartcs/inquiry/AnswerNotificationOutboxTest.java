@@ -0,0 +1,389 @@
+package com.nhnacademy.nhnmartcs.inquiry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerDigest;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerNotification;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerNotificationOutbox;
+import com.nhnacademy.nhnmartcs.inquiry.notification.FileNotificationSink;
+import com.nhnacademy.nhnmartcs.inquiry.notification.NotificationSink;
+import com.nhnacademy.nhnmartcs.inquiry.notification.PartialDeliveryException;
+import com.nhnacademy.nhnmartcs.inquiry.notification.SmtpNotificationSink;
+import com.nhnacademy.nhnmartcs.inquiry.notification.WebhookNotificationSink;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AnswerNotificationOutboxTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final List<List<AnswerDigest>> sent = new CopyOnWriteArrayList<>();
+    private final List<AnswerNotificationOutbox> opened = new ArrayList<>();
+    private final CSAdmin admin = new CSAdmin();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (AnswerNotificationOutbox outbox : opened) {
+            outbox.close();
+        }
+    }
+
+    private AnswerNotificationOutbox outbox(NotificationSink sink, int capacity, long lingerMillis) {
+        AnswerNotificationOutbox outbox = new AnswerNotificationOutbox(sink, new CsMetrics(meterRegistry),
+                capacity, 500, lingerMillis, 50, 3);
+        opened.add(outbox);
+        return outbox;
+    }
+
+    private static Customer customer(long userId) {
+        Customer customer = new Customer();
+        customer.setUserId(userId);
+        customer.setLoginId("customer" + userId);
+        customer.setName("고객" + userId);
+        return customer;
+    }
+
+    private Inquiry answered(long inquiryId, Customer customer, String answer) {
+        Inquiry inquiry = new Inquiry(inquiryId, "문의" + inquiryId, "내용", InquiryCategory.OTHER,
+                LocalDateTime.now().minusHours(1), customer, null, new ArrayList<>());
+        inquiry.addAnswer(new Answer(answer, admin));
+        return inquiry;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("notifications were not delivered").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static int notificationCount(List<List<AnswerDigest>> sends) {
+        return sends.stream().flatMap(List::stream).mapToInt(digest -> digest.answers().size()).sum();
+    }
+
+    @Test
+    @DisplayName("답변이 몰리면 고객별로 합쳐 몇 번에 나눠 보내고, 요청 스레드는 느린 발송을 기다리지 않는다")
+    void burst_isBatchedPerCustomer() throws Exception {
+        AnswerNotificationOutbox outbox = outbox(digests -> {
+            sent.add(digests);
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1000, 300);
+        List<Customer> customers = List.of(customer(1), customer(2), customer(3));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 60; i++) {
+            outbox.answered(answered(i, customers.get(i % 3), "답변" + i), true);
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(200);
+
+        await(() -> notificationCount(sent) == 60);
+        assertThat(sent.size()).isLessThanOrEqualTo(2);
+        for (List<AnswerDigest> send : sent) {
+            assertThat(send).extracting(AnswerDigest::customerId).doesNotHaveDuplicates();
+        }
+        assertThat(sent.get(0).get(0).loginId()).isEqualTo("customer1");
+        // 지표는 싱크가 돌아온 뒤에 기록된다.
+        await(() -> meterRegistry.find("cs.notification.batch").summary() != null
+                && meterRegistry.get("cs.notification.batch").summary().totalAmount() == 60.0);
+    }
+
+    @Test
+    @DisplayName("같은 문의에 다시 답변하면 마지막 답변 하나로 합치고, 첫 답변 여부는 유지한다")
+    void reanswer_isCoalescedToLatest() throws Exception {
+        AnswerNotificationOutbox outbox = outbox(sent::add, 100, 200);
+        Customer customer = customer(1);
+
+        outbox.answered(answered(1, customer, "첫 답변"), true);
+        outbox.answered(answered(1, customer, "수정된 답변"), false);
+        outbox.answered(answered(2, customer, "다른 문의 답변"), true);
+
+        await(() -> !sent.isEmpty());
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).hasSize(1);
+        assertThat(sent.get(0).get(0).answers())
+                .extracting(AnswerNotification::inquiryId, AnswerNotification::answer, AnswerNotification::firstAnswer)
+                .containsExactly(
+                        tuple(1L, "수정된 답변", true),
+                        tuple(2L, "다른 문의 답변", true));
+    }
+
+    @Test
+    @DisplayName("발송이 실패하면 잠시 뒤 같은 묶음을 다시 보낸다")
+    void failedDelivery_isRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        AnswerNotificationOutbox outbox = outbox(digests -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("sink down");
+            }
+            sent.add(digests);
+        }, 100, 0);
+
+        outbox.answered(answered(1, customer(1), "답변"), true);
+
+        await(() -> !sent.isEmpty());
+        assertThat(attempts).hasValue(2);
+        assertThat(notificationCount(sent)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 버린 뒤 지표에 남긴다")
+    void fullQueue_dropsWithoutBlocking() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AnswerNotificationOutbox outbox = outbox(digests -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(digests);
+        }, 2, 0);
+        Customer customer = customer(1);
+
+        // 첫 알림은 발송 스레드가 꺼내 가 싱크에서 멈춘다.
+        outbox.answered(answered(0, customer, "답변"), true);
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 5; i++) {
+            outbox.answered(answered(i, customer, "답변"), true);
+        }
+
+        assertThat(outbox.pending()).isEqualTo(2);
+        assertThat(meterRegistry.get("cs.notification.dropped").tag("reason", "queue_full").counter().count())
+                .isEqualTo(3.0);
+        release.countDown();
+        await(() -> notificationCount(sent) == 3);
+    }
+
+    @Test
+    @DisplayName("파일 싱크 - 고객별 묶음을 JSON 한 줄씩 덧붙인다")
+    void fileSink_appendsJsonLines() throws Exception {
+        Path file = tempDir.resolve("out/notifications.jsonl");
+        FileNotificationSink sink = new FileNotificationSink(file.toString(), objectMapper);
+        AnswerNotification notification = AnswerNotification.of(answered(1, customer(1), "답변"), true);
+
+        sink.send(List.of(new AnswerDigest(1L, "customer1", "고객1", List.of(notification))));
+        sink.send(List.of(new AnswerDigest(2L, "customer2", "고객2", List.of(notification))));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("loginId").asText()).isEqualTo("customer1");
+        assertThat(first.get("answers").get(0).get("answer").asText()).isEqualTo("답변");
+    }
+
+    @Test
+    @DisplayName("웹훅 싱크 - 발송 한 번에 묶음 배열을 한 번 POST하고, 2xx가 아니면 실패")
+    void webhookSink_postsBatch() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        AtomicInteger status = new AtomicInteger(204);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            WebhookNotificationSink sink = new WebhookNotificationSink(
+                    "http://localhost:" + server.getAddress().getPort() + "/hook", 3000, objectMapper);
+            AnswerNotification notification = AnswerNotification.of(answered(1, customer(1), "답변"), true);
+            List<AnswerDigest> digests = List.of(
+                    new AnswerDigest(1L, "customer1", "고객1", List.of(notification)),
+                    new AnswerDigest(2L, "customer2", "고객2", List.of(notification)));
+
+            sink.send(digests);
+            assertThat(bodies).hasSize(1);
+            assertThat(objectMapper.readTree(bodies.get(0)).size()).isEqualTo(2);
+
+            status.set(500);
+            assertThatThrownBy(() -> sink.send(digests)).isInstanceOf(IOException.class);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("SMTP 싱크 - 연결 하나로 고객마다 메일 한 통씩 보낸다")
+    void smtpSink_sendsOneMailPerCustomer() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<List<String>> transcript = CompletableFuture.supplyAsync(() -> {
+                try (Socket socket = server.accept()) {
+                    return fakeSmtp(socket);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            SmtpNotificationSink sink = new SmtpNotificationSink("localhost", server.getLocalPort(), 3000,
+                    "cs@nhnmart.local", "nhnmart.local");
+            Inquiry dotted = answered(2, customer(1), ".점으로 시작하는 줄");
+
+            sink.send(List.of(
+                    new AnswerDigest(1L, "customer1", "고객1", List.of(
+                            AnswerNotification.of(answered(1, customer(1), "답변"), true),
+                            AnswerNotification.of(dotted, true))),
+                    new AnswerDigest(2L, "customer2", "고객2", List.of(
+                            AnswerNotification.of(answered(3, customer(2), "답변"), true)))));
+
+            List<String> lines = transcript.get(5, TimeUnit.SECONDS);
+            assertThat(lines).filteredOn(line -> line.startsWith("RCPT TO:"))
+                    .containsExactly("RCPT TO:<customer1@nhnmart.local>", "RCPT TO:<customer2@nhnmart.local>");
+            assertThat(lines).filteredOn("."::equals).hasSize(2);
+            assertThat(lines).contains("..점으로 시작하는 줄");
+            assertThat(lines.get(lines.size() - 1)).isEqualTo("QUIT");
+        }
+    }
+
+    @Test
+    @DisplayName("SMTP 싱크 - 서버가 거절한 메일만 못 보낸 것으로 돌려주고 나머지 메일은 계속 보낸다")
+    void smtpSink_reportsOnlyRejectedMail() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<List<String>> transcript = CompletableFuture.supplyAsync(() -> {
+                try (Socket socket = server.accept()) {
+                    return fakeSmtp(socket, 2);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            SmtpNotificationSink sink = new SmtpNotificationSink("localhost", server.getLocalPort(), 3000,
+                    "cs@nhnmart.local", "nhnmart.local");
+            List<AnswerDigest> digests = List.of(digest(1), digest(2), digest(3));
+
+            assertThatThrownBy(() -> sink.send(digests))
+                    .isInstanceOfSatisfying(PartialDeliveryException.class, e ->
+                            assertThat(e.undelivered()).extracting(AnswerDigest::loginId).containsExactly("customer2"));
+
+            List<String> lines = transcript.get(5, TimeUnit.SECONDS);
+            assertThat(lines).filteredOn(line -> line.startsWith("RCPT TO:")).hasSize(3);
+            assertThat(lines).contains("RSET");
+            assertThat(lines.get(lines.size() - 1)).isEqualTo("QUIT");
+        }
+    }
+
+    @Test
+    @DisplayName("SMTP 싱크로 보내다 두 번째 메일이 거절되면 그 고객에게만 다시 보내 다른 고객은 메일을 두 번 받지 않는다")
+    void smtpPartialFailure_retriesOnlyUndelivered() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            // 첫 연결에서는 두 번째 메일을 거절하고, 다시 접속하면 모두 받는다.
+            CompletableFuture<List<List<String>>> transcripts = CompletableFuture.supplyAsync(() -> {
+                List<List<String>> connections = new ArrayList<>();
+                try {
+                    for (int rejectMail : new int[]{2, 0}) {
+                        try (Socket socket = server.accept()) {
+                            connections.add(fakeSmtp(socket, rejectMail));
+                        }
+                    }
+                    return connections;
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            AnswerNotificationOutbox outbox = outbox(new SmtpNotificationSink("localhost", server.getLocalPort(), 3000,
+                    "cs@nhnmart.local", "nhnmart.local"), 100, 200);
+
+            for (int userId = 1; userId <= 3; userId++) {
+                outbox.answered(answered(userId, customer(userId), "답변"), true);
+            }
+
+            List<List<String>> connections = transcripts.get(10, TimeUnit.SECONDS);
+            assertThat(connections.get(0)).filteredOn(line -> line.startsWith("RCPT TO:")).containsExactly(
+                    "RCPT TO:<customer1@nhnmart.local>", "RCPT TO:<customer2@nhnmart.local>", "RCPT TO:<customer3@nhnmart.local>");
+            assertThat(connections.get(1)).filteredOn(line -> line.startsWith("RCPT TO:"))
+                    .containsExactly("RCPT TO:<customer2@nhnmart.local>");
+            await(() -> meterRegistry.find("cs.notification.digests").counter() != null
+                    && meterRegistry.get("cs.notification.digests").counter().count() == 3.0);
+        }
+    }
+
+    private AnswerDigest digest(long userId) {
+        Customer customer = customer(userId);
+        return new AnswerDigest(userId, customer.getLoginId(), customer.getName(),
+                List.of(AnswerNotification.of(answered(userId, customer, "답변"), true)));
+    }
+
+    private static List<String> fakeSmtp(Socket socket) throws IOException {
+        return fakeSmtp(socket, 0);
+    }
+
+    // 명령마다 정해진 응답을 돌려주고 받은 줄을 모두 기록한다. rejectMail번째(1부터) 메일은 '.' 뒤에 거절한다.
+    private static List<String> fakeSmtp(Socket socket, int rejectMail) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        OutputStream out = socket.getOutputStream();
+        out.write("220 fake ESMTP\r\n".getBytes(StandardCharsets.US_ASCII));
+        boolean inData = false;
+        int mails = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lines.add(line);
+            String reply = null;
+            if (inData) {
+                if (line.equals(".")) {
+                    inData = false;
+                    reply = ++mails == rejectMail ? "554 rejected" : "250 queued";
+                }
+            } else if (line.startsWith("EHLO")) {
+                reply = "250-fake\r\n250 8BITMIME";
+            } else if (line.equals("DATA")) {
+                inData = true;
+                reply = "354 go ahead";
+            } else if (line.equals("QUIT")) {
+                out.write("221 bye\r\n".getBytes(StandardCharsets.US_ASCII));
+                break;
+            } else {
+                reply = "250 ok";
+            }
+            if (reply != null) {
+                out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        return lines;
+    }
+}
@@ -4,11 +4,17 @@ import com.nhnacademy.nhnmartcs.global.exception.InquiryAccessDeniedException;
 import com.nhnacademy.nhnmartcs.global.exception.InquiryNotFoundException;
 import com.nhnacademy.nhnmartcs.global.exception.InvalidFileTypeException;
 import com.nhnacademy.nhnmartcs.inquiry.controller.CustomerController;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryCountsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
 import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,11 +29,18 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +53,9 @@ class CustomerControllerTest {
     @MockitoBean
     private InquiryService inquiryService;
 
+    @MockitoBean
+    private UserService userService;
+
     private Customer testCustomer;
     private MockHttpSession session;
 
@@ -50,8 +66,11 @@ class CustomerControllerTest {
         testCustomer.setLoginId("customer1");
         testCustomer.setName("고객1");
 
+        when(userService.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(inquiryService.getMyInquiryCounts(testCustomer, true)).thenReturn(InquiryCountsResponse.empty());
+
         session = new MockHttpSession();
-        session.setAttribute("loginUser", testCustomer);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(testCustomer));
     }
 
     @Test
@@ -64,7 +83,10 @@ class CustomerControllerTest {
                 .answered(false)
                 .createdAt("2025-10-25")
                 .build();
-        when(inquiryService.getMyInquiries(testCustomer, null)).thenReturn(List.of(summary));
+        CursorPage<InquirySummaryResponse> page = CursorPage.<InquirySummaryResponse>builder()
+                .content(List.of(summary))
+                .build();
+        when(inquiryService.getMyInquiries(eq(testCustomer), isNull(), isNull(), anyInt())).thenReturn(page);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/cs").session(session))
                 .andExpect(status().isOk())
@@ -73,10 +95,46 @@ class CustomerControllerTest {
                 .andExpect(model().attribute("inquiries", List.of(summary)));
     }
 
+    @Test
+    @DisplayName("GET /cs - 머리글과 분류 선택 상자에 건수와 새 답변 수 표시")
+    void viewMyInquiries_showsCounts() throws Exception {
+        InquiryCountsResponse counts = InquiryCountsResponse.of(new InquiryCounts(3, 2, 1), Map.of(
+                InquiryCategory.COMPLAINT, new InquiryCounts(2, 1, 1),
+                InquiryCategory.PROPOSAL, new InquiryCounts(1, 1, 0)));
+        when(inquiryService.getMyInquiryCounts(testCustomer, true)).thenReturn(counts);
+        when(inquiryService.getMyInquiries(eq(testCustomer), isNull(), isNull(), anyInt())).thenReturn(CursorPage.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cs").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("counts", counts))
+                .andExpect(content().string(containsString("답변 대기 1건")))
+                .andExpect(content().string(containsString("새 답변 1건")))
+                .andExpect(content().string(containsString("불만 접수 (2) · 새 답변")))
+                .andExpect(content().string(containsString("제안 (1)<")))
+                .andExpect(content().string(containsString("기타 문의 (0)")));
+    }
+
+    @Test
+    @DisplayName("GET /cs - 커서로 다음 페이지 조회")
+    void viewMyInquiries_withCursor() throws Exception {
+        CursorPage<InquirySummaryResponse> page = CursorPage.<InquirySummaryResponse>builder()
+                .content(Collections.emptyList())
+                .nextCursor("2025-10-24T14:00_3")
+                .hasNext(true)
+                .build();
+        when(inquiryService.getMyInquiries(eq(testCustomer), isNull(), eq("2025-10-25T09:00_7"), anyInt())).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cs").session(session).param("cursor", "2025-10-25T09:00_7"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("inquiry-list"))
+                .andExpect(model().attribute("page", page))
+                .andExpect(model().attribute("cursor", "2025-10-25T09:00_7"));
+    }
+
     @Test
     @DisplayName("GET /cs - 카테고리 필터링")
     void viewMyInquiries_withCategory() throws Exception {
-        when(inquiryService.getMyInquiries(testCustomer, "COMPLAINT")).thenReturn(Collections.emptyList());
+        when(inquiryService.getMyInquiries(eq(testCustomer), eq("COMPLAINT"), isNull(), anyInt())).thenReturn(CursorPage.empty());
 
         mockMvc.perform(MockMvcRequestBuilders.get("/cs").session(session).param("category", "COMPLAINT"))
                 .andExpect(status().isOk())
@@ -84,6 +142,22 @@ class CustomerControllerTest {
                 .andExpect(model().attribute("selectedCategory", "COMPLAINT"));
     }
 
+    @Test
+    @DisplayName("GET /cs?q= - 검색어가 있으면 검색 결과 표시")
+    void viewMyInquiries_withKeyword() throws Exception {
+        InquirySummaryResponse summary = InquirySummaryResponse.builder()
+                .id(3L).title("환불 요청").category("환불/교환").answered(false).createdAt("2025-10-25").build();
+        when(inquiryService.searchMyInquiries(eq(testCustomer), eq("환불"), isNull(), anyInt())).thenReturn(List.of(summary));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/cs").session(session).param("q", "환불"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("inquiry-list"))
+                .andExpect(model().attribute("inquiries", List.of(summary)))
+                .andExpect(model().attribute("keyword", "환불"))
+                .andExpect(model().attributeDoesNotExist("page"));
+        verify(inquiryService, never()).getMyInquiries(any(), any(), any(), anyInt());
+    }
+
     @Test
     @DisplayName("GET /cs - (로그아웃 상태, 인터셉터)")
     void viewMyInquiries_loggedOut() throws Exception {
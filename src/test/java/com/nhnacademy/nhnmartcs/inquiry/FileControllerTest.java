@@ -0,0 +1,235 @@
+package com.nhnacademy.nhnmartcs.inquiry;
+
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
+import com.nhnacademy.nhnmartcs.inquiry.controller.FileController;
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import com.nhnacademy.nhnmartcs.inquiry.service.InquiryService;
+import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FileController.class)
+class FileControllerTest {
+
+    private static final String FILENAME = "0b5c2f4e-8d3a-4b7e-9a1f-2c6d8e0f1a2b.png";
+    private static final byte[] CONTENT = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("file.upload-dir", () -> uploadDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @MockitoBean
+    private CsMetrics metrics;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private InquiryService inquiryService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(uploadDir.resolve(FILENAME), CONTENT);
+
+        Customer owner = new Customer();
+        owner.setUserId(1L);
+        LoginUser loginUser = LoginUser.of(owner);
+        session = new MockHttpSession();
+        session.setAttribute(LoginUser.SESSION_KEY, loginUser);
+        when(inquiryService.canReadAttachment(eq(loginUser), anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 전체 파일과 캐시 헤더")
+    void serveFile_full() throws Exception {
+        mockMvc.perform(get("/files/" + FILENAME).session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(CONTENT))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        verify(metrics).served("original", CONTENT.length);
+    }
+
+    @Test
+    @DisplayName("GET /files/{hash}.{ext} - 내용 해시를 ETag로 사용")
+    void serveFile_blobEtagIsContentHash() throws Exception {
+        String hash = "0123456789abcdef".repeat(4);
+        Files.write(uploadDir.resolve(hash + ".png"), CONTENT);
+
+        mockMvc.perform(get("/files/" + hash + ".png").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""));
+
+        mockMvc.perform(get("/files/" + hash + ".png").session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename}?size=thumb - 썸네일이 있으면 썸네일 전송")
+    void serveFile_thumbnail() throws Exception {
+        Path thumbnail = Files.createDirectories(uploadDir.resolve(".thumb")).resolve(FILENAME);
+        Files.write(thumbnail, "thumb".getBytes(StandardCharsets.US_ASCII));
+        when(thumbnailGenerator.find(FILENAME)).thenReturn(Optional.of(thumbnail));
+
+        mockMvc.perform(get("/files/" + FILENAME).param("size", "thumb").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().string("thumb"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-thumb\"")));
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename}?size=thumb - 썸네일 준비 전에는 캐시하지 않는 원본 전송")
+    void serveFile_thumbnailPending() throws Exception {
+        when(thumbnailGenerator.find(FILENAME)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/files/" + FILENAME).param("size", "thumb").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        verify(thumbnailGenerator).find(FILENAME);
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - If-None-Match 일치 시 304")
+    void serveFile_notModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/files/" + FILENAME).session(session)).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult second = mockMvc.perform(get("/files/" + FILENAME).session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+        assertThat(second.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 단일 Range 요청 시 206")
+    void serveFile_range() throws Exception {
+        mockMvc.perform(get("/files/" + FILENAME).session(session)
+                        .header(HttpHeaders.RANGE, "bytes=4-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-7/16"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("4567"));
+
+        mockMvc.perform(get("/files/" + FILENAME).session(session)
+                        .header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 13-15/16"))
+                .andExpect(content().string("def"));
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 파일 크기를 넘는 Range는 416")
+    void serveFile_rangeNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/files/" + FILENAME).session(session)
+                        .header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - If-Range가 다르면 Range를 무시하고 전체 전송")
+    void serveFile_ifRangeMismatch() throws Exception {
+        mockMvc.perform(get("/files/" + FILENAME).session(session)
+                        .header(HttpHeaders.RANGE, "bytes=4-7")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @DisplayName("HEAD /files/{filename} - 본문 없이 헤더만 전송")
+    void serveFile_head() throws Exception {
+        MvcResult result = mockMvc.perform(head("/files/" + FILENAME).session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 없는 파일 또는 업로드 경로 밖 접근은 404")
+    void serveFile_notFound() throws Exception {
+        mockMvc.perform(get("/files/missing.png").session(session))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/files/..%2Fsecret.txt").session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 자기 문의에 첨부되지 않은 파일은 있어도 404")
+    void serveFile_notPermitted() throws Exception {
+        Customer other = new Customer();
+        other.setUserId(2L);
+        MockHttpSession otherSession = new MockHttpSession();
+        otherSession.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(other));
+
+        mockMvc.perform(get("/files/" + FILENAME).session(otherSession))
+                .andExpect(status().isNotFound());
+        verify(metrics, never()).served(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /files/{filename} - 썸네일과 쓰는 중인 파일은 경로로 직접 받을 수 없음")
+    void serveFile_thumbnailAndTempFilesNotServedDirectly() throws Exception {
+        Files.write(Files.createDirectories(uploadDir.resolve(".thumb")).resolve(FILENAME), CONTENT);
+        Files.write(Files.createDirectories(uploadDir.resolve(".incoming")).resolve("upload.part"), CONTENT);
+
+        mockMvc.perform(get("/files/.thumb%2F" + FILENAME).session(session))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/files/.incoming%2Fupload.part").session(session))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,8 +1,12 @@
 package com.nhnacademy.nhnmartcs.inquiry;
 
 import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquirySearchCondition;
 import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
 import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
@@ -11,13 +15,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,8 +35,9 @@ class InquiryRepositoryTest {
     private CSAdmin admin;
 
     @BeforeEach
-    void setUp() throws NoSuchFieldException, IllegalAccessException {
-        inquiryRepository = new InquiryRepositoryImpl();
+    void setUp() {
+        // 고객 1, 2가 서로 다른 조각에 들어가도록 조각 수를 고정한다.
+        inquiryRepository = new InquiryRepositoryImpl(4);
 
         customer1 = new Customer();
         customer1.setUserId(1L);
@@ -47,14 +53,6 @@ class InquiryRepositoryTest {
         admin.setUserId(99L);
         admin.setLoginId("admin");
         admin.setName("관리자");
-
-        Field storeField = InquiryRepositoryImpl.class.getDeclaredField("store");
-        storeField.setAccessible(true);
-        ((Map<Long, Inquiry>) storeField.get(null)).clear();
-
-        Field sequenceField = InquiryRepositoryImpl.class.getDeclaredField("sequence");
-        sequenceField.setAccessible(true);
-        ((AtomicLong) sequenceField.get(null)).set(0L);
     }
 
     private Inquiry createTestInquiry(String title, Customer customer, InquiryCategory category, LocalDateTime createdAt) {
@@ -165,4 +163,329 @@ class InquiryRepositoryTest {
         assertThat(inquiries.get(0).getTitle()).isEqualTo("미답변 1 (오래됨)"); // 오래된순
         assertThat(inquiries.get(1).getTitle()).isEqualTo("미답변 2 (최신)");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("답변 등록 후 저장하면 미답변 목록에서 제외")
+    void save_answeredInquiryLeavesUnansweredIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry inquiry1 = inquiryRepository.save(createTestInquiry("미답변", customer1, InquiryCategory.COMPLAINT, now.minusDays(1)));
+        inquiryRepository.save(createTestInquiry("미답변 2", customer2, InquiryCategory.OTHER, now));
+
+        inquiry1.addAnswer(new Answer("답변", admin));
+        inquiryRepository.save(inquiry1);
+
+        List<Inquiry> inquiries = inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc();
+
+        assertThat(inquiries).extracting(Inquiry::getTitle).containsExactly("미답변 2");
+    }
+
+    @Test
+    @DisplayName("일괄 저장 - 답변 단 문의가 미답변 목록과 건수에서 빠지고 답변 본문으로 검색됨")
+    void saveAll_answeredInquiriesLeaveUnansweredIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry inquiry1 = inquiryRepository.save(createTestInquiry("배송 지연", customer1, InquiryCategory.COMPLAINT, now.minusDays(2)));
+        Inquiry inquiry2 = inquiryRepository.save(createTestInquiry("배송 지연 2", customer2, InquiryCategory.COMPLAINT, now.minusDays(1)));
+        inquiryRepository.save(createTestInquiry("미답변", customer1, InquiryCategory.OTHER, now));
+
+        inquiry1.addAnswer(new Answer("택배사 사정으로 지연되었습니다", admin));
+        inquiry2.addAnswer(new Answer("택배사 사정으로 지연되었습니다", admin));
+        inquiryRepository.saveAll(List.of(inquiry1, inquiry2));
+
+        assertThat(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc())
+                .extracting(Inquiry::getTitle).containsExactly("미답변");
+        assertThat(inquiryRepository.countUnansweredInquiries()).isEqualTo(1L);
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("택배사"), 10))
+                .containsExactlyInAnyOrder(inquiry1, inquiry2);
+    }
+
+    @Test
+    @DisplayName("카테고리 변경 후 저장하면 카테고리 인덱스 갱신")
+    void save_categoryChangeMovesCategoryIndex() {
+        Inquiry inquiry = inquiryRepository.save(createTestInquiry("문의", customer1, InquiryCategory.COMPLAINT, LocalDateTime.now()));
+
+        inquiry.setCategory(InquiryCategory.PROPOSAL);
+        inquiryRepository.save(inquiry);
+
+        assertThat(inquiryRepository.findByCustomerAndCategoryOrderByCreatedAtDesc(customer1, InquiryCategory.COMPLAINT)).isEmpty();
+        assertThat(inquiryRepository.findByCustomerAndCategoryOrderByCreatedAtDesc(customer1, InquiryCategory.PROPOSAL))
+                .extracting(Inquiry::getTitle).containsExactly("문의");
+    }
+
+    @Test
+    @DisplayName("미답변 큐 앞에서부터 limit 건 조회 및 건수 집계")
+    void findUnansweredInquiriesOrderByCreatedAtAsc_withLimit() {
+        LocalDateTime now = LocalDateTime.now();
+        inquiryRepository.save(createTestInquiry("미답변 3", customer1, InquiryCategory.COMPLAINT, now));
+        inquiryRepository.save(createTestInquiry("미답변 1", customer2, InquiryCategory.OTHER, now.minusDays(2)));
+        Inquiry answered = inquiryRepository.save(createTestInquiry("미답변 2", customer1, InquiryCategory.PROPOSAL, now.minusDays(1)));
+
+        assertThat(inquiryRepository.countUnansweredInquiries()).isEqualTo(3L);
+
+        answered.addAnswer(new Answer("답변", admin));
+        inquiryRepository.save(answered);
+
+        assertThat(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(null, 1))
+                .extracting(Inquiry::getTitle).containsExactly("미답변 1");
+        assertThat(inquiryRepository.countUnansweredInquiries()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("여러 조각의 미답변 큐를 오래된순으로 합쳐 커서 페이지에 중복/누락 없음")
+    void findUnansweredInquiriesOrderByCreatedAtAsc_acrossShards() {
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Customer customer = new Customer();
+            customer.setUserId(10L + i % 5);
+            inquiryRepository.save(createTestInquiry("미답변 " + i, customer, InquiryCategory.OTHER, base.plusMinutes(i)));
+            expected.add("미답변 " + i);
+        }
+
+        List<String> titles = new ArrayList<>();
+        InquiryCursor cursor = null;
+        List<Inquiry> page;
+        do {
+            page = inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(cursor, 5);
+            page.forEach(inquiry -> titles.add(inquiry.getTitle()));
+            cursor = page.isEmpty() ? null : InquiryCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 5);
+
+        assertThat(titles).containsExactlyElementsOf(expected);
+        assertThat(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc())
+                .extracting(Inquiry::getTitle).containsExactlyElementsOf(expected);
+        assertThat(inquiryRepository.countUnansweredInquiries()).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("조각별 블록 id는 서로 겹치지 않고, 미리 정해진 id는 건너뛴다")
+    void save_blockAllocatedIdsAreUnique() {
+        Inquiry restored = new Inquiry(3L, "복구된 문의", "내용", InquiryCategory.OTHER, LocalDateTime.now(), customer2, null,
+                Collections.emptyList());
+        inquiryRepository.save(restored);
+
+        Set<Long> ids = new HashSet<>();
+        ids.add(restored.getInquiryId());
+        for (int i = 0; i < 200; i++) {
+            Inquiry saved = inquiryRepository.save(createTestInquiry("문의 " + i, i % 2 == 0 ? customer1 : customer2,
+                    InquiryCategory.OTHER, LocalDateTime.now()));
+            assertThat(ids.add(saved.getInquiryId())).isTrue();
+        }
+
+        assertThat(inquiryRepository.count()).isEqualTo(201L);
+        assertThat(inquiryRepository.findById(3L)).containsSame(restored);
+    }
+
+    @Test
+    @DisplayName("여러 노드 모드에서는 자기 몫의 id 블록만 쓰고, 다른 노드 id가 들어와도 블록을 버리지 않는다")
+    void save_nodeOwnsDisjointIdBlocks() {
+        InquiryRepositoryImpl second = new InquiryRepositoryImpl(1, 1, 2);
+        Inquiry first = second.save(createTestInquiry("첫 문의", customer1, InquiryCategory.OTHER, LocalDateTime.now()));
+        // 0번 노드 몫 블록(129~192)의 문의가 복제되어 들어온다.
+        second.save(new Inquiry(150L, "복제된 문의", "내용", InquiryCategory.OTHER, LocalDateTime.now(), customer2, null,
+                Collections.emptyList()));
+        Inquiry next = second.save(createTestInquiry("다음 문의", customer1, InquiryCategory.OTHER, LocalDateTime.now()));
+
+        assertThat(first.getInquiryId()).isEqualTo(65L);
+        assertThat(next.getInquiryId()).isEqualTo(first.getInquiryId() + 1);
+    }
+
+    @Test
+    @DisplayName("고객이 바뀐 문의는 새 고객의 조각으로 옮겨진다")
+    void save_customerChangeMovesShard() {
+        Inquiry inquiry = inquiryRepository.save(createTestInquiry("환불 문의", customer1, InquiryCategory.COMPLAINT, LocalDateTime.now()));
+
+        inquiry.setCustomer(customer2);
+        inquiryRepository.save(inquiry);
+
+        assertThat(inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer1)).isEmpty();
+        assertThat(inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer2)).containsExactly(inquiry);
+        assertThat(inquiryRepository.findById(inquiry.getInquiryId())).containsSame(inquiry);
+        assertThat(inquiryRepository.countUnansweredInquiries()).isEqualTo(1L);
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("환불"), 10)).containsExactly(inquiry);
+        assertThat(inquiryRepository.countByCustomer(customer1)).isEqualTo(InquiryCounts.EMPTY);
+        assertThat(inquiryRepository.countByCustomer(customer2)).isEqualTo(new InquiryCounts(1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("고객별/분류별 건수는 등록과 답변, 분류 변경 때 함께 갱신된다")
+    void countByCustomer_isMaintainedOnSave() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry complaint = inquiryRepository.save(createTestInquiry("불만", customer1, InquiryCategory.COMPLAINT, now));
+        Inquiry proposal = inquiryRepository.save(createTestInquiry("제안", customer1, InquiryCategory.PROPOSAL, now));
+        inquiryRepository.save(createTestInquiry("다른 고객", customer2, InquiryCategory.COMPLAINT, now));
+
+        complaint.addAnswer(new Answer("답변", admin));
+        inquiryRepository.save(complaint);
+        proposal.setCategory(InquiryCategory.OTHER);
+        inquiryRepository.save(proposal);
+
+        assertThat(inquiryRepository.countByCustomer(customer1)).isEqualTo(new InquiryCounts(2, 1, 1));
+        assertThat(inquiryRepository.countByCustomer(customer1).unanswered()).isEqualTo(1L);
+        assertThat(inquiryRepository.countByCustomerAndCategory(customer1, InquiryCategory.COMPLAINT))
+                .isEqualTo(new InquiryCounts(1, 1, 1));
+        assertThat(inquiryRepository.countByCustomerAndCategory(customer1, InquiryCategory.PROPOSAL))
+                .isEqualTo(InquiryCounts.EMPTY);
+        assertThat(inquiryRepository.countByCustomerAndCategory(customer1, InquiryCategory.OTHER))
+                .isEqualTo(new InquiryCounts(1, 0, 0));
+        assertThat(inquiryRepository.countByCustomer(customer2)).isEqualTo(new InquiryCounts(1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("새 답변 수는 첫 답변 때만 늘고, 확인하면 0으로 되돌린 뒤 직전 건수를 돌려준다")
+    void clearNewAnswers_returnsCountsBeforeClearing() {
+        Inquiry inquiry = inquiryRepository.save(createTestInquiry("문의", customer1, InquiryCategory.COMPLAINT, LocalDateTime.now()));
+        inquiry.addAnswer(new Answer("답변", admin));
+        inquiryRepository.save(inquiry);
+        inquiry.addAnswer(new Answer("수정된 답변", admin));
+        inquiryRepository.save(inquiry);
+        // 복구나 복제로 처음부터 답변 완료 상태로 들어온 문의는 새 답변으로 세지 않는다.
+        Inquiry restored = createTestInquiry("복구된 문의", customer1, InquiryCategory.COMPLAINT, LocalDateTime.now());
+        restored.addAnswer(new Answer("예전 답변", admin));
+        inquiryRepository.save(restored);
+
+        assertThat(inquiryRepository.clearNewAnswers(customer1)).isEqualTo(new InquiryCounts(2, 2, 1));
+        assertThat(inquiryRepository.countByCustomer(customer1)).isEqualTo(new InquiryCounts(2, 2, 0));
+        assertThat(inquiryRepository.countByCustomerAndCategory(customer1, InquiryCategory.COMPLAINT).newAnswers()).isZero();
+        assertThat(inquiryRepository.clearNewAnswers(customer2)).isEqualTo(InquiryCounts.EMPTY);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 고객 문의만 최신순으로 조회")
+    void findByCustomerOrderByCreatedAtDesc_afterCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry newest = inquiryRepository.save(createTestInquiry("문의 3", customer1, InquiryCategory.COMPLAINT, now));
+        inquiryRepository.save(createTestInquiry("문의 1", customer1, InquiryCategory.COMPLAINT, now.minusDays(2)));
+        inquiryRepository.save(createTestInquiry("문의 2", customer1, InquiryCategory.PROPOSAL, now.minusDays(1)));
+
+        List<Inquiry> firstPage = inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer1, null, 1);
+        List<Inquiry> secondPage = inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer1, InquiryCursor.of(newest), 5);
+
+        assertThat(firstPage).extracting(Inquiry::getTitle).containsExactly("문의 3");
+        assertThat(secondPage).extracting(Inquiry::getTitle).containsExactly("문의 2", "문의 1");
+    }
+
+    @Test
+    @DisplayName("같은 시각의 문의는 ID로 구분하여 커서 페이지에 중복/누락 없음")
+    void findUnansweredInquiriesOrderByCreatedAtAsc_sameCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Inquiry first = inquiryRepository.save(createTestInquiry("A", customer1, InquiryCategory.OTHER, createdAt));
+        inquiryRepository.save(createTestInquiry("B", customer2, InquiryCategory.OTHER, createdAt));
+
+        assertThat(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(null, 1))
+                .extracting(Inquiry::getTitle).containsExactly("A");
+        assertThat(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(InquiryCursor.of(first), 1))
+                .extracting(Inquiry::getTitle).containsExactly("B");
+    }
+
+    @Test
+    @DisplayName("본문 검색 - 한국어 2-gram으로 띄어쓰기/조사와 무관하게 찾고, 제목 일치를 먼저 보여준다")
+    void search_ranksTitleMatchesFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry inContent = new Inquiry(null, "배송 문의", "주문한 상품의 환불요청 드립니다", InquiryCategory.OTHER,
+                now.minusHours(1), customer1, null, Collections.emptyList());
+        Inquiry inTitle = new Inquiry(null, "환불 요청합니다", "빨리 처리해 주세요", InquiryCategory.REFUND_EXCHANGE,
+                now.minusHours(2), customer2, null, Collections.emptyList());
+        Inquiry unrelated = new Inquiry(null, "칭찬", "직원분이 친절했어요", InquiryCategory.COMPLIMENT,
+                now, customer1, null, Collections.emptyList());
+        inquiryRepository.save(inContent);
+        inquiryRepository.save(inTitle);
+        inquiryRepository.save(unrelated);
+
+        List<Inquiry> results = inquiryRepository.search(InquirySearchCondition.keyword("환불"), 10);
+
+        assertThat(results).extracting(Inquiry::getInquiryId)
+                .containsExactly(inTitle.getInquiryId(), inContent.getInquiryId());
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("환불 요청"), 10)).hasSize(2);
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("교환"), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("본문 검색 - 답변 등록 후 답변 내용으로도 검색되고 필터가 적용된다")
+    void search_indexesAnswersAndAppliesFilters() {
+        LocalDateTime now = LocalDateTime.now();
+        Inquiry inquiry = inquiryRepository.save(new Inquiry(null, "주차 문의", "주차장 위치가 궁금합니다",
+                InquiryCategory.OTHER, now.minusDays(3), customer1, null, Collections.emptyList()));
+        inquiryRepository.save(new Inquiry(null, "주차 요금", "주차 요금이 비쌉니다",
+                InquiryCategory.COMPLAINT, now, customer2, null, Collections.emptyList()));
+
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("지하 2층"), 10)).isEmpty();
+
+        inquiry.addAnswer(new Answer("지하 2층에 있습니다", admin));
+        inquiryRepository.save(inquiry);
+
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("지하 2층"), 10))
+                .extracting(Inquiry::getInquiryId).containsExactly(inquiry.getInquiryId());
+
+        inquiry.addAnswer(new Answer("정문 옆 주차타워를 이용해 주세요", admin));
+        inquiryRepository.save(inquiry);
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("지하 2층"), 10)).isEmpty();
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("주차타워"), 10)).hasSize(1);
+
+        InquirySearchCondition unansweredOnly = new InquirySearchCondition("주차", null, null, null, false, null);
+        assertThat(inquiryRepository.search(unansweredOnly, 10)).extracting(Inquiry::getCategory)
+                .containsExactly(InquiryCategory.COMPLAINT);
+
+        InquirySearchCondition mine = new InquirySearchCondition("주차", InquiryCategory.OTHER,
+                now.minusDays(7), now.minusDays(1), null, customer1.getUserId());
+        assertThat(inquiryRepository.search(mine, 10)).extracting(Inquiry::getInquiryId)
+                .containsExactly(inquiry.getInquiryId());
+    }
+
+    @Test
+    @DisplayName("저장 중인 문의가 미답변 큐에 보이면 findById로도 바로 찾을 수 있다")
+    void save_isFindableAsSoonAsIndexed() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                inquiryRepository.save(createTestInquiry("배송 문의 " + i, i % 2 == 0 ? customer1 : customer2,
+                        InquiryCategory.COMPLAINT, now.plusSeconds(i)));
+            }
+        });
+        writer.start();
+        List<Long> missing = new ArrayList<>();
+        while (writer.isAlive()) {
+            for (Inquiry inquiry : inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc()) {
+                if (inquiryRepository.findById(inquiry.getInquiryId()).isEmpty()) {
+                    missing.add(inquiry.getInquiryId());
+                }
+            }
+        }
+        writer.join();
+
+        assertThat(missing).isEmpty();
+        assertThat(inquiryRepository.search(InquirySearchCondition.keyword("배송"), 5_000)).hasSize(2_000);
+    }
+
+    @Test
+    @DisplayName("여러 관리자가 동시에 답변해도 첫 답변은 문의마다 한 번만 나온다")
+    void addAnswer_reportsFirstAnswerOnceUnderContention() throws InterruptedException {
+        List<Long> inquiryIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            inquiryIds.add(inquiryRepository.save(createTestInquiry("문의 " + i, i % 2 == 0 ? customer1 : customer2,
+                    InquiryCategory.COMPLAINT, LocalDateTime.now())).getInquiryId());
+        }
+
+        AtomicInteger firstAnswers = new AtomicInteger();
+        List<Thread> admins = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean bulk = t % 2 == 0;
+            Thread answering = new Thread(() -> {
+                for (Long inquiryId : inquiryIds) {
+                    List<AnsweredInquiry> answered = bulk
+                            ? inquiryRepository.addAnswers(List.of(inquiryId), () -> new Answer("일괄 답변", admin))
+                            : inquiryRepository.addAnswer(inquiryId, new Answer("답변", admin)).stream().toList();
+                    answered.stream().filter(AnsweredInquiry::firstAnswer).forEach(result -> firstAnswers.incrementAndGet());
+                }
+            });
+            admins.add(answering);
+            answering.start();
+        }
+        for (Thread answering : admins) {
+            answering.join();
+        }
+
+        assertThat(firstAnswers.get()).isEqualTo(inquiryIds.size());
+        assertThat(inquiryRepository.countUnansweredInquiries()).isZero();
+        assertThat(inquiryRepository.addAnswer(999L, new Answer("답변", admin))).isEmpty();
+    }
+}
@@ -3,26 +3,43 @@ package com.nhnacademy.nhnmartcs.inquiry;
 import com.nhnacademy.nhnmartcs.global.exception.InquiryAccessDeniedException;
 import com.nhnacademy.nhnmartcs.global.exception.InquiryNotFoundException;
 import com.nhnacademy.nhnmartcs.global.exception.InvalidFileTypeException;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.AnsweredInquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
 import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCounts;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCursor;
 import com.nhnacademy.nhnmartcs.inquiry.dto.request.InquiryCreateRequest;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.AdminInquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.CursorPage;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryCountsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryDetailResponse;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryStatsResponse;
 import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquirySummaryResponse;
+import com.nhnacademy.nhnmartcs.inquiry.file.AttachmentStorage;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryAnsweredEvent;
+import com.nhnacademy.nhnmartcs.inquiry.event.InquiryCreatedEvent;
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import com.nhnacademy.nhnmartcs.inquiry.notification.AnswerNotificationOutbox;
 import com.nhnacademy.nhnmartcs.inquiry.repository.InquiryRepository;
+import com.nhnacademy.nhnmartcs.inquiry.repository.impl.InquiryRepositoryImpl;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryProjectionCache;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
 import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryServiceImpl;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -33,22 +50,36 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class InquiryServiceTest {
 
+    private static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+    private static final byte[] JPEG_BYTES = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 4, 5, 6};
+
     @Mock
     private InquiryRepository inquiryRepository;
 
-    @InjectMocks
+    @Mock
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @Mock
+    private AnswerNotificationOutbox notifications;
+
     private InquiryServiceImpl inquiryService;
 
     private Customer customer1;
@@ -57,6 +88,9 @@ class InquiryServiceTest {
     private Inquiry testInquiry;
     private Inquiry testInquiryAnswered;
     private AutoCloseable openMocks;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> publishedEvents;
+    private InquiryStatistics statistics;
 
     @TempDir
     Path tempDir;
@@ -64,7 +98,13 @@ class InquiryServiceTest {
     @BeforeEach
     void setUp() throws IOException {
         openMocks = MockitoAnnotations.openMocks(this);
-        ReflectionTestUtils.setField(inquiryService, "uploadDir", tempDir.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        publishedEvents = new ArrayList<>();
+        statistics = new InquiryStatistics();
+        inquiryService = new InquiryServiceImpl(inquiryRepository,
+                new AttachmentStorage(tempDir.toString(), new SimpleAsyncTaskExecutor(), inquiryRepository::referencesAttachment), thumbnailGenerator,
+                new CsMetrics(meterRegistry), new InquiryProjectionCache(100), statistics, notifications,
+                publishedEvents::add);
 
         customer1 = new Customer();
         customer1.setUserId(1L);
@@ -105,6 +145,24 @@ class InquiryServiceTest {
         when(inquiryRepository.findById(anyLong())).thenReturn(Optional.empty());
         when(inquiryRepository.findById(1L)).thenReturn(Optional.of(testInquiry));
         when(inquiryRepository.findById(2L)).thenReturn(Optional.of(testInquiryAnswered));
+        when(inquiryRepository.addAnswer(anyLong(), any(Answer.class)))
+                .thenAnswer(invocation -> answer(invocation.getArgument(0), invocation.getArgument(1)));
+        when(inquiryRepository.addAnswers(any(), any())).thenAnswer(invocation -> {
+            Collection<Long> inquiryIds = invocation.getArgument(0);
+            Supplier<Answer> answers = invocation.getArgument(1);
+            return inquiryIds.stream()
+                    .flatMap(inquiryId -> answer(inquiryId, answers.get()).stream())
+                    .toList();
+        });
+    }
+
+    // 저장소 대역: 조회한 문의에 답변을 달고, 그 전에 답변이 없었는지를 돌려준다.
+    private Optional<AnsweredInquiry> answer(Long inquiryId, Answer answer) {
+        return inquiryRepository.findById(inquiryId).map(inquiry -> {
+            boolean firstAnswer = inquiry.getAnswer() == null;
+            inquiry.addAnswer(answer);
+            return new AnsweredInquiry(inquiry, firstAnswer);
+        });
     }
 
     @AfterEach
@@ -128,6 +186,9 @@ class InquiryServiceTest {
         assertThat(captor.getValue().getTitle()).isEqualTo("새 문의");
         assertThat(captor.getValue().getCustomer()).isEqualTo(customer1);
         assertThat(captor.getValue().getAttachedFiles()).isEmpty();
+        assertThat(publishedEvents).singleElement()
+                .isInstanceOfSatisfying(InquiryCreatedEvent.class,
+                        event -> assertThat(event.inquiry().getTitle()).isEqualTo("새 문의"));
     }
 
     @Test
@@ -139,10 +200,10 @@ class InquiryServiceTest {
         request.setCategory(InquiryCategory.PROPOSAL);
 
         MockMultipartFile file1 = new MockMultipartFile(
-                "files", "test1.png", MediaType.IMAGE_PNG_VALUE, "content1".getBytes()
+                "files", "test1.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES
         );
         MockMultipartFile file2 = new MockMultipartFile(
-                "files", "test2.jpg", MediaType.IMAGE_JPEG_VALUE, "content2".getBytes()
+                "files", "test2.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES
         );
         List<MultipartFile> files = List.of(file1, file2);
 
@@ -155,6 +216,142 @@ class InquiryServiceTest {
         assertThat(savedInquiry.getAttachedFiles()).hasSize(2);
         assertThat(Files.exists(tempDir.resolve(savedInquiry.getAttachedFiles().get(0).getSavedFilename()))).isTrue();
         assertThat(Files.exists(tempDir.resolve(savedInquiry.getAttachedFiles().get(1).getSavedFilename()))).isTrue();
+        assertThat(savedInquiry.getAttachedFiles().get(0).getOriginalFilename()).isEqualTo("test1.png");
+        assertThat(savedInquiry.getAttachedFiles().get(0).getSavedFilename()).endsWith(".png");
+        assertThat(savedInquiry.getAttachedFiles().get(1).getSavedFilename()).endsWith(".jpg");
+        assertThat(Files.readAllBytes(Path.of(savedInquiry.getAttachedFiles().get(0).getFilePath()))).isEqualTo(PNG_BYTES);
+        verify(thumbnailGenerator).requestAll(savedInquiry.getAttachedFiles());
+        assertThat(meterRegistry.get("cs.upload.bytes").summary().totalAmount()).isEqualTo(PNG_BYTES.length + JPEG_BYTES.length);
+        assertThat(meterRegistry.get("cs.upload.files").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 내용의 첨부파일은 하나의 블롭으로 저장")
+    void createInquiry_deduplicatesIdenticalContent() throws IOException {
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("같은 스크린샷");
+        request.setContent("두 번 첨부");
+        request.setCategory(InquiryCategory.COMPLAINT);
+
+        inquiryService.createInquiry(customer1, request, List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES),
+                new MockMultipartFile("files", "b.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+        inquiryService.createInquiry(customer2, request, List.of(
+                new MockMultipartFile("files", "c.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+
+        ArgumentCaptor<Inquiry> captor = ArgumentCaptor.forClass(Inquiry.class);
+        verify(inquiryRepository, times(2)).save(captor.capture());
+        Inquiry.FileInfo first = captor.getAllValues().get(0).getAttachedFiles().get(0);
+        Inquiry.FileInfo second = captor.getAllValues().get(0).getAttachedFiles().get(1);
+        Inquiry.FileInfo third = captor.getAllValues().get(1).getAttachedFiles().get(0);
+
+        assertThat(first.getContentHash()).hasSize(64);
+        assertThat(first.getSavedFilename()).isEqualTo(first.getContentHash() + ".png");
+        assertThat(first.getSize()).isEqualTo(PNG_BYTES.length);
+        assertThat(second.getSavedFilename()).isEqualTo(first.getSavedFilename());
+        assertThat(third.getSavedFilename()).isEqualTo(first.getSavedFilename());
+        assertThat(second.getOriginalFilename()).isEqualTo("b.png");
+        assertThat(storedBlobs()).containsExactly(first.getSavedFilename());
+    }
+
+    @Test
+    @DisplayName("중복 제거된 블롭은 저장된 문의가 참조하는 동안 재기동 뒤의 롤백으로도 지워지지 않음")
+    void createInquiry_rollbackKeepsSharedBlob() throws IOException {
+        InquiryRepositoryImpl store = failingStore();
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("공유 블롭");
+        request.setContent("먼저 저장된 문의와 같은 이미지");
+        request.setCategory(InquiryCategory.COMPLAINT);
+        serviceOver(store).createInquiry(customer1, request, List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+
+        // 새 AttachmentStorage는 재기동한 프로세스처럼 업로드 참조를 하나도 모른다.
+        request.setTitle("저장 실패");
+        assertThatThrownBy(() -> serviceOver(store).createInquiry(customer2, request, List.of(
+                new MockMultipartFile("files", "b.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(storedBlobs()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("어떤 문의도 참조하지 않는 기존 블롭은 롤백 때 썸네일과 함께 지워짐")
+    void createInquiry_rollbackDeletesUnreferencedBlobAndThumbnail() throws IOException {
+        InquiryRepositoryImpl store = failingStore();
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("공유 블롭");
+        request.setContent("첫 문의");
+        request.setCategory(InquiryCategory.COMPLAINT);
+        Long inquiryId = serviceOver(store).createInquiry(customer1, request, List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+        String savedFilename = store.findById(inquiryId).orElseThrow().getAttachedFiles().get(0).getSavedFilename();
+        Path thumbnail = Files.createDirectories(tempDir.resolve(ThumbnailGenerator.THUMBNAIL_DIR)).resolve(savedFilename);
+        Files.write(thumbnail, PNG_BYTES);
+
+        // 같은 블롭을 가리키던 문의가 사라진 저장소(예: 저널 없이 재기동)에서 같은 이미지로 만든 문의가 실패한다.
+        InquiryRepositoryImpl restarted = failingStore();
+        request.setTitle("저장 실패");
+        assertThatThrownBy(() -> serviceOver(restarted).createInquiry(customer2, request, List.of(
+                new MockMultipartFile("files", "b.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(storedBlobs()).isEmpty();
+        assertThat(thumbnail).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("문의 생성 실패 (Content-Type은 이미지지만 내용이 이미지가 아님)")
+    void createInquiry_fail_spoofedContentType() {
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("위장 파일");
+        request.setContent("확장자만 이미지");
+        request.setCategory(InquiryCategory.OTHER);
+
+        MockMultipartFile spoofed = new MockMultipartFile(
+                "files", "fake.png", MediaType.IMAGE_PNG_VALUE, "<script>".getBytes()
+        );
+
+        assertThatThrownBy(() -> inquiryService.createInquiry(customer1, request, List.of(spoofed)))
+                .isInstanceOf(InvalidFileTypeException.class);
+        verify(inquiryRepository, never()).save(any(Inquiry.class));
+    }
+
+    @Test
+    @DisplayName("문의 생성 실패 시 이미 저장한 첨부파일 삭제")
+    void createInquiry_fail_rollsBackWrittenFiles() throws IOException {
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("일부 실패");
+        request.setContent("정상 파일과 잘못된 파일");
+        request.setCategory(InquiryCategory.COMPLAINT);
+
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES),
+                new MockMultipartFile("files", "b.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES),
+                new MockMultipartFile("files", "c.txt", MediaType.TEXT_PLAIN_VALUE, "text".getBytes())
+        );
+
+        assertThatThrownBy(() -> inquiryService.createInquiry(customer1, request, files))
+                .isInstanceOf(InvalidFileTypeException.class);
+        assertThat(storedBlobs()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("문의 저장 실패 시 첨부파일 삭제")
+    void createInquiry_fail_repositoryRollsBackFiles() throws IOException {
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("저장 실패");
+        request.setContent("저장소 오류");
+        request.setCategory(InquiryCategory.COMPLAINT);
+        when(inquiryRepository.save(any(Inquiry.class))).thenThrow(new IllegalStateException("저장 실패"));
+
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)
+        );
+
+        assertThatThrownBy(() -> inquiryService.createInquiry(customer1, request, files))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(storedBlobs()).isEmpty();
+        verifyNoInteractions(thumbnailGenerator);
     }
 
     @Test
@@ -200,6 +397,54 @@ class InquiryServiceTest {
 //        verify(inquiryRepository, never()).save(any(Inquiry.class));
 //    }
 
+    @Test
+    @DisplayName("첨부파일은 그 문의의 고객과 관리자만 받을 수 있음")
+    void canReadAttachment_ownerAndAdminOnly() throws IOException {
+        InquiryRepositoryImpl store = failingStore();
+        InquiryCreateRequest request = new InquiryCreateRequest();
+        request.setTitle("스크린샷");
+        request.setContent("첨부");
+        request.setCategory(InquiryCategory.COMPLAINT);
+        InquiryServiceImpl service = serviceOver(store);
+        Long inquiryId = service.createInquiry(customer1, request, List.of(
+                new MockMultipartFile("files", "a.png", MediaType.IMAGE_PNG_VALUE, PNG_BYTES)));
+        String savedFilename = store.findById(inquiryId).orElseThrow().getAttachedFiles().get(0).getSavedFilename();
+
+        assertThat(service.canReadAttachment(LoginUser.of(customer1), savedFilename)).isTrue();
+        assertThat(service.canReadAttachment(LoginUser.of(customer2), savedFilename)).isFalse();
+        assertThat(service.canReadAttachment(LoginUser.of(admin), savedFilename)).isTrue();
+        assertThat(service.canReadAttachment(LoginUser.of(admin), "unreferenced.png")).isFalse();
+        assertThat(service.canReadAttachment(null, savedFilename)).isFalse();
+    }
+
+    // 제목이 "저장 실패"인 문의만 저장하지 못하는 실제 저장소
+    private static InquiryRepositoryImpl failingStore() {
+        return new InquiryRepositoryImpl() {
+            @Override
+            public Inquiry save(Inquiry inquiry) {
+                if ("저장 실패".equals(inquiry.getTitle())) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                return super.save(inquiry);
+            }
+        };
+    }
+
+    private InquiryServiceImpl serviceOver(InquiryRepository repository) {
+        return new InquiryServiceImpl(repository,
+                new AttachmentStorage(tempDir.toString(), new SimpleAsyncTaskExecutor(), repository::referencesAttachment),
+                thumbnailGenerator, new CsMetrics(meterRegistry), new InquiryProjectionCache(100), statistics,
+                notifications, publishedEvents::add);
+    }
+
+    private List<String> storedBlobs() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(path -> path.getFileName().toString())
+                    .toList();
+        }
+    }
+
     @Test
     @DisplayName("내 문의 목록 조회 - 카테고리 없음")
     void getMyInquiries_withoutCategory() {
@@ -277,6 +522,39 @@ class InquiryServiceTest {
         verify(inquiryRepository).findUnansweredInquiriesOrderByCreatedAtAsc();
     }
 
+    @Test
+    @DisplayName("미답변 문의 첫 페이지 조회 (관리자)")
+    void getUnansweredInquiries_firstPage() {
+        when(inquiryRepository.findUnansweredInquiriesOrderByCreatedAtAsc(null, 11)).thenReturn(List.of(testInquiry));
+        CursorPage<AdminInquirySummaryResponse> page = inquiryService.getUnansweredInquiries(null, 10);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(inquiryRepository, never()).findUnansweredInquiriesOrderByCreatedAtAsc();
+    }
+
+    @Test
+    @DisplayName("내 문의 목록 페이지 조회 - 다음 페이지 커서 생성")
+    void getMyInquiries_pageWithNext() {
+        InquiryCursor cursor = new InquiryCursor(LocalDateTime.of(2025, 10, 25, 9, 0), 7L);
+        when(inquiryRepository.findByCustomerOrderByCreatedAtDesc(customer1, cursor, 2))
+                .thenReturn(List.of(testInquiry, testInquiryAnswered));
+
+        CursorPage<InquirySummaryResponse> page = inquiryService.getMyInquiries(customer1, null, cursor.encode(), 1);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(InquiryCursor.decode(page.getNextCursor())).isEqualTo(InquiryCursor.of(testInquiry));
+    }
+
+    @Test
+    @DisplayName("내 문의 목록 페이지 조회 - 잘못된 카테고리")
+    void getMyInquiries_pageInvalidCategory() {
+        CursorPage<InquirySummaryResponse> page = inquiryService.getMyInquiries(customer1, "INVALID_CATEGORY", null, 10);
+        assertThat(page.getContent()).isEmpty();
+        verify(inquiryRepository, never()).findByCustomerAndCategoryOrderByCreatedAtDesc(any(), any(), any(), anyInt());
+    }
+
     @Test
     @DisplayName("문의 상세 조회 (관리자) - 성공")
     void getInquiryDetailForAdmin_success() {
@@ -295,14 +573,39 @@ class InquiryServiceTest {
         verify(inquiryRepository).findById(99L);
     }
 
+    @Test
+    @DisplayName("내 문의 건수 - 목록을 불러오지 않고 카운터만 읽으며, 확인 표시하면 새 답변 수를 되돌린다")
+    void getMyInquiryCounts_readsCountersOnly() {
+        when(inquiryRepository.countByCustomerAndCategory(eq(customer1), any(InquiryCategory.class)))
+                .thenReturn(InquiryCounts.EMPTY);
+        when(inquiryRepository.countByCustomerAndCategory(customer1, InquiryCategory.COMPLAINT))
+                .thenReturn(new InquiryCounts(2, 1, 1));
+        when(inquiryRepository.countByCustomer(customer1)).thenReturn(new InquiryCounts(2, 1, 1));
+        when(inquiryRepository.clearNewAnswers(customer1)).thenReturn(new InquiryCounts(2, 1, 1));
+
+        InquiryCountsResponse peek = inquiryService.getMyInquiryCounts(customer1, false);
+        InquiryCountsResponse seen = inquiryService.getMyInquiryCounts(customer1, true);
+
+        assertThat(peek.getUnanswered()).isEqualTo(1L);
+        assertThat(peek.getTotalByCategory()).containsEntry("COMPLAINT", 2L).containsEntry("OTHER", 0L);
+        assertThat(seen.getNewAnswers()).isEqualTo(1L);
+        verify(inquiryRepository).countByCustomer(customer1);
+        verify(inquiryRepository).clearNewAnswers(customer1);
+        verify(inquiryRepository, never()).findByCustomerOrderByCreatedAtDesc(any(Customer.class));
+        verify(inquiryRepository, never()).findByCustomerOrderByCreatedAtDesc(any(Customer.class), any(), anyInt());
+    }
+
     @Test
     @DisplayName("답변 등록 - 성공")
     void addAnswer_success() {
         when(inquiryRepository.findById(1L)).thenReturn(Optional.of(testInquiry));
         inquiryService.addAnswer(1L, "새로운 답변", admin);
-        ArgumentCaptor<Inquiry> captor = ArgumentCaptor.forClass(Inquiry.class);
-        verify(inquiryRepository).save(captor.capture());
-        assertThat(captor.getValue().getAnswer().getContent()).isEqualTo("새로운 답변");
+        ArgumentCaptor<Answer> captor = ArgumentCaptor.forClass(Answer.class);
+        verify(inquiryRepository).addAnswer(eq(1L), captor.capture());
+        assertThat(captor.getValue().getContent()).isEqualTo("새로운 답변");
+        assertThat(captor.getValue().getAdmin()).isEqualTo(admin);
+        assertThat(publishedEvents).containsExactly(new InquiryAnsweredEvent(1L, true));
+        verify(notifications).answered(testInquiry, true);
     }
 
     @Test
@@ -311,7 +614,9 @@ class InquiryServiceTest {
         when(inquiryRepository.findById(99L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> inquiryService.addAnswer(99L, "답변", admin))
                 .isInstanceOf(InquiryNotFoundException.class);
-        verify(inquiryRepository).findById(99L);
+        verify(inquiryRepository).addAnswer(eq(99L), any(Answer.class));
+        assertThat(publishedEvents).isEmpty();
+        verifyNoInteractions(notifications);
     }
 
     @Test
@@ -319,8 +624,121 @@ class InquiryServiceTest {
     void addAnswer_alreadyAnswered_overwrites() {
         when(inquiryRepository.findById(2L)).thenReturn(Optional.of(testInquiryAnswered));
         inquiryService.addAnswer(2L, "수정된 답변", admin);
-        ArgumentCaptor<Inquiry> captor = ArgumentCaptor.forClass(Inquiry.class);
-        verify(inquiryRepository).save(captor.capture());
-        assertThat(captor.getValue().getAnswer().getContent()).isEqualTo("수정된 답변");
+        verify(inquiryRepository).addAnswer(eq(2L), any(Answer.class));
+        assertThat(testInquiryAnswered.getAnswer().getContent()).isEqualTo("수정된 답변");
+        assertThat(publishedEvents).containsExactly(new InquiryAnsweredEvent(2L, false));
+        verify(notifications).answered(testInquiryAnswered, false);
+    }
+
+    @Test
+    @DisplayName("일괄 답변 - 없는 문의와 중복 ID는 건너뛰고 한 번에 저장")
+    @SuppressWarnings("unchecked")
+    void addAnswers_savesOnceAndSkipsMissing() {
+        int answered = inquiryService.addAnswers(List.of(1L, 99L, 2L, 1L), "일괄 답변", admin);
+
+        assertThat(answered).isEqualTo(2);
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(inquiryRepository).addAnswers(captor.capture(), any());
+        verify(inquiryRepository, never()).addAnswer(anyLong(), any(Answer.class));
+        assertThat(captor.getValue()).containsExactly(1L, 99L, 2L);
+        assertThat(testInquiry.getAnswer().getContent()).isEqualTo("일괄 답변");
+        assertThat(testInquiryAnswered.getAnswer().getContent()).isEqualTo("일괄 답변");
+        assertThat(publishedEvents).containsExactly(
+                new InquiryAnsweredEvent(1L, true), new InquiryAnsweredEvent(2L, false));
+        assertThat(statistics.snapshot().getTotal().getAnswered()).isEqualTo(1L);
+        verify(notifications).answered(testInquiry, true);
+        verify(notifications).answered(testInquiryAnswered, false);
+    }
+
+    @Test
+    @DisplayName("답변 통계 - 첫 답변만 분류별/관리자별 건수와 응답 시간에 반영")
+    void addAnswer_recordsFirstAnswerStatistics() {
+        inquiryService.addAnswer(1L, "첫 답변", admin);
+        inquiryService.addAnswer(1L, "수정된 답변", admin);
+
+        InquiryStatsResponse stats = inquiryService.getStatistics();
+        assertThat(stats.getTotal().getAnswered()).isEqualTo(1L);
+        // 등록 하루 뒤 답변: 히스토그램 칸의 위쪽 경계(98304초)로 보고한다.
+        assertThat(stats.getTotal().getMedian()).isEqualTo("1일 3시간");
+        assertThat(stats.getByCategory())
+                .filteredOn(row -> row.getLabel().equals(InquiryCategory.COMPLAINT.getDescription()))
+                .extracting(InquiryStatsResponse.Row::getAnswered)
+                .containsExactly(1L);
+        assertThat(stats.getByAdmin()).extracting(InquiryStatsResponse.Row::getLabel, InquiryStatsResponse.Row::getAnswered)
+                .containsExactly(tuple("관리자", 1L));
+        assertThat(stats.getByDay().get(0).getAnswered()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("두 관리자가 동시에 답변해도 첫 답변 알림과 통계는 문의마다 한 번만 나온다")
+    void addAnswer_concurrentAdminsNotifyFirstAnswerOnce() throws InterruptedException {
+        InquiryRepositoryImpl store = new InquiryRepositoryImpl(4);
+        InquiryServiceImpl service = serviceOver(store);
+        List<Long> inquiryIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            inquiryIds.add(store.save(new Inquiry(null, "문의 " + i, "내용", InquiryCategory.COMPLAINT,
+                    LocalDateTime.now().minusHours(1), i % 2 == 0 ? customer1 : customer2, null, new ArrayList<>()))
+                    .getInquiryId());
+        }
+
+        Thread single = new Thread(() -> inquiryIds.forEach(id -> service.addAnswer(id, "답변", admin)));
+        Thread bulk = new Thread(() -> inquiryIds.forEach(id -> service.addAnswers(List.of(id), "일괄 답변", admin)));
+        single.start();
+        bulk.start();
+        single.join();
+        bulk.join();
+
+        verify(notifications, times(inquiryIds.size())).answered(any(Inquiry.class), eq(true));
+        verify(notifications, times(inquiryIds.size())).answered(any(Inquiry.class), eq(false));
+        assertThat(statistics.snapshot().getTotal().getAnswered()).isEqualTo(inquiryIds.size());
+    }
+
+    @Test
+    @DisplayName("일괄 답변 - 답변할 문의가 하나도 없으면 저장하지 않음")
+    void addAnswers_nothingFound() {
+        assertThat(inquiryService.addAnswers(List.of(98L, 99L), "일괄 답변", admin)).isZero();
+        verify(inquiryRepository, never()).saveAll(any());
+        verify(inquiryRepository, never()).save(any(Inquiry.class));
+        assertThat(publishedEvents).isEmpty();
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    @DisplayName("문의 상세 조회 - 같은 버전이면 캐시된 응답을 재사용")
+    void getInquiryDetail_reusesCachedProjection() {
+        InquiryDetailResponse first = inquiryService.getInquiryDetail(1L, customer1);
+        InquiryDetailResponse second = inquiryService.getInquiryDetailForAdmin(1L);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("답변 등록 후 상세 조회 - 캐시가 무효화되어 답변이 반영됨")
+    void addAnswer_invalidatesCachedProjection() {
+        InquiryDetailResponse before = inquiryService.getInquiryDetailForAdmin(1L);
+        assertThat(before.isAnswered()).isFalse();
+
+        inquiryService.addAnswer(1L, "새로운 답변", admin);
+
+        InquiryDetailResponse after = inquiryService.getInquiryDetail(1L, customer1);
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.isAnswered()).isTrue();
+        assertThat(after.getAnswerContent()).isEqualTo("새로운 답변");
+    }
+
+    @Test
+    @DisplayName("복제로 바뀐 새 객체는 옛 객체가 늦게 넣은 캐시 항목을 쓰지 않는다")
+    void projectionCache_ignoresStaleEntryFromReplacedObject() {
+        InquiryProjectionCache cache = new InquiryProjectionCache(100);
+        Inquiry replaced = new Inquiry(1L, "테스트 문의", "내용", InquiryCategory.COMPLAINT,
+                testInquiry.getCreatedAt(), customer1, new Answer("복제된 답변", admin), new ArrayList<>());
+
+        cache.invalidate(1L);
+        InquiryDetailResponse stale = cache.detail(testInquiry);
+        InquiryDetailResponse current = cache.detail(replaced);
+
+        assertThat(replaced.getVersion()).isGreaterThan(testInquiry.getVersion());
+        assertThat(current).isNotSameAs(stale);
+        assertThat(current.getAnswerContent()).isEqualTo("복제된 답변");
+        assertThat(cache.detail(testInquiry)).isNotSameAs(current);
     }
 }
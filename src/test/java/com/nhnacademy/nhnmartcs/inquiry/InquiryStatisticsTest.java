@@ -0,0 +1,128 @@
+package com.nhnacademy.nhnmartcs.inquiry;
+
+import com.nhnacademy.nhnmartcs.inquiry.domain.Answer;
+import com.nhnacademy.nhnmartcs.inquiry.domain.Inquiry;
+import com.nhnacademy.nhnmartcs.inquiry.domain.InquiryCategory;
+import com.nhnacademy.nhnmartcs.inquiry.dto.response.InquiryStatsResponse;
+import com.nhnacademy.nhnmartcs.inquiry.service.impl.InquiryStatistics;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class InquiryStatisticsTest {
+
+    private final InquiryStatistics statistics = new InquiryStatistics();
+
+    private static CSAdmin admin(Long userId, String name) {
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(userId);
+        admin.setLoginId("admin" + userId);
+        admin.setName(name);
+        return admin;
+    }
+
+    private static Inquiry inquiry(InquiryCategory category, LocalDateTime createdAt) {
+        return new Inquiry(null, "문의", "내용", category, createdAt, null, null, new ArrayList<>());
+    }
+
+    private void answer(Inquiry inquiry, CSAdmin admin, long minutesLater) {
+        Answer answer = new Answer("답변", admin);
+        answer.setCreatedAt(inquiry.getCreatedAt().plusMinutes(minutesLater));
+        inquiry.addAnswer(answer);
+        statistics.recordAnswered(inquiry);
+    }
+
+    @Test
+    @DisplayName("빈 통계 - 건수는 0, 응답 시간은 '-'이고 최근 30일 칸이 모두 있다")
+    void snapshot_empty() {
+        InquiryStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotal().getCreated()).isZero();
+        assertThat(stats.getTotal().getMedian()).isEqualTo("-");
+        assertThat(stats.getByCategory()).hasSize(InquiryCategory.values().length);
+        assertThat(stats.getByDay()).hasSize(30);
+        assertThat(stats.getByDay().get(0).getLabel()).isEqualTo(LocalDateTime.now().toLocalDate().toString());
+        assertThat(stats.getByAdmin()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("응답 시간 - 중앙값과 p95는 표본이 든 히스토그램 칸의 위쪽 경계")
+    void snapshot_percentiles() {
+        CSAdmin admin = admin(1L, "관리자");
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        // 10분 답변 19건, 3시간 답변 1건: 중앙값은 10분 칸, p95(19번째)도 10분 칸
+        for (int i = 0; i < 19; i++) {
+            Inquiry inquiry = inquiry(InquiryCategory.COMPLAINT, base);
+            statistics.recordCreated(inquiry);
+            answer(inquiry, admin, 10);
+        }
+        Inquiry slow = inquiry(InquiryCategory.COMPLAINT, base);
+        statistics.recordCreated(slow);
+        answer(slow, admin, 180);
+
+        InquiryStatsResponse.Row total = statistics.snapshot().getTotal();
+        assertThat(total.getCreated()).isEqualTo(20L);
+        assertThat(total.getAnswered()).isEqualTo(20L);
+        // 600초는 [512, 640) 칸에 들어간다.
+        assertThat(total.getMedian()).isEqualTo("10분");
+        assertThat(total.getP95()).isEqualTo("10분");
+
+        Inquiry slower = inquiry(InquiryCategory.COMPLAINT, base);
+        statistics.recordCreated(slower);
+        answer(slower, admin, 180);
+        // 21건 중 20번째가 p95. 3시간(10800초)은 [10240, 12288) 칸: 3시간 24분
+        assertThat(statistics.snapshot().getTotal().getP95()).isEqualTo("3시간 24분");
+    }
+
+    @Test
+    @DisplayName("분류별/일별/관리자별 건수 - 관리자는 답변 수가 많은 순")
+    void snapshot_breakdowns() {
+        CSAdmin kim = admin(1L, "김관리");
+        CSAdmin lee = admin(2L, "이관리");
+        LocalDateTime today = LocalDateTime.now().withHour(0).withMinute(0);
+        LocalDateTime threeDaysAgo = today.minusDays(3);
+
+        Inquiry refund = inquiry(InquiryCategory.REFUND_EXCHANGE, threeDaysAgo);
+        Inquiry complaint = inquiry(InquiryCategory.COMPLAINT, today);
+        Inquiry other = inquiry(InquiryCategory.OTHER, today);
+        statistics.recordCreated(refund);
+        statistics.recordCreated(complaint);
+        statistics.recordCreated(other);
+        answer(refund, kim, 5);
+        answer(complaint, lee, 5);
+        answer(other, lee, 5);
+
+        InquiryStatsResponse stats = statistics.snapshot();
+        assertThat(stats.getByCategory())
+                .extracting(InquiryStatsResponse.Row::getLabel, InquiryStatsResponse.Row::getCreated,
+                        InquiryStatsResponse.Row::getAnswered)
+                .contains(tuple("환불/교환", 1L, 1L), tuple("불만 접수", 1L, 1L), tuple("칭찬해요", 0L, 0L));
+        assertThat(stats.getByDay().get(0).getCreated()).isEqualTo(2L);
+        assertThat(stats.getByDay().get(0).getAnswered()).isEqualTo(2L);
+        assertThat(stats.getByDay().get(3).getCreated()).isEqualTo(1L);
+        assertThat(stats.getByDay().get(3).getAnswered()).isEqualTo(1L);
+        assertThat(stats.getByAdmin())
+                .extracting(InquiryStatsResponse.Row::getLabel, InquiryStatsResponse.Row::getAnswered)
+                .containsExactly(tuple("이관리", 2L), tuple("김관리", 1L));
+    }
+
+    @Test
+    @DisplayName("일별 링 밖의 오래된 날짜는 일별 집계에만 빠지고 전체/분류별에는 들어간다")
+    void recordCreated_outsideWindow() {
+        LocalDateTime today = LocalDateTime.now();
+        statistics.recordCreated(inquiry(InquiryCategory.PROPOSAL, today));
+        // 같은 칸을 쓰는 30일 전 날짜
+        statistics.recordCreated(inquiry(InquiryCategory.PROPOSAL, today.minusDays(30)));
+
+        InquiryStatsResponse stats = statistics.snapshot();
+        assertThat(stats.getTotal().getCreated()).isEqualTo(2L);
+        assertThat(stats.getByDay()).extracting(InquiryStatsResponse.Row::getCreated).containsOnly(1L, 0L);
+        assertThat(stats.getByDay().get(0).getCreated()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nhnacademy.nhnmartcs.inquiry;
+
+import com.nhnacademy.nhnmartcs.inquiry.file.ThumbnailGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThumbnailGeneratorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailGenerator = new ThumbnailGenerator(uploadDir.toString(), 100, 1, 4, Thread::new);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailGenerator.close();
+    }
+
+    @Test
+    @DisplayName("긴 변 기준으로 비율을 유지한 썸네일 생성")
+    void request_generatesScaledThumbnail() throws Exception {
+        writeImage("photo.png", "png", 800, 400);
+
+        thumbnailGenerator.request("photo.png");
+        Path thumbnail = awaitThumbnail("photo.png");
+
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).isEqualTo(100);
+        assertThat(image.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("JPEG 원본은 JPEG 썸네일로 생성")
+    void request_keepsJpegFormat() throws Exception {
+        writeImage("photo.jpg", "jpeg", 300, 600);
+
+        thumbnailGenerator.request("photo.jpg");
+        Path thumbnail = awaitThumbnail("photo.jpg");
+
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).isEqualTo(50);
+        assertThat(image.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("썸네일이 없으면 빈 값을 돌려주고 생성을 요청")
+    void find_missingThumbnailRequestsGeneration() throws Exception {
+        writeImage("later.png", "png", 200, 200);
+
+        assertThat(thumbnailGenerator.find("later.png")).isEmpty();
+        assertThat(awaitThumbnail("later.png")).exists();
+        assertThat(thumbnailGenerator.find("later.png")).isPresent();
+    }
+
+    @Test
+    @DisplayName("원본이 없거나 썸네일 경로 밖을 가리키면 빈 값")
+    void find_invalidName() {
+        assertThat(thumbnailGenerator.find("missing.png")).isEmpty();
+        assertThat(thumbnailGenerator.find("../../etc/passwd")).isEmpty();
+    }
+
+    private void writeImage(String filename, String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ImageIO.write(image, format, uploadDir.resolve(filename).toFile());
+    }
+
+    private Path awaitThumbnail(String filename) throws InterruptedException {
+        Path thumbnail = uploadDir.resolve(ThumbnailGenerator.THUMBNAIL_DIR).resolve(filename);
+        for (int i = 0; i < 100 && !Files.exists(thumbnail); i++) {
+            Thread.sleep(50);
+        }
+        Optional<Path> found = thumbnailGenerator.find(filename);
+        assertThat(found).as("thumbnail for %s", filename).contains(thumbnail);
+        return thumbnail;
+    }
+}
@@ -2,7 +2,10 @@ package com.nhnacademy.nhnmartcs.user;
 
 import com.nhnacademy.nhnmartcs.global.config.WebMvcConfig;
 import com.nhnacademy.nhnmartcs.global.interceptor.LoginCheckInterceptor;
+import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.stereotype.Controller;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
@@ -25,6 +29,9 @@ class LoginCheckInterceptorTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private UserService userService;
+
     @Controller
     static class TestController {
         @GetMapping("/cs")
@@ -47,7 +54,7 @@ class LoginCheckInterceptorTest {
 
         MockHttpSession session = new MockHttpSession();
         Customer loggedInUser = new Customer();
-        session.setAttribute("loginUser", loggedInUser);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(loggedInUser));
 
         mockMvc.perform(get("/cs").session(session))
                 .andExpect(status().isInternalServerError())
@@ -55,6 +62,45 @@ class LoginCheckInterceptorTest {
                 .andExpect(result -> assertInstanceOf(NoResourceFoundException.class, result.getResolvedException()));
     }
 
+    @Test
+    @DisplayName("고객 세션으로 관리자 경로 접근 시 로그인 페이지로 리다이렉트")
+    void preHandle_CustomerOnAdminRoute_RedirectsToLogin() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        Customer customer = new Customer();
+        customer.setUserId(1L);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(customer));
+
+        mockMvc.perform(get("/cs/admin/test").session(session))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+    }
+
+    @Test
+    @DisplayName("애플리케이션 포트의 관리 엔드포인트는 고객 세션으로 접근 시 로그인 페이지로 리다이렉트")
+    void preHandle_CustomerOnActuator_RedirectsToLogin() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        Customer customer = new Customer();
+        customer.setUserId(1L);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(customer));
+
+        mockMvc.perform(get("/actuator/prometheus").session(session))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/cs/login"));
+    }
+
+    @Test
+    @DisplayName("관리자 세션으로 관리자 경로 접근 허용 (컨트롤러 없으므로 500)")
+    void preHandle_AdminOnAdminRoute_AllowsAccess() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        CSAdmin admin = new CSAdmin();
+        admin.setUserId(99L);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(admin));
+
+        mockMvc.perform(get("/cs/admin/test").session(session))
+                .andExpect(status().isInternalServerError())
+                .andExpect(result -> assertInstanceOf(NoResourceFoundException.class, result.getResolvedException()));
+    }
+
     @Test
     @DisplayName("로그인 안 한 상태로 CSS 파일 접근 시 성공 (제외 경로)")
     void preHandle_AccessCssWithoutSession_AllowsAccess() throws Exception {
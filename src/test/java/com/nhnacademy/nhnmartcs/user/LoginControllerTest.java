@@ -4,6 +4,8 @@ import com.nhnacademy.nhnmartcs.global.exception.LoginFailedException;
 import com.nhnacademy.nhnmartcs.user.controller.LoginController;
 import com.nhnacademy.nhnmartcs.user.domain.CSAdmin;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
+import com.nhnacademy.nhnmartcs.user.domain.LoginUser;
+import com.nhnacademy.nhnmartcs.user.domain.Role;
 import com.nhnacademy.nhnmartcs.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.SerializationUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -65,7 +69,7 @@ class LoginControllerTest {
                         .param("password", "1234"))
                 .andExpect(status().isFound())
                 .andExpect(redirectedUrl("/cs"))
-                .andExpect(request().sessionAttribute("loginUser", testCustomer));
+                .andExpect(request().sessionAttribute(LoginUser.SESSION_KEY, LoginUser.of(testCustomer)));
     }
 
     @Test
@@ -78,7 +82,23 @@ class LoginControllerTest {
                         .param("password", "1234"))
                 .andExpect(status().isFound())
                 .andExpect(redirectedUrl("/cs/admin"))
-                .andExpect(request().sessionAttribute("loginUser", testAdmin));
+                .andExpect(request().sessionAttribute(LoginUser.SESSION_KEY, new LoginUser(null, Role.ADMIN, "관리자1")));
+    }
+
+    @Test
+    @DisplayName("로그인 세션에는 비밀번호 없이 직렬화 가능한 LoginUser만 저장")
+    void doLogin_storesSerializablePrincipal() throws Exception {
+        testCustomer.setUserId(7L);
+        when(userService.doLogin("customer1", "1234")).thenReturn(testCustomer);
+
+        MvcResult result = mockMvc.perform(post("/cs/login")
+                        .param("loginId", "customer1")
+                        .param("password", "1234"))
+                .andReturn();
+
+        Object principal = result.getRequest().getSession().getAttribute(LoginUser.SESSION_KEY);
+        assertThat(principal).isEqualTo(new LoginUser(7L, Role.CUSTOMER, "고객1"));
+        assertThat(SerializationUtils.clone((LoginUser) principal)).isEqualTo(principal);
     }
 
     @Test
@@ -118,7 +138,7 @@ class LoginControllerTest {
     @DisplayName("로그아웃")
     void doLogout() throws Exception {
         MockHttpSession session = new MockHttpSession();
-        session.setAttribute("loginUser", testCustomer);
+        session.setAttribute(LoginUser.SESSION_KEY, LoginUser.of(testCustomer));
 
         mockMvc.perform(get("/cs/logout").session(session))
                 .andExpect(status().isFound())
@@ -7,10 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,18 +16,8 @@ class UserRepositoryTest {
     private UserRepositoryImpl userRepository;
 
     @BeforeEach
-    void setUp() throws NoSuchFieldException, IllegalAccessException {
+    void setUp() {
         userRepository = new UserRepositoryImpl();
-
-
-        Field storeField = UserRepositoryImpl.class.getDeclaredField("store");
-        storeField.setAccessible(true);
-
-        ((Map<Long, User>) storeField.get(null)).clear();
-
-        Field sequenceField = UserRepositoryImpl.class.getDeclaredField("sequence");
-        sequenceField.setAccessible(true);
-        ((AtomicLong) sequenceField.get(null)).set(0L);
     }
 
     @Test
@@ -128,5 +115,33 @@ class UserRepositoryTest {
 
         assertThat(foundUserOpt).isNotPresent();
     }
-}
 
+    @Test
+    @DisplayName("로그인 ID 변경 후 저장하면 새 로그인 ID로만 조회")
+    void findByLoginId_afterLoginIdChange() {
+
+        Customer customer = new Customer();
+        customer.setLoginId("before");
+        userRepository.save(customer);
+
+        customer.setLoginId("after");
+        userRepository.save(customer);
+
+        assertThat(userRepository.findByLoginId("before")).isNotPresent();
+        assertThat(userRepository.findByLoginId("after")).containsSame(customer);
+    }
+
+    @Test
+    @DisplayName("저장하지 않은 로그인 ID 변경은 조회 결과에 반영되지 않음")
+    void findByLoginId_unsavedLoginIdChange() {
+
+        Customer customer = new Customer();
+        customer.setLoginId("saved");
+        userRepository.save(customer);
+
+        customer.setLoginId("unsaved");
+
+        assertThat(userRepository.findByLoginId("saved")).isNotPresent();
+        assertThat(userRepository.findByLoginId("unsaved")).isNotPresent();
+    }
+}
@@ -1,14 +1,15 @@
 package com.nhnacademy.nhnmartcs.user;
 
 import com.nhnacademy.nhnmartcs.global.exception.LoginFailedException;
+import com.nhnacademy.nhnmartcs.global.metrics.CsMetrics;
 import com.nhnacademy.nhnmartcs.user.domain.Customer;
 import com.nhnacademy.nhnmartcs.user.domain.User;
 import com.nhnacademy.nhnmartcs.user.repository.UserRepository;
 import com.nhnacademy.nhnmartcs.user.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -24,14 +25,16 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private UserServiceImpl userService;
+    private SimpleMeterRegistry meterRegistry;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        userService = new UserServiceImpl(userRepository, new CsMetrics(meterRegistry));
 
         testUser = new Customer();
         testUser.setUserId(1L);
@@ -49,6 +52,7 @@ class UserServiceTest {
         assertThat(loggedInUser).isNotNull();
         assertThat(loggedInUser.getLoginId()).isEqualTo("testUser");
         assertThat(loggedInUser.getPassword()).isEqualTo("password123");
+        assertThat(loginCount("success", "none")).isEqualTo(1.0);
     }
 
     @Test
@@ -59,6 +63,7 @@ class UserServiceTest {
         assertThatThrownBy(() -> userService.doLogin("wrongUser", "password123"))
                 .isInstanceOf(LoginFailedException.class)
                 .hasMessage("아이디가 존재하지 않습니다.");
+        assertThat(loginCount("failure", "unknown_id")).isEqualTo(1.0);
     }
 
     @Test
@@ -69,5 +74,11 @@ class UserServiceTest {
         assertThatThrownBy(() -> userService.doLogin("testUser", "wrongPassword"))
                 .isInstanceOf(LoginFailedException.class)
                 .hasMessage("비밀번호가 일치하지 않습니다.");
+        assertThat(loginCount("failure", "bad_password")).isEqualTo(1.0);
+        assertThat(loginCount("success", "none")).isZero();
+    }
+
+    private double loginCount(String outcome, String reason) {
+        return meterRegistry.get("cs.login").tag("outcome", outcome).tag("reason", reason).counter().count();
     }
 }